@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -35,13 +36,15 @@ import org.apache.tools.ant.DirectoryScanner;
 import org.apache.tools.ant.Project;
 import org.apache.tools.ant.Task;
 import org.apache.tools.ant.types.FileSet;
-import org.hibernate.tool.api.java.Formatter;
+import org.hibernate.tool.api.java.ParallelFormatter;
 
 public class JavaFormatterTask extends Task {
 	
 	private List<FileSet> fileSets = new ArrayList<FileSet>();
 	private boolean failOnError;
 	private File configurationFile;
+	private int threads = 1;
+	private File cacheFile;
 	
 	public void addConfiguredFileSet(FileSet fileSet) {
 		fileSets.add(fileSet);
@@ -51,6 +54,21 @@ public class JavaFormatterTask extends Task {
 		this.configurationFile = configurationFile;
 	}
 	
+	/**
+	 * @param threads the number of files formatted at the same time, 1 by default
+	 */
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+	
+	/**
+	 * @param cacheFile remembers the formatted files so the next run skips 
+	 * the ones that weren't modified in between
+	 */
+	public void setCacheFile(File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+	
 	private Properties readConfig(File cfgfile) throws IOException {
 		BufferedInputStream stream = null;
 		try {
@@ -90,24 +108,35 @@ public class JavaFormatterTask extends Task {
 	
 		if(files.length>0) {
 			
-			Formatter formatter = new Formatter(settings);
+			ParallelFormatter formatter;
+			try {
+				formatter = new ParallelFormatter(settings, threads);
+			} catch(RuntimeException e) {
+				throw new BuildException(e.getMessage(), e);
+			}
+			formatter.setCacheFile(cacheFile);
+			formatter.setFailFast(failOnError);
+			ParallelFormatter.Result result = formatter.formatFiles(Arrays.asList(files));
 			for (int i = 0; i < files.length; i++) {
-				File file = files[i];			
-				try {
-					boolean ok = formatter.formatFile( file );
-					if(!ok) {
-						failed++;
-						getProject().log(this, "Formatting failed - skipping " + file, Project.MSG_WARN);						
-					} else {
-						getProject().log(this, "Formatted " + file, Project.MSG_VERBOSE);
-					}
-				} catch(RuntimeException ee) {
+				File file = files[i];
+				ParallelFormatter.Outcome outcome = result.getOutcome(file);
+				RuntimeException ee = result.getError(file);
+				if(ee!=null) {
 					failed++;
 					if(failOnError) {
 						throw new BuildException("Java formatting failed on " + file, ee);
 					} else {
 						getProject().log(this, "Java formatting failed on " + file + ", " + ee.getLocalizedMessage(), Project.MSG_ERR);
 					}
+				} else if(outcome==null) {
+					getProject().log(this, "Not formatted after an earlier failure " + file, Project.MSG_VERBOSE);
+				} else if(outcome==ParallelFormatter.Outcome.FAILED) {
+					failed++;
+					getProject().log(this, "Formatting failed - skipping " + file, Project.MSG_WARN);						
+				} else if(outcome==ParallelFormatter.Outcome.UNCHANGED) {
+					getProject().log(this, "Unchanged since last formatted " + file, Project.MSG_VERBOSE);
+				} else {
+					getProject().log(this, "Formatted " + file, Project.MSG_VERBOSE);
 				}
 			}			
 		}
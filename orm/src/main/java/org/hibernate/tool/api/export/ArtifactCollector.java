@@ -7,15 +7,45 @@ public interface ArtifactCollector {
 
 	/**
 	 * Called to inform that a file has been created by the exporter.
+	 * May be called from several threads at once when the exporter 
+	 * is configured with a {@link ExporterConstants#THREAD_COUNT} above 1.
 	 */
 	void addFile(File file, String type);
 
+	/**
+	 * Called to inform that a file has been produced by the exporter, 
+	 * telling whether its content was actually written or whether the 
+	 * file on disk already had the generated content and was left untouched.
+	 * Files added this way are in their final form and are not touched 
+	 * by {@link #formatFiles()}. By default this is the same as
+	 * {@link #addFile(File, String)}.
+	 */
+	default void addFile(File file, String type, boolean changed) {
+		addFile(file, type);
+	}
+
 	int getFileCount(String type);
 
 	File[] getFiles(String type);
 
 	Set<String> getFileTypes();
 
+	/**
+	 * @return the number of files that were written because their content changed,
+	 * 0 if the collector does not keep track of it
+	 */
+	default int getChangedFileCount() {
+		return 0;
+	}
+
+	/**
+	 * @return the number of files that were left untouched because they already 
+	 * had the generated content, 0 if the collector does not keep track of it
+	 */
+	default int getUnchangedFileCount() {
+		return 0;
+	}
+
 	void formatFiles();
 
 }
\ No newline at end of file
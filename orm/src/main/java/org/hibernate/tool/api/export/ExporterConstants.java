@@ -13,11 +13,16 @@ public interface ExporterConstants {
 	public static final String FOR_EACH = "org.hibernate.tool.api.export.ExporterConstants.ForEach";
 	public static final String FORMAT = "org.hibernate.tool.api.export.ExporterConstants.Format";
 	public static final String HALT_ON_ERROR = "org.hibernate.tool.api.export.ExporterConstants.HaltOnError";
+	public static final String INCREMENTAL = "org.hibernate.tool.api.export.ExporterConstants.Incremental";
+	public static final String JAVA_FORMATTER = "org.hibernate.tool.api.export.ExporterConstants.JavaFormatter";
 	public static final String METADATA_DESCRIPTOR = "org.hibernate.tool.api.export.ExporterConstants.MetadataDescriptor";
+	public static final String OUTPUT_ENCODING = "org.hibernate.tool.api.export.ExporterConstants.OutputEncoding";
 	public static final String OUTPUT_FILE_NAME = "org.hibernate.tool.api.export.ExporterConstants.OutputFileName";
+	public static final String OUTPUT_SINK = "org.hibernate.tool.api.export.ExporterConstants.OutputSink";
 	public static final String QUERY_LIST = "org.hibernate.tool.api.export.ExporterConstants.QueryList";
 	public static final String SCHEMA_UPDATE = "org.hibernate.tool.api.export.ExporterConstants.SchemaUpdate";
 	public static final String TEMPLATE_NAME = "org.hibernate.tool.api.export.ExporterConstants.TemplateName";
 	public static final String TEMPLATE_PATH = "org.hibernate.tool.api.export.ExporterConstants.TemplatePath";
+	public static final String THREAD_COUNT = "org.hibernate.tool.api.export.ExporterConstants.ThreadCount";
 
 }
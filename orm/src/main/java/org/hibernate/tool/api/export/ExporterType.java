@@ -2,10 +2,13 @@ package org.hibernate.tool.api.export;
 
 public enum ExporterType {
 	
+	CACHE ("org.hibernate.tool.internal.export.cache.CacheRegionExporter"),
 	CFG ("org.hibernate.tool.internal.export.cfg.CfgExporter"),
+	COMPOSITE ("org.hibernate.tool.internal.export.common.CompositeExporter"),
 	DAO ("org.hibernate.tool.internal.export.dao.DaoExporter"),
 	DDL ("org.hibernate.tool.internal.export.ddl.DdlExporter"),
 	DOC ("org.hibernate.tool.internal.export.doc.DocExporter"),
+	ENHANCE ("org.hibernate.tool.internal.export.enhance.EnhancementPluginExporter"),
 	GENERIC ("org.hibernate.tool.internal.export.common.GenericExporter"),
 	HBM ("org.hibernate.tool.internal.export.hbm.HbmExporter"),
 	HBM_LINT ("org.hibernate.tool.internal.export.lint.HbmLintExporter"),
@@ -0,0 +1,29 @@
+package org.hibernate.tool.api.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the files an exporter generates in place of its destination folder,
+ * e.g. a zip file or memory. Set it with the {@link ExporterConstants#OUTPUT_SINK}
+ * property; the files are still reported to the {@link ArtifactCollector} as
+ * if they were written to the destination folder.
+ * <p>
+ * Paths are relative to the root of the sink and separated by '/', e.g.
+ * "org/example/Customer.java". A sink can be written by several exporters and
+ * by concurrent renders; the one who created it closes it.
+ */
+public interface OutputSink extends Closeable {
+
+	/**
+	 * @return the content of the file, or null if there is no such file
+	 */
+	byte[] read(String path) throws IOException;
+
+	/**
+	 * Creates or replaces the file, and the directories it is in if needed.
+	 */
+	void write(String path, ByteBuffer content) throws IOException;
+
+}
@@ -0,0 +1,53 @@
+package org.hibernate.tool.api.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.tool.internal.export.common.InMemoryOutputSink;
+import org.hibernate.tool.internal.export.common.PathOutputSink;
+
+public class OutputSinkFactory {
+	
+	public static OutputSink createDirectorySink(File directory) {
+		return new PathOutputSink(directory.toPath(), null);
+	}
+	
+	/**
+	 * @param root a directory of any file system, e.g. of an in-memory file system
+	 */
+	public static OutputSink createPathSink(Path root) {
+		return new PathOutputSink(root, null);
+	}
+	
+	/**
+	 * Writes into a zip or jar file, which is created if it doesn't exist; 
+	 * the file is complete once the sink is closed.
+	 */
+	public static OutputSink createZipSink(File zipFile) {
+		Map<String, String> env = new HashMap<String, String>();
+		env.put("create", "true");
+		try {
+			FileSystem fileSystem = FileSystems.newFileSystem(
+					URI.create("jar:" + zipFile.getAbsoluteFile().toURI()), 
+					env);
+			return new PathOutputSink(fileSystem.getPath("/"), fileSystem);
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Could not open " + zipFile, e);
+		}
+	}
+	
+	/**
+	 * Keeps the files in memory, e.g. to preview them.
+	 */
+	public static OutputSink createInMemorySink() {
+		return new InMemoryOutputSink();
+	}
+
+}
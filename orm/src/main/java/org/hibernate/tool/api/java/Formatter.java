@@ -14,7 +14,10 @@ import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.text.edits.TextEdit;
 
-
+/**
+ * Formats java source with the Eclipse code formatter. A formatter is not 
+ * thread safe, see {@link ParallelFormatter} to format on several threads.
+ */
 public class Formatter {
 
 	private CodeFormatter codeFormatter;
@@ -40,21 +43,17 @@ public class Formatter {
 	 * @return
 	 */
 	public boolean formatFile(File file) {
-		IDocument doc = new Document();
 		try {
 			String contents = new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, null));
-			doc.set(contents);
-			TextEdit edit = codeFormatter.format(CodeFormatter.K_COMPILATION_UNIT, contents, 0, contents.length(), 0, null);
-			if (edit != null) {
-				edit.apply(doc);
-			} else {				
+			String formatted = format(contents);
+			if (formatted == null) {
 				return false; // most likely syntax errror
 			}
 
 			// write the file
 			final BufferedWriter out = new BufferedWriter(new FileWriter(file));
 			try {
-				out.write(doc.get());
+				out.write(formatted);
 				out.flush();
 			} finally {
 				try {
@@ -64,9 +63,29 @@ public class Formatter {
 				}
 			}
 			return true;
-		} catch (IOException | BadLocationException e) {
+		} catch (IOException e) {
 			throw new RuntimeException("Could not format " + file, e);
 		}
 	}
 
+	/**
+	 * Formats the source of a compilation unit in memory.
+	 * 
+	 * @return the formatted source, or null if the source could not be 
+	 * formatted because of errors in it
+	 */
+	public String format(String source) {
+		TextEdit edit = codeFormatter.format(CodeFormatter.K_COMPILATION_UNIT, source, 0, source.length(), 0, null);
+		if (edit == null) {
+			return null;
+		}
+		IDocument doc = new Document(source);
+		try {
+			edit.apply(doc);
+		} catch (BadLocationException e) {
+			throw new RuntimeException("Could not format source", e);
+		}
+		return doc.get();
+	}
+
 }
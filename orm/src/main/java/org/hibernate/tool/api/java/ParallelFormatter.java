@@ -0,0 +1,289 @@
+package org.hibernate.tool.api.java;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Formats java source on several threads, each thread using its own
+ * {@link Formatter} since the underlying Eclipse code formatter is not
+ * thread safe.
+ * <p>
+ * When a cache file is set, {@link #formatFiles(List)} remembers the digest 
+ * of the files it wrote and skips the files that were not modified since.
+ */
+public class ParallelFormatter {
+
+	public enum Outcome {
+		FORMATTED,
+		// skipped because the file wasn't modified since it was last formatted
+		UNCHANGED,
+		FAILED
+	}
+
+	private final Map<Object, Object> settings;
+	private final int threadCount;
+	private final ThreadLocal<Formatter> formatters = new ThreadLocal<Formatter>() {
+		protected Formatter initialValue() {
+			return new Formatter(settings);
+		}
+	};
+	private Charset encoding = Charset.defaultCharset();
+	private File cacheFile;
+	private boolean failFast;
+
+	/**
+	 * @param settings the Eclipse formatter settings, null for the defaults of {@link Formatter}
+	 * @param threadCount the number of threads {@link #formatFiles(List)} uses
+	 */
+	public ParallelFormatter(Map<Object, Object> settings, int threadCount) {
+		if (threadCount < 1) {
+			throw new RuntimeException("Thread count must be at least 1 but was " + threadCount);
+		}
+		this.settings = settings;
+		this.threadCount = threadCount;
+	}
+
+	public void setEncoding(Charset encoding) {
+		this.encoding = encoding;
+	}
+
+	public void setCacheFile(File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * @param failFast whether {@link #formatFiles(List)} stops at the first file 
+	 * that could not be read or written, leaving the files it hasn't started 
+	 * without outcome
+	 */
+	public void setFailFast(boolean failFast) {
+		this.failFast = failFast;
+	}
+
+	/**
+	 * Formats the source with the formatter of the calling thread.
+	 *
+	 * @return the formatted source, or null if it has errors
+	 */
+	public String format(String source) {
+		return formatters.get().format(source);
+	}
+
+	/**
+	 * Formats the files in place, in parallel.
+	 */
+	public Result formatFiles(List<File> files) {
+		final Properties cache = loadCache();
+		final Result result = new Result();
+		if (threadCount == 1 || files.size() < 2) {
+			for (int i = 0; i < files.size() && !isStopped(result); i++) {
+				formatFile(files.get(i), cache, result);
+			}
+		}
+		else {
+			ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, files.size()));
+			try {
+				List<Future<?>> futures = new ArrayList<Future<?>>();
+				for (int i = 0; i < files.size(); i++) {
+					final File file = files.get(i);
+					futures.add(executor.submit(new Runnable() {
+						public void run() {
+							if (!isStopped(result)) {
+								formatFile(file, cache, result);
+							}
+						}
+					}));
+				}
+				for (int i = 0; i < futures.size(); i++) {
+					futures.get(i).get();
+					if (isStopped(result)) {
+						for (int j = i + 1; j < futures.size(); j++) {
+							futures.get(j).cancel(false);
+						}
+						break;
+					}
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while formatting", e);
+			}
+			catch (ExecutionException e) {
+				throw new RuntimeException("Error while formatting", e.getCause());
+			}
+			finally {
+				executor.shutdownNow();
+			}
+		}
+		storeCache(cache);
+		return result;
+	}
+
+	private boolean isStopped(Result result) {
+		return failFast && result.hasErrors();
+	}
+
+	private void formatFile(File file, Properties cache, Result result) {
+		try {
+			String source = new String(Files.readAllBytes(file.toPath()), encoding);
+			String key = file.getAbsolutePath();
+			if (digest(source).equals(getCacheEntry(cache, key))) {
+				result.add(file, Outcome.UNCHANGED, null);
+				return;
+			}
+			String output = format(source);
+			if (output == null) {
+				result.add(file, Outcome.FAILED, null);
+				return;
+			}
+			if (!output.equals(source)) {
+				Files.write(file.toPath(), output.getBytes(encoding));
+			}
+			setCacheEntry(cache, key, digest(output));
+			result.add(file, Outcome.FORMATTED, null);
+		}
+		catch (IOException e) {
+			result.add(file, Outcome.FAILED, new RuntimeException("Could not format " + file, e));
+		}
+		catch (RuntimeException e) {
+			result.add(file, Outcome.FAILED, e);
+		}
+	}
+
+	private static String getCacheEntry(Properties cache, String key) {
+		synchronized (cache) {
+			return cache.getProperty(key);
+		}
+	}
+
+	private static void setCacheEntry(Properties cache, String key, String value) {
+		synchronized (cache) {
+			cache.setProperty(key, value);
+		}
+	}
+
+	private Properties loadCache() {
+		Properties result = new Properties();
+		if (cacheFile != null && cacheFile.isFile()) {
+			try {
+				InputStream input = new FileInputStream(cacheFile);
+				try {
+					result.load(input);
+				}
+				finally {
+					input.close();
+				}
+			}
+			catch (IOException e) {
+				// start over, every file gets formatted
+				result.clear();
+			}
+		}
+		return result;
+	}
+
+	private void storeCache(Properties cache) {
+		if (cacheFile == null) {
+			return;
+		}
+		try {
+			if (cacheFile.getParentFile() != null) {
+				cacheFile.getParentFile().mkdirs();
+			}
+			OutputStream output = new FileOutputStream(cacheFile);
+			try {
+				cache.store(output, "Digests of the files formatted by Hibernate Tools");
+			}
+			finally {
+				output.close();
+			}
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Could not write " + cacheFile, e);
+		}
+	}
+
+	private String digest(String source) {
+		try {
+			byte[] bytes = MessageDigest.getInstance("SHA-1").digest(source.getBytes(encoding));
+			StringBuilder result = new StringBuilder(bytes.length * 2);
+			for (int i = 0; i < bytes.length; i++) {
+				result.append(Character.forDigit((bytes[i] >> 4) & 0xf, 16));
+				result.append(Character.forDigit(bytes[i] & 0xf, 16));
+			}
+			return result.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-1 is not available", e);
+		}
+	}
+
+	/**
+	 * The outcome of {@link ParallelFormatter#formatFiles(List)}, in the order
+	 * of the files passed in.
+	 */
+	public static class Result {
+
+		private final Map<File, Outcome> outcomes = Collections.synchronizedMap(new LinkedHashMap<File, Outcome>());
+		private final Map<File, RuntimeException> errors = Collections.synchronizedMap(new LinkedHashMap<File, RuntimeException>());
+
+		void add(File file, Outcome outcome, RuntimeException error) {
+			outcomes.put(file, outcome);
+			if (error != null) {
+				errors.put(file, error);
+			}
+		}
+
+		/**
+		 * @return the outcome of the file, null if it was left out because 
+		 * an earlier file failed in fail fast mode
+		 */
+		public Outcome getOutcome(File file) {
+			return outcomes.get(file);
+		}
+
+		/**
+		 * @return the exception of a file that could not be read or written,
+		 * null for the files that failed because of errors in their source
+		 */
+		public RuntimeException getError(File file) {
+			return errors.get(file);
+		}
+
+		boolean hasErrors() {
+			return !errors.isEmpty();
+		}
+
+		public int getCount(Outcome outcome) {
+			int result = 0;
+			synchronized (outcomes) {
+				for (Outcome candidate : outcomes.values()) {
+					if (candidate == outcome) {
+						result++;
+					}
+				}
+			}
+			return result;
+		}
+
+	}
+
+}
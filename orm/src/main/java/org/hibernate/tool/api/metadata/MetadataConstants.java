@@ -4,4 +4,62 @@ public interface MetadataConstants {
 
 	public static final String PREFER_BASIC_COMPOSITE_IDS = "org.hibernate.tool.api.metadata.MetadataConstants.PreferBasicCompositeIds";
 
+	/**
+	 * The optimizer of the sequence generators whose sequence the database 
+	 * increments by more than one: "pooled" (the default), "pooled-lo" or 
+	 * "none" to leave the optimizer to Hibernate.
+	 */
+	public static final String SEQUENCE_OPTIMIZER = "org.hibernate.tool.api.metadata.MetadataConstants.SequenceOptimizer";
+
+	/**
+	 * Whether the entities of the views are immutable, without a version 
+	 * property and with setters of the {@link #VIEW_SETTER_SCOPE} scope: 
+	 * "true" (the default) or "false".
+	 */
+	public static final String IMMUTABLE_VIEWS = "org.hibernate.tool.api.metadata.MetadataConstants.ImmutableViews";
+
+	/**
+	 * The scope of the setters of the immutable entities of the views, 
+	 * "private" by default. A "scope-set" meta attribute of a column wins.
+	 */
+	public static final String VIEW_SETTER_SCOPE = "org.hibernate.tool.api.metadata.MetadataConstants.ViewSetterScope";
+
+	/**
+	 * Whether the entities of the views the strategy sets no cache for are 
+	 * cached read-only: "true" or "false" (the default).
+	 */
+	public static final String CACHE_VIEWS = "org.hibernate.tool.api.metadata.MetadataConstants.CacheViews";
+
+	/**
+	 * Whether the single unique key of a table that isn't its primary key is 
+	 * the immutable natural id of its entity when the strategy sets no 
+	 * natural id: "true" or "false" (the default).
+	 */
+	public static final String NATURAL_IDS = "org.hibernate.tool.api.metadata.MetadataConstants.NaturalIds";
+
+	/**
+	 * The number of columns from which the entity of a table updates and 
+	 * inserts only the columns it needs to, e.g. "100". Not set by default.
+	 */
+	public static final String DYNAMIC_COLUMNS = "org.hibernate.tool.api.metadata.MetadataConstants.DynamicColumns";
+
+	/**
+	 * Whether the properties of the LOB columns are fetched lazily: "true" 
+	 * or "false" (the default).
+	 */
+	public static final String LAZY_LOBS = "org.hibernate.tool.api.metadata.MetadataConstants.LazyLobs";
+
+	/**
+	 * The length from which the properties of character and binary columns 
+	 * are fetched lazily, e.g. "4000". Not set by default.
+	 */
+	public static final String LAZY_LENGTH = "org.hibernate.tool.api.metadata.MetadataConstants.LazyLength";
+
+	/**
+	 * Whether the entities with to-one associations get a "default" entity 
+	 * graph of these associations when the strategy sets no graphs: "true" 
+	 * or "false" (the default).
+	 */
+	public static final String ENTITY_GRAPHS = "org.hibernate.tool.api.metadata.MetadataConstants.EntityGraphs";
+
 }
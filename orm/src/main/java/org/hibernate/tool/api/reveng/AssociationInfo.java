@@ -3,8 +3,17 @@ package org.hibernate.tool.api.reveng;
 public interface AssociationInfo {
 
 		String getCascade();	
+		/** "join", "select" or, for collections, "subselect" */
 		String getFetch();		
 		Boolean getUpdate();
 		Boolean getInsert();					
+		/** the number of collections initialized in one select, null for the default */
+		default Integer getBatchSize() {
+			return null;
+		}
+		/** for collections "true", "false" or "extra", null for the default */
+		default String getLazy() {
+			return null;
+		}
 
 }
@@ -0,0 +1,10 @@
+package org.hibernate.tool.api.reveng;
+
+public interface CacheInfo {
+
+		/** "read-only", "nonstrict-read-write", "read-write" or "transactional", null for the default */
+		String getUsage();
+		/** the cache region, null for the region named after the entity */
+		String getRegion();
+
+}
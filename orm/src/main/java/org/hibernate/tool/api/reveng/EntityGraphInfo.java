@@ -0,0 +1,10 @@
+package org.hibernate.tool.api.reveng;
+
+public interface EntityGraphInfo {
+
+		/** the name of the graph, unique for the entity */
+		String getName();
+		/** the number of to-one associations the graph follows from the entity, 1 for its own to-one associations */
+		int getDepth();
+
+}
@@ -0,0 +1,14 @@
+package org.hibernate.tool.api.reveng;
+
+public interface NaturalIdInfo {
+
+		/** the name of the unique key of the natural id, null for the single unique key of the table that isn't its primary key */
+		String getUniqueKey();
+		/** whether the application may change the natural id of an entity */
+		boolean isMutable();
+		/** whether the natural id resolutions are cached */
+		boolean isCached();
+		/** the region of the natural id cache, null for the region named after the entity */
+		String getCacheRegion();
+
+}
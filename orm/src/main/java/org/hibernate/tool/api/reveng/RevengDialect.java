@@ -1,5 +1,6 @@
 package org.hibernate.tool.api.reveng;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -46,7 +47,8 @@ public interface RevengDialect {
 	 * @param catalog name or null
 	 * @param schema name or null
 	 * @param table name or null 
-	 * @return iterator with map elements that has "TABLE_NAME", "TABLE_SCHEMA", "TABLE_CAT", "INDEX_NAME", "COLUMN_NAME", "NON_UNIQUE", "TYPE" keys. 
+	 * @return iterator with map elements that has "TABLE_NAME", "TABLE_SCHEMA", "TABLE_CAT", "INDEX_NAME", "COLUMN_NAME", "NON_UNIQUE", "TYPE" keys
+	 * and optionally "ORDINAL_POSITION" and "ASC_OR_DESC" keys, to order the columns of an index.
 	 */
 	Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table);
 
@@ -105,5 +107,18 @@ public interface RevengDialect {
 	 */
 	public Iterator<Map<String, Object>> getSuggestedPrimaryKeyStrategyName(String catalog, String schema, String table);
 
+	/**
+	 * Return iterator over the sequences that matches catalog, schema and sequence name.
+	 * Dialects that can't read sequences return an empty iterator.
+	 * 
+	 * @param catalog name or null
+	 * @param schema name or null
+	 * @param sequence name or null
+	 * @return iterator with map elements that has "SEQUENCE_CAT", "SEQUENCE_SCHEM", "SEQUENCE_NAME", "START_VALUE", "INCREMENT", "CACHE_SIZE" keys (the numbers are Long, null if not known)
+	 */
+	public default Iterator<Map<String, Object>> getSequences(String catalog, String schema, String sequence) {
+		return Collections.emptyIterator();
+	}
+
 	
 }
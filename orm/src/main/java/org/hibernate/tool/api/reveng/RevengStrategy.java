@@ -190,5 +190,63 @@ public interface RevengStrategy {
 
 	public AssociationInfo foreignKeyToAssociationInfo(ForeignKey foreignKey);
 	public AssociationInfo foreignKeyToInverseAssociationInfo(ForeignKey foreignKey);
+
+	/**
+	 * The fetch plan of the associations of the entity mapped to a table, used for the
+	 * settings the {@link AssociationInfo} of their foreign key leaves unset. 
+	 * Only the fetch, lazy and batch size settings are used.
+	 * 
+	 * @return null if use defaults
+	 */
+	public AssociationInfo tableToAssociationInfo(TableIdentifier tableIdentifier);
+
+	/**
+	 * The second-level cache settings of the entity mapped to a table. A cached 
+	 * entity without a usage is read-only for a view and read-write otherwise.
+	 * 
+	 * @param view whether the table is a view
+	 * @return null if the entity is not cached
+	 */
+	public CacheInfo tableToCacheInfo(TableIdentifier tableIdentifier, boolean view);
+
+	/**
+	 * The unique key that is the natural id of the entity mapped to a table.
+	 * 
+	 * @return null if the natural id is left to the reverse engineering settings
+	 */
+	public NaturalIdInfo tableToNaturalIdInfo(TableIdentifier tableIdentifier);
+
+	/**
+	 * Whether the entity mapped to a table updates only the columns that changed.
+	 * 
+	 * @return null if left to the reverse engineering settings
+	 */
+	public Boolean tableToDynamicUpdate(TableIdentifier tableIdentifier);
+
+	/**
+	 * Whether the entity mapped to a table inserts only the columns that are not null.
+	 * 
+	 * @return null if left to the reverse engineering settings
+	 */
+	public Boolean tableToDynamicInsert(TableIdentifier tableIdentifier);
+
+	/**
+	 * The group of lazily fetched properties the property of a column is part of. 
+	 * The properties of a group are fetched together when one of them is first 
+	 * accessed; lazy properties only work with bytecode enhanced entities.
+	 * 
+	 * @return the name of the group, "DEFAULT" for the group of the lazy properties
+	 * of no other group, "" for an eagerly fetched property, null if left to the 
+	 * reverse engineering settings
+	 */
+	public String columnToLazyGroup(TableIdentifier tableIdentifier, String column);
+
+	/**
+	 * The named entity graphs of the entity mapped to a table, each following 
+	 * its to-one associations up to a depth.
+	 * 
+	 * @return null if the graphs are left to the reverse engineering settings
+	 */
+	public List<EntityGraphInfo> tableToEntityGraphs(TableIdentifier tableIdentifier);
 		
 }
@@ -19,7 +19,7 @@ import org.hibernate.mapping.Property;
 import org.hibernate.mapping.ToOne;
 import org.hibernate.mapping.Value;
 import org.hibernate.tool.internal.export.java.Cfg2JavaTool;
-import org.hibernate.tool.internal.export.java.EntityPOJOClass;
+import org.hibernate.tool.internal.export.java.POJOClass;
 
 /**
  * @author Max Rydahl Andersen
@@ -28,6 +28,7 @@ import org.hibernate.tool.internal.export.java.EntityPOJOClass;
 public class ConfigurationCompletion {
 
 	private final Metadata metadata;
+	private final Cfg2JavaTool cfg2JavaTool = new Cfg2JavaTool();
 
 	public ConfigurationCompletion(Metadata md) {
 		this.metadata = md;
@@ -169,7 +170,7 @@ public class ConfigurationCompletion {
         
         // Add superclass's properties too
         while (cmd != null){
-        	EntityPOJOClass pc = new EntityPOJOClass(cmd, new Cfg2JavaTool()); // TODO: we should extract the needed functionallity from this hbm2java class.
+        	POJOClass pc = cfg2JavaTool.getPOJOModel(metadata).getPOJOClass(cmd);
             
         	Iterator<Property> allPropertiesIterator = pc.getAllPropertiesIterator();
             while ( allPropertiesIterator.hasNext() ) {
@@ -0,0 +1,144 @@
+package org.hibernate.tool.internal.export.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.MetaAttribute;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.RootClass;
+import org.hibernate.tool.internal.export.common.GenericExporter;
+
+/**
+ * Writes an Ehcache 3 configuration, for use through JCache, with a cache for 
+ * each second-level cache region of the entities and collections.
+ * <p>
+ * The caches hold {@link #HEAP_ENTRIES} entries on the heap and expire them 
+ * after {@link #TTL_SECONDS} seconds. An entity overrides these with its 
+ * "cache-heap-entries" and "cache-ttl-seconds" meta attributes.
+ */
+public class CacheRegionExporter extends GenericExporter {
+
+	/** Property with the default number of entries of a cache, 1000 if not set */
+	public static final String HEAP_ENTRIES = "cache.heap-entries";
+	/** Property with the default time to live of the entries in seconds, 0 for no expiry, 3600 if not set */
+	public static final String TTL_SECONDS = "cache.ttl-seconds";
+
+	private static final String EHCACHE_XML_FTL = "cache/ehcache.xml.ftl";
+
+	protected void init() {
+		getProperties().put(TEMPLATE_NAME, EHCACHE_XML_FTL);
+		getProperties().put(FILE_PATTERN, "ehcache.xml");
+	}
+
+	public CacheRegionExporter() {
+		init();
+	}
+
+	protected void setupContext() {
+		super.setupContext();
+		getTemplateHelper().putInContext("regions", getRegions());
+	}
+
+	/**
+	 * @return the regions of the cached entities and collections, sorted by name
+	 */
+	public List<CacheRegion> getRegions() {
+		long heapEntries = getLongProperty(HEAP_ENTRIES, 1000);
+		long ttlSeconds = getLongProperty(TTL_SECONDS, 3600);
+		Map<String, CacheRegion> regions = new TreeMap<String, CacheRegion>();
+		Iterator<PersistentClass> classes = getMetadata().getEntityBindings().iterator();
+		while (classes.hasNext()) {
+			PersistentClass pc = classes.next();
+			if (pc instanceof RootClass && pc.getCacheConcurrencyStrategy() != null) {
+				String name = ((RootClass) pc).getCacheRegionName();
+				addRegion(
+						regions, 
+						name == null ? pc.getEntityName() : name, 
+						pc.getCacheConcurrencyStrategy(), 
+						getLongMeta(pc, "cache-heap-entries", heapEntries), 
+						getLongMeta(pc, "cache-ttl-seconds", ttlSeconds));
+			}
+		}
+		Iterator<Collection> collections = getMetadata().getCollectionBindings().iterator();
+		while (collections.hasNext()) {
+			Collection collection = collections.next();
+			if (collection.getCacheConcurrencyStrategy() != null) {
+				String name = collection.getCacheRegionName();
+				addRegion(
+						regions, 
+						name == null ? collection.getRole() : name, 
+						collection.getCacheConcurrencyStrategy(), 
+						heapEntries, 
+						ttlSeconds);
+			}
+		}
+		return new ArrayList<CacheRegion>(regions.values());
+	}
+
+	// entities sharing a region share its cache, the first one sizes it
+	private void addRegion(Map<String, CacheRegion> regions, String name, String usage, long heapEntries, long ttlSeconds) {
+		if (!regions.containsKey(name)) {
+			regions.put(name, new CacheRegion(name, usage, heapEntries, ttlSeconds));
+		}
+	}
+
+	private long getLongProperty(String name, long defaultValue) {
+		Object value = getProperties().get(name);
+		return value == null ? defaultValue : Long.parseLong(value.toString().trim());
+	}
+
+	private long getLongMeta(PersistentClass pc, String name, long defaultValue) {
+		MetaAttribute metaAttribute = pc.getMetaAttribute(name);
+		if (metaAttribute == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(metaAttribute.getValue().trim());
+		}
+		catch (NumberFormatException e) {
+			throw new RuntimeException("Meta attribute " + name + " of " + pc.getEntityName() + 
+					" is not a number: " + metaAttribute.getValue(), e);
+		}
+	}
+
+	public String getName() {
+		return "cfg2ehcachexml";
+	}
+
+	public static class CacheRegion {
+
+		private final String name;
+		private final String usage;
+		private final long heapEntries;
+		private final long ttlSeconds;
+
+		CacheRegion(String name, String usage, long heapEntries, long ttlSeconds) {
+			this.name = name;
+			this.usage = usage;
+			this.heapEntries = heapEntries;
+			this.ttlSeconds = ttlSeconds;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getUsage() {
+			return usage;
+		}
+
+		public long getHeapEntries() {
+			return heapEntries;
+		}
+
+		public long getTtlSeconds() {
+			return ttlSeconds;
+		}
+
+	}
+
+}
@@ -4,7 +4,9 @@
 package org.hibernate.tool.internal.export.common;
 
 import java.io.File;
+import java.nio.charset.Charset;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 
@@ -14,6 +16,8 @@ import org.hibernate.internal.util.StringHelper;
 import org.hibernate.tool.api.export.ArtifactCollector;
 import org.hibernate.tool.api.export.Exporter;
 import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.OutputSink;
+import org.hibernate.tool.api.java.ParallelFormatter;
 import org.hibernate.tool.api.metadata.MetadataDescriptor;
 import org.hibernate.tool.internal.export.hbm.Cfg2HbmTool;
 import org.hibernate.tool.internal.export.java.Cfg2JavaTool;
@@ -38,6 +42,8 @@ public abstract class AbstractExporter implements Exporter, ExporterConstants {
 
 	private Cfg2HbmTool c2h;
 	private Cfg2JavaTool c2j;
+	private Object javaFormatterSetting;
+	private ParallelFormatter javaFormatter;
 
 	public AbstractExporter() {
 		c2h = new Cfg2HbmTool();
@@ -65,6 +71,80 @@ public abstract class AbstractExporter implements Exporter, ExporterConstants {
 		return properties;
 	}
 	
+	/**
+	 * @return the number of threads the exporter may use to produce its 
+	 * artifacts, 1 (the default) meaning everything is done on the calling thread
+	 */
+	protected int getThreadCount() {
+		Object threadCount = getProperties().get(THREAD_COUNT);
+		if (threadCount == null) {
+			return 1;
+		}
+		int result = Integer.parseInt(threadCount.toString().trim());
+		if (result < 1) {
+			throw new RuntimeException("Thread count must be at least 1 but was " + result);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the charset used to write the generated files, the platform 
+	 * default if none is configured
+	 */
+	protected Charset getOutputEncoding() {
+		Object encoding = getProperties().get(OUTPUT_ENCODING);
+		if (encoding == null) {
+			return Charset.defaultCharset();
+		}
+		if (encoding instanceof Charset) {
+			return (Charset)encoding;
+		}
+		try {
+			return Charset.forName(encoding.toString().trim());
+		}
+		catch (IllegalArgumentException e) {
+			throw new RuntimeException("Unsupported output encoding " + encoding, e);
+		}
+	}
+
+	/**
+	 * @return the sink receiving the generated files in place of the 
+	 * destination folder, null (the default) to write them to the folder
+	 */
+	protected OutputSink getOutputSink() {
+		return (OutputSink)getProperties().get(OUTPUT_SINK);
+	}
+
+	/**
+	 * @return the formatter for the generated java sources, null (the default) 
+	 * to leave them unformatted; the {@link ExporterConstants#JAVA_FORMATTER} 
+	 * property can be a {@link ParallelFormatter}, a map of formatter settings
+	 * or "true" to use the default settings
+	 */
+	@SuppressWarnings("unchecked")
+	protected ParallelFormatter getJavaFormatter() {
+		Object setting = getProperties().get(JAVA_FORMATTER);
+		if (setting == null) {
+			return null;
+		}
+		if (setting instanceof ParallelFormatter) {
+			return (ParallelFormatter)setting;
+		}
+		if (setting != javaFormatterSetting) {
+			if (setting instanceof Map) {
+				javaFormatter = new ParallelFormatter((Map<Object, Object>)setting, getThreadCount());
+			}
+			else if (Boolean.parseBoolean(setting.toString().trim())) {
+				javaFormatter = new ParallelFormatter(null, getThreadCount());
+			}
+			else {
+				javaFormatter = null;
+			}
+			javaFormatterSetting = setting;
+		}
+		return javaFormatter;
+	}
+
 	public ArtifactCollector getArtifactCollector() {
 		return (ArtifactCollector)getProperties().get(ARTIFACT_COLLECTOR);
 	}
@@ -0,0 +1,147 @@
+package org.hibernate.tool.internal.export.common;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Remembers, per output directory, which model and template set digests the
+ * files of each template were rendered from, so that an incremental run only
+ * renders the files whose entity or component changed.
+ * <p>
+ * The manifest is a properties file in the output directory; several
+ * exporters writing to the same directory each keep their own entries in it.
+ * The entries are owned by the exporter configuration that produced them (its
+ * template, file pattern and for-each), so an exporter only ever removes files
+ * it rendered itself.
+ */
+public class ArtifactManifest {
+
+	public static final String FILE_NAME = ".hibernate-tools.manifest";
+
+	private static final Logger log = Logger.getLogger(ArtifactManifest.class);
+
+	private final File outputDirectory;
+	private final File file;
+	private final String owner;
+	private final String templateSetDigest;
+	private final Properties entries = new Properties();
+	private final Set<String> produced = new HashSet<String>();
+
+	public ArtifactManifest(File outputDirectory, String owner, String templateSetDigest) {
+		this.outputDirectory = outputDirectory;
+		this.file = new File(outputDirectory, FILE_NAME);
+		this.owner = owner;
+		this.templateSetDigest = templateSetDigest;
+		if (file.isFile()) {
+			InputStream input = null;
+			try {
+				input = new FileInputStream(file);
+				entries.load(input);
+			}
+			catch (IOException e) {
+				log.warn("Could not read " + file + ", regenerating everything", e);
+				entries.clear();
+			}
+			finally {
+				close(input);
+			}
+		}
+	}
+
+	/**
+	 * @return true if the file exists and was rendered from the same model
+	 * digest with the current template set
+	 */
+	public boolean isUpToDate(String fileName, String modelDigest) {
+		produced.add(normalize(fileName));
+		return getEntry(fileName).equals(modelDigest + " " + templateSetDigest) &&
+				new File(outputDirectory, fileName).isFile();
+	}
+
+	public void record(String fileName, String modelDigest) {
+		produced.add(normalize(fileName));
+		entries.setProperty(getKey(fileName), modelDigest + " " + templateSetDigest);
+	}
+
+	/**
+	 * Deletes the files this owner rendered on a previous run but not on
+	 * this one, e.g. because their entity was removed from the model.
+	 *
+	 * @return the deleted files
+	 */
+	public List<File> removeStaleFiles() {
+		List<File> result = new ArrayList<File>();
+		String prefix = owner + "|";
+		Iterator<String> iterator = new ArrayList<String>(entries.stringPropertyNames()).iterator();
+		while (iterator.hasNext()) {
+			String key = iterator.next();
+			if (!key.startsWith(prefix)) {
+				continue;
+			}
+			String fileName = key.substring(prefix.length());
+			if (!produced.contains(fileName)) {
+				entries.remove(key);
+				File stale = new File(outputDirectory, fileName);
+				if (stale.isFile()) {
+					log.info("Deleting " + stale + ", its model is no longer mapped");
+					if (!stale.delete()) {
+						throw new RuntimeException("Could not delete " + stale);
+					}
+					result.add(stale);
+				}
+			}
+		}
+		return result;
+	}
+
+	public void store() {
+		OutputStream output = null;
+		try {
+			output = new FileOutputStream(file);
+			entries.store(output, "Generated by Hibernate Tools, used for incremental generation");
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Could not write " + file, e);
+		}
+		finally {
+			close(output);
+		}
+	}
+
+	private String getEntry(String fileName) {
+		return entries.getProperty(getKey(fileName), "");
+	}
+
+	private String getKey(String fileName) {
+		return owner + "|" + normalize(fileName);
+	}
+
+	private String normalize(String fileName) {
+		return fileName.replace(File.separatorChar, '/');
+	}
+
+	private void close(Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			}
+			catch (IOException e) {
+				log.warn("Exception while closing " + file, e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,194 @@
+package org.hibernate.tool.internal.export.common;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.tool.internal.export.java.JavaExporter;
+import org.hibernate.tool.internal.export.java.POJOClass;
+
+/**
+ * Renders several templates in one walk over the model: every entity (and
+ * component) is decorated once and rendered with each of the targets in
+ * turn, e.g. the POJO, the DAO and the mapping file of an entity. The renders
+ * of a class share its context and its {@link POJOClass}, whose imports are
+ * reset between targets.
+ * <p>
+ * With more than one thread, the classes are rendered in parallel, the
+ * targets of a class one after the other. Incremental generation is not
+ * supported, every file is rendered.
+ */
+public class CompositeExporter extends GenericExporter {
+
+	private final List<Target> targets = new ArrayList<Target>();
+
+	/**
+	 * Adds a template rendered for each entity; use {@link Target#setComponents(boolean)}
+	 * to render it for the components too.
+	 *
+	 * @param filePattern the pattern of the files, e.g. "{package-name}/{class-name}Home.java"
+	 */
+	public Target addTarget(String templateName, String filePattern) {
+		if (templateName == null || filePattern == null) {
+			throw new RuntimeException("A target needs a template name and a file pattern");
+		}
+		Target result = new Target(templateName, filePattern);
+		targets.add(result);
+		return result;
+	}
+
+	public List<Target> getTargets() {
+		return targets;
+	}
+
+	public String getName() {
+		return "composite";
+	}
+
+	protected String getTemplateName() {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < targets.size(); i++) {
+			if (i > 0) {
+				result.append(',');
+			}
+			result.append(targets.get(i).getTemplateName());
+		}
+		return result.toString();
+	}
+
+	protected void setupContext() {
+		// the pojo templates expect these, see JavaExporter
+		if(!getProperties().containsKey("ejb3")) {
+			getProperties().put("ejb3", "false");
+		}
+		if(!getProperties().containsKey("jdk5")) {
+			getProperties().put("jdk5", "false");
+		}
+		Object lazySafe = getProperties().get(JavaExporter.LAZY_SAFE);
+		if (lazySafe != null) {
+			getCfg2JavaTool().setLazySafeByDefault(Boolean.parseBoolean(lazySafe.toString()));
+		}
+		super.setupContext();
+	}
+
+	protected void doStart() {
+		if (targets.isEmpty()) {
+			throw new RuntimeException("No targets set on " + this.getClass());
+		}
+		if (isIncremental()) {
+			log.warn(getName() + " does not support incremental generation, rendering every file");
+		}
+		startRenders();
+		try {
+			Iterator<POJOClass> iterator = getPOJOModel().getEntities().iterator();
+			while (iterator.hasNext()) {
+				exportPersistentClass(new HashMap<String, Object>(), iterator.next());
+			}
+			iterator = getPOJOModel().getComponents().iterator();
+			while (iterator.hasNext()) {
+				exportComponent(new HashMap<String, Object>(), iterator.next());
+			}
+			awaitRenders();
+		}
+		finally {
+			stopRenders();
+		}
+	}
+
+	protected void exportPersistentClass(Map<String, Object> additionalContext, POJOClass element) {
+		exportTargets(additionalContext, element, false);
+	}
+
+	protected void exportComponent(Map<String, Object> additionalContext, POJOClass element) {
+		exportTargets(additionalContext, element, true);
+	}
+
+	protected void exportTargets(Map<String, Object> additionalContext, final POJOClass element, boolean component) {
+		final List<Target> selected = new ArrayList<Target>();
+		final List<String> filenames = new ArrayList<String>();
+		for (int i = 0; i < targets.size(); i++) {
+			Target target = targets.get(i);
+			if (!component || target.isComponents()) {
+				selected.add(target);
+				filenames.add(resolveFilename(element, target.getFilePattern()));
+			}
+		}
+		if (selected.isEmpty()) {
+			return;
+		}
+		final TemplateProducer producer = createTemplateProducer();
+		final Map<String, Object> context = new HashMap<String, Object>(additionalContext);
+		context.put("pojo", element);
+		context.put("clazz", element.getDecoratedObject());
+		final String identifier = element.toString();
+		render(new Runnable() {
+			public void run() {
+				for (int i = 0; i < selected.size(); i++) {
+					Target target = selected.get(i);
+					getPOJOModel().reset(element);
+					Map<String, Object> targetContext = context;
+					if (!target.getContext().isEmpty()) {
+						targetContext = new HashMap<String, Object>(context);
+						targetContext.putAll(target.getContext());
+					}
+					producer.produce(
+							targetContext,
+							target.getTemplateName(),
+							new File(getOutputDirectory(), filenames.get(i)),
+							target.getTemplateName(),
+							identifier);
+				}
+			}
+		});
+	}
+
+	/**
+	 * A template and the pattern of the files it renders.
+	 */
+	public static class Target {
+
+		private final String templateName;
+		private final String filePattern;
+		private final Map<String, Object> context = new HashMap<String, Object>();
+		private boolean components = false;
+
+		Target(String templateName, String filePattern) {
+			this.templateName = templateName;
+			this.filePattern = filePattern;
+		}
+
+		public String getTemplateName() {
+			return templateName;
+		}
+
+		public String getFilePattern() {
+			return filePattern;
+		}
+
+		public boolean isComponents() {
+			return components;
+		}
+
+		public Target setComponents(boolean components) {
+			this.components = components;
+			return this;
+		}
+
+		/**
+		 * @return the entries added to the context of the renders of this target only
+		 */
+		public Map<String, Object> getContext() {
+			return context;
+		}
+
+		public Target putInContext(String key, Object value) {
+			context.put(key, value);
+			return this;
+		}
+
+	}
+
+}
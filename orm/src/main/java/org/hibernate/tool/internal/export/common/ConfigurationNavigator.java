@@ -11,7 +11,6 @@ import org.hibernate.mapping.Component;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
 import org.hibernate.tool.internal.export.java.Cfg2JavaTool;
-import org.hibernate.tool.internal.export.java.ComponentPOJOClass;
 import org.hibernate.tool.internal.export.java.POJOClass;
 import org.jboss.logging.Logger;
 
@@ -65,9 +64,7 @@ public class ConfigurationNavigator {
 		} else {
 			log.debug("dynamic-component found. Ignoring it as a component, but will collect any embedded components.");
 		}	
-		collectComponents( 
-				components, 
-				new ComponentPOJOClass(comp, new Cfg2JavaTool()).getAllPropertiesIterator());		
+		collectComponents( components, comp.getPropertyIterator() );		
 	}
 	
 }
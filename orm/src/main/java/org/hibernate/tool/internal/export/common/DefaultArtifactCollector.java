@@ -5,42 +5,87 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hibernate.tool.api.export.ArtifactCollector;
 import org.hibernate.tool.internal.xml.XMLPrettyPrinter;
 
 /**
  * Callback class that all exporters are given to allow better feedback and
- * processing of the output afterwards.
+ * processing of the output afterwards. Files may be added concurrently when
+ * an exporter renders on multiple threads. Only the XML files added through
+ * {@link #addFile(File, String)} are formatted afterwards, the ones coming 
+ * through the template pipeline are formatted before they get written.
  * 
  * @author Max Rydahl Andersen
  *
  */
 public class DefaultArtifactCollector implements ArtifactCollector {
 
+	private static final String[] XML_FILE_TYPES = new String[] { "xml", "hbm.xml", "cfg.xml" };
+
 	final protected Map<String, List<File>> files = new HashMap<String, List<File>>();
+	
+	// files written directly by the exporters, still to be formatted
+	private final Set<File> unformattedFiles = new LinkedHashSet<File>();
+	private int changedFileCount = 0;
+	private int unchangedFileCount = 0;
+
+	/**
+	 * @return true if files of the given type are XML files that get formatted
+	 */
+	public static boolean isXmlFileType(String type) {
+		for (int i = 0; i < XML_FILE_TYPES.length; i++) {
+			if (XML_FILE_TYPES[i].equals(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
 
 	/* (non-Javadoc)
 	 * @see org.hibernate.tool.internal.export.ArtifactCollector#addFile(java.io.File, java.lang.String)
 	 */
 	@Override
-	public void addFile(File file, String type) {
+	public synchronized void addFile(File file, String type) {
+		changedFileCount++;
 		List<File> existing = files.get(type);
 		if (existing == null) {
 			existing = new ArrayList<File>();
 			files.put(type, existing);
 		}
 		existing.add(file);
+		if (isXmlFileType(type)) {
+			unformattedFiles.add(file);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.hibernate.tool.internal.export.ArtifactCollector#addFile(java.io.File, java.lang.String, boolean)
+	 */
+	@Override
+	public synchronized void addFile(File file, String type, boolean changed) {
+		// goes through addFile(File, String) so that subclasses overriding it see every file
+		addFile(file, type);
+		unformattedFiles.remove(file);
+		if (!changed) {
+			changedFileCount--;
+			unchangedFileCount++;
+		}
 	}
 
 	/* (non-Javadoc)
 	 * @see org.hibernate.tool.internal.export.ArtifactCollector#getFileCount(java.lang.String)
 	 */
 	@Override
-	public int getFileCount(String type) {
+	public synchronized int getFileCount(String type) {
 		List<File> existing = files.get(type);
 
 		return (existing == null) ? 0 : existing.size();
@@ -50,7 +95,7 @@ public class DefaultArtifactCollector implements ArtifactCollector {
 	 * @see org.hibernate.tool.internal.export.ArtifactCollector#getFiles(java.lang.String)
 	 */
 	@Override
-	public File[] getFiles(String type) {
+	public synchronized File[] getFiles(String type) {
 		List<File> existing = files.get(type);
 
 		if (existing == null) {
@@ -64,34 +109,82 @@ public class DefaultArtifactCollector implements ArtifactCollector {
 	 * @see org.hibernate.tool.internal.export.ArtifactCollector#getFileTypes()
 	 */
 	@Override
-	public Set<String> getFileTypes() {
+	public synchronized Set<String> getFileTypes() {
 		return files.keySet();
 	}
 
 	/* (non-Javadoc)
-	 * @see org.hibernate.tool.internal.export.ArtifactCollector#formatFiles()
+	 * @see org.hibernate.tool.internal.export.ArtifactCollector#getChangedFileCount()
 	 */
 	@Override
-	public void formatFiles() {
-
-		formatXml("xml");
-		formatXml("hbm.xml");
-		formatXml("cfg.xml");
+	public synchronized int getChangedFileCount() {
+		return changedFileCount;
+	}
 
+	/* (non-Javadoc)
+	 * @see org.hibernate.tool.internal.export.ArtifactCollector#getUnchangedFileCount()
+	 */
+	@Override
+	public synchronized int getUnchangedFileCount() {
+		return unchangedFileCount;
 	}
 
-	private void formatXml(String type) {
-		List<File> list = files.get(type);
-		if (list != null && !list.isEmpty()) {
-			for (Iterator<File> iter = list.iterator(); iter.hasNext();) {
-				File xmlFile = iter.next();
+	/* (non-Javadoc)
+	 * @see org.hibernate.tool.internal.export.ArtifactCollector#formatFiles()
+	 */
+	@Override
+	public void formatFiles() {
+		List<File> toFormat;
+		synchronized (this) {
+			toFormat = new ArrayList<File>(unformattedFiles);
+			unformattedFiles.clear();
+		}
+		if (toFormat.size() < 2) {
+			for (Iterator<File> iter = toFormat.iterator(); iter.hasNext();) {
+				formatXml(iter.next());
+			}
+			return;
+		}
+		// the files are independent of each other
+		int threadCount = Math.min(toFormat.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<?>> formats = new ArrayList<Future<?>>();
+			for (Iterator<File> iter = toFormat.iterator(); iter.hasNext();) {
+				final File xmlFile = iter.next();
+				formats.add(pool.submit(new Runnable() {
+					public void run() {
+						formatXml(xmlFile);
+					}
+				}));
+			}
+			for (Iterator<Future<?>> iter = formats.iterator(); iter.hasNext();) {
 				try {
-					XMLPrettyPrinter.prettyPrintFile(xmlFile);
-				} catch (IOException e) {
-					throw new RuntimeException("Could not format XML file: " + xmlFile, e);
+					iter.next().get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException("Interrupted while formatting XML files", e);
+				}
+				catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException)e.getCause();
+					}
+					throw new RuntimeException("Error while formatting XML files", e.getCause());
 				}
 			}
 		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void formatXml(File xmlFile) {
+		try {
+			XMLPrettyPrinter.prettyPrintFile(xmlFile);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not format XML file: " + xmlFile, e);
+		}
 	}
 
 }
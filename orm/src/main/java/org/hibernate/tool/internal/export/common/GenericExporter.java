@@ -1,19 +1,29 @@
 package org.hibernate.tool.internal.export.common;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.hibernate.internal.util.StringHelper;
-import org.hibernate.mapping.Component;
 import org.hibernate.tool.api.export.ExporterConstants;
-import org.hibernate.tool.internal.export.java.ComponentPOJOClass;
+import org.hibernate.tool.api.version.Version;
 import org.hibernate.tool.internal.export.java.POJOClass;
+import org.hibernate.tool.internal.export.java.POJOModel;
 
+import freemarker.template.TemplateHashModelEx;
 
 public class GenericExporter extends AbstractExporter {
 	
@@ -25,10 +35,7 @@ public class GenericExporter extends AbstractExporter {
 	static {
 		modelIterators.put( "configuration", new ModelIterator() {
 			void process(GenericExporter ge) {
-				TemplateProducer producer = 
-						new TemplateProducer(
-								ge.getTemplateHelper(),
-								ge.getArtifactCollector());
+				TemplateProducer producer = ge.createTemplateProducer();
 				producer.produce(
 						new HashMap<String, Object>(), 
 						ge.getTemplateName(), 
@@ -39,40 +46,31 @@ public class GenericExporter extends AbstractExporter {
 		});
 		modelIterators.put("entity", new ModelIterator() {		
 			void process(GenericExporter ge) {
-				Iterator<?> iterator = 
-						ge.getCfg2JavaTool().getPOJOIterator(
-								ge.getMetadata().getEntityBindings().iterator());
-				Map<String, Object> additionalContext = new HashMap<String, Object>();
+				Iterator<POJOClass> iterator = ge.getPOJOModel().getEntities().iterator();
 				while ( iterator.hasNext() ) {					
-					POJOClass element = (POJOClass) iterator.next();
-					ge.exportPersistentClass( additionalContext, element );					
+					POJOClass element = iterator.next();
+					ge.exportPersistentClass( new HashMap<String, Object>(), element );					
 				}
 			}
 		});
 		modelIterators.put("component", new ModelIterator() {
 			
 			void process(GenericExporter ge) {
-				Map<String, Component> components = new HashMap<String, Component>();
-				
-				Iterator<?> iterator = 
-						ge.getCfg2JavaTool().getPOJOIterator(
-								ge.getMetadata().getEntityBindings().iterator());
-				Map<String, Object> additionalContext = new HashMap<String, Object>();
-				while ( iterator.hasNext() ) {					
-					POJOClass element = (POJOClass) iterator.next();
-					ConfigurationNavigator.collectComponents(components, element);											
-				}
-						
-				iterator = components.values().iterator();
+				// collected along with the entities
+				Iterator<POJOClass> iterator = ge.getPOJOModel().getComponents().iterator();
 				while ( iterator.hasNext() ) {					
-					Component component = (Component) iterator.next();
-					ComponentPOJOClass element = new ComponentPOJOClass(component,ge.getCfg2JavaTool());
-					ge.exportComponent( additionalContext, element );					
+					POJOClass element = iterator.next();
+					ge.exportComponent( new HashMap<String, Object>(), element );					
 				}
 			}
 		});
 	}
 	
+	private ArtifactManifest manifest;
+	private ExecutorService renderPool;
+	private TemplateHashModelEx sharedContext;
+	private List<Future<?>> pendingRenders;
+	
 	protected String getTemplateName() {
 		return (String)getProperties().get(ExporterConstants.TEMPLATE_NAME);
 	}
@@ -87,33 +85,185 @@ public class GenericExporter extends AbstractExporter {
 		}
 		
 		List<ModelIterator> exporters = new ArrayList<ModelIterator>();
+		List<String> forEach = new ArrayList<String>();
 	
 		if(StringHelper.isEmpty( getForEach() )) {
 			if(getFilePattern().indexOf("{class-name}")>=0) {				
-				exporters.add( modelIterators.get( "entity" ) );
-				exporters.add( modelIterators.get( "component") );
+				forEach.add( "entity" );
+				forEach.add( "component" );
 			} else {
-				exporters.add( modelIterators.get( "configuration" ));			
+				forEach.add( "configuration" );			
 			}
 		} else {
 			StringTokenizer tokens = new StringTokenizer(getForEach(), ",");
 		 
 			while ( tokens.hasMoreTokens() ) {
-				String nextToken = tokens.nextToken();
-				ModelIterator modelIterator = modelIterators.get(nextToken);
-				if(modelIterator==null) {
-					throw new RuntimeException("for-each does not support [" + nextToken + "]");
-				}
-				exporters.add(modelIterator);
+				forEach.add(tokens.nextToken());
+			}
+		}
+		for (String name : forEach) {
+			ModelIterator modelIterator = modelIterators.get(name);
+			if(modelIterator==null) {
+				throw new RuntimeException("for-each does not support [" + name + "]");
 			}
+			exporters.add(modelIterator);
 		}
 
-		Iterator<ModelIterator> it = exporters.iterator();
-		while(it.hasNext()) {
-			ModelIterator mit = it.next();
-			mit.process( this );
+		if (isIncremental() && getOutputSink() != null) {
+			log.warn("Incremental generation is not supported with an output sink, rendering every file");
+		}
+		else if (isIncremental()) {
+			String owner = getTemplateName() + "|" + getFilePattern() + "|" + StringHelper.join(",", forEach.iterator());
+			manifest = new ArtifactManifest(getOutputDirectory(), owner, getTemplateSetDigest());
+		}
+		startRenders();
+		try {
+			Iterator<ModelIterator> it = exporters.iterator();
+			while(it.hasNext()) {
+				ModelIterator mit = it.next();
+				mit.process( this );
+			}
+			awaitRenders();
+			if (manifest != null) {
+				manifest.removeStaleFiles();
+				manifest.store();
+			}
+		} 
+		finally {
+			stopRenders();
+			manifest = null;
+		}
+	}
+	
+	/**
+	 * @return true if only the files whose model changed since the previous
+	 * run into the same output directory should be rendered
+	 */
+	protected boolean isIncremental() {
+		Object incremental = getProperties().get(INCREMENTAL);
+		return incremental != null && Boolean.parseBoolean(incremental.toString().trim());
+	}
+	
+	/**
+	 * @return a digest of everything besides the model that the rendered 
+	 * files depend on: the exporter and its settings, the bundled templates 
+	 * (through the version) and the content of the template path
+	 */
+	protected String getTemplateSetDigest() {
+		ModelDigest digest = new ModelDigest()
+				.add(getClass().getName())
+				.add(getTemplateName())
+				.add(getFilePattern())
+				.add(Version.CURRENT_VERSION);
+		Map<String, String> settings = new TreeMap<String, String>();
+		Iterator<Entry<Object, Object>> properties = getProperties().entrySet().iterator();
+		while (properties.hasNext()) {
+			Entry<Object, Object> property = properties.next();
+			Object value = property.getValue();
+			if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+				settings.put(property.getKey().toString(), value.toString());
+			}
+		}
+		digest.add(settings);
+		String[] templatePath = (String[])getProperties().get(TEMPLATE_PATH);
+		for (int i = 0; templatePath != null && i < templatePath.length; i++) {
+			addTemplates(digest, new File(templatePath[i]), "");
+		}
+		return digest.getDigest();
+	}
+	
+	private void addTemplates(ModelDigest digest, File file, String path) {
+		if (file.isDirectory()) {
+			String[] children = file.list();
+			Arrays.sort(children);
+			for (int i = 0; i < children.length; i++) {
+				addTemplates(digest, new File(file, children[i]), path + "/" + children[i]);
+			}
+		}
+		else if (file.isFile()) {
+			try {
+				digest.add(path).add(Files.readAllBytes(file.toPath()));
+			}
+			catch (IOException e) {
+				throw new RuntimeException("Could not read template " + file, e);
+			}
+		}
+	}
+	
+	/**
+	 * Starts the render pool when the exporter is configured with more 
+	 * than one thread, see {@link #render(Runnable)}.
+	 */
+	protected void startRenders() {
+		int threadCount = getThreadCount();
+		if (threadCount > 1) {
+			log.debug("Rendering " + getTemplateName() + " on " + threadCount + " threads");
+			sharedContext = getTemplateHelper().getImmutableContext();
+			renderPool = Executors.newFixedThreadPool(threadCount);
+			pendingRenders = new ArrayList<Future<?>>();
+		}
+	}
+	
+	/**
+	 * Runs the render right away, or queues it on the render pool 
+	 * when the exporter is configured with more than one thread.
+	 */
+	protected void render(Runnable render) {
+		if (renderPool == null) {
+			render.run();
+		} else {
+			pendingRenders.add(renderPool.submit(render));
+		}
+	}
+	
+	/**
+	 * Waits for the queued renders, rethrowing the first exception one of them threw.
+	 */
+	protected void awaitRenders() {
+		if (pendingRenders == null) {
+			return;
+		}
+		Iterator<Future<?>> iterator = pendingRenders.iterator();
+		while (iterator.hasNext()) {
+			try {
+				iterator.next().get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while rendering " + getTemplateName(), e);
+			}
+			catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException)e.getCause();
+				}
+				throw new RuntimeException("Error while rendering " + getTemplateName(), e.getCause());
+			}
 		}
 	}
+	
+	protected void stopRenders() {
+		if (renderPool != null) {
+			renderPool.shutdownNow();
+		}
+		renderPool = null;
+		sharedContext = null;
+		pendingRenders = null;
+	}
+	
+	/**
+	 * @return the entity and component views of the metadata, shared by 
+	 * the model iterators and the runs of this exporter
+	 */
+	protected POJOModel getPOJOModel() {
+		return getCfg2JavaTool().getPOJOModel(getMetadata());
+	}
+	
+	protected TemplateProducer createTemplateProducer() {
+		TemplateProducer result = new TemplateProducer(getTemplateHelper(), getArtifactCollector(), sharedContext, getOutputEncoding());
+		result.setJavaFormatter(getJavaFormatter());
+		result.setOutputSink(getOutputSink(), getOutputDirectory());
+		return result;
+	}
 
 	protected void exportComponent(Map<String, Object> additionalContext, POJOClass element) {
 		exportPOJO(additionalContext, element);		
@@ -124,23 +274,45 @@ public class GenericExporter extends AbstractExporter {
 	}
 
 	protected void exportPOJO(Map<String, Object> additionalContext, POJOClass element) {
-		TemplateProducer producer = new TemplateProducer(getTemplateHelper(),getArtifactCollector());					
-		additionalContext.put("pojo", element);
-		additionalContext.put("clazz", element.getDecoratedObject());
-		String filename = resolveFilename( element );
+		// the view may have been rendered before, by another iterator or run
+		getPOJOModel().reset(element);
+		final TemplateProducer producer = createTemplateProducer();
+		final Map<String, Object> context = new HashMap<String, Object>(additionalContext);
+		context.put("pojo", element);
+		context.put("clazz", element.getDecoratedObject());
+		final String filename = resolveFilename( element );
+		final String identifier = element.toString();
+		if (manifest != null) {
+			String modelDigest = ModelDigest.digest(element, getMetadata());
+			if (manifest.isUpToDate(filename, modelDigest)) {
+				log.debug("Skipping " + identifier + ", its model did not change");
+				File file = new File(getOutputDirectory(), filename);
+				getArtifactCollector().addFile(file, file.getName().substring(file.getName().indexOf('.') + 1), false);
+				return;
+			}
+			manifest.record(filename, modelDigest);
+		}
 		if(filename.endsWith(".java") && filename.indexOf('$')>=0) {
 			log.warn("Filename for " + getClassNameForFile( element ) + " contains a $. Innerclass generation is not supported.");
 		}
-		producer.produce(
-				additionalContext, 
-				getTemplateName(), 
-				new File(getOutputDirectory(),filename), 
-				getTemplateName(), 
-				element.toString());
+		render(new Runnable() {
+			public void run() {
+				producer.produce(
+						context, 
+						getTemplateName(), 
+						new File(getOutputDirectory(),filename), 
+						getTemplateName(), 
+						identifier);
+			}
+		});
 	}
 
 	protected String resolveFilename(POJOClass element) {
-		String filename = StringHelper.replace(getFilePattern(), "{class-name}", getClassNameForFile( element )); 
+		return resolveFilename(element, getFilePattern());
+	}
+
+	protected String resolveFilename(POJOClass element, String filePattern) {
+		String filename = StringHelper.replace(filePattern, "{class-name}", getClassNameForFile( element )); 
 		String packageLocation = StringHelper.replace(getPackageNameForFile( element ),".", "/");
 		if(StringHelper.isEmpty(packageLocation)) {
 			packageLocation = "."; // done to ensure default package classes doesn't end up in the root of the filesystem when outputdir=""
@@ -0,0 +1,41 @@
+package org.hibernate.tool.internal.export.common;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.tool.api.export.OutputSink;
+
+/**
+ * Keeps the generated files in memory, e.g. to show a preview of them
+ * or to test templates without touching the disk.
+ */
+public class InMemoryOutputSink implements OutputSink {
+
+	private final Map<String, byte[]> files = new ConcurrentHashMap<String, byte[]>();
+
+	public byte[] read(String path) {
+		byte[] content = files.get(path);
+		return content == null ? null : content.clone();
+	}
+
+	public void write(String path, ByteBuffer content) {
+		byte[] bytes = new byte[content.remaining()];
+		content.duplicate().get(bytes);
+		files.put(path, bytes);
+	}
+
+	/**
+	 * @return the paths of the files, sorted
+	 */
+	public Set<String> getPaths() {
+		return new TreeSet<String>(files.keySet());
+	}
+
+	public void close() {
+		// the files stay available after generation
+	}
+
+}
@@ -0,0 +1,461 @@
+package org.hibernate.tool.internal.export.common;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.Component;
+import org.hibernate.mapping.MetaAttribute;
+import org.hibernate.mapping.OneToMany;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.mapping.Table;
+import org.hibernate.mapping.ToOne;
+import org.hibernate.mapping.Value;
+import org.hibernate.tool.internal.export.java.POJOClass;
+
+/**
+ * Content hash of the mapping model an artifact is rendered from, used to
+ * find out whether an artifact has to be rendered again.
+ * <p>
+ * The model is digested generically: every bean property of the
+ * org.hibernate.mapping objects reachable from an entity (its table, 
+ * properties, values, columns, keys, joins, meta attributes and so on) is 
+ * added, so state set by the binders is covered without listing it here. 
+ * Other entities and the tables referenced by foreign keys are only added 
+ * by name while walking the model.
+ * <p>
+ * Besides the entity itself the digest covers its subclasses (which end 
+ * up in the same hbm.xml file) and, without following their own 
+ * associations, its superclasses and the entities it is associated with, 
+ * as templates look into these e.g. to resolve mappedBy. The entities 
+ * reached by the named entity graphs of its "entity-graph" meta attribute 
+ * are covered up to the depth of the graphs.
+ */
+public class ModelDigest {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private static final String MAPPING_PACKAGE = "org.hibernate.mapping.";
+
+	// not part of the model: counters of the metadata build, or resolved 
+	// lazily against the service registry
+	private static final Set<String> IGNORED_GETTERS = new HashSet<String>(Arrays.asList(
+			"getUniqueInteger", "getSubclassId", "getResolution"));
+
+	private static final ConcurrentMap<Class<?>, List<Method>> GETTERS = 
+			new ConcurrentHashMap<Class<?>, List<Method>>();
+
+	private final MessageDigest messageDigest;
+	private final Set<Object> described = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+	public ModelDigest() {
+		try {
+			messageDigest = MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-1 digest not available", e);
+		}
+	}
+
+	/**
+	 * @return the digest of the entity or component the POJO is generated from
+	 */
+	public static String digest(POJOClass element, Metadata metadata) {
+		ModelDigest result = new ModelDigest();
+		Object decorated = element.getDecoratedObject();
+		if (decorated instanceof PersistentClass) {
+			result.addEntity((PersistentClass)decorated, metadata);
+		}
+		else if (decorated instanceof Component) {
+			result.addGraph(decorated);
+		}
+		else {
+			result.add(String.valueOf(decorated));
+		}
+		return result.getDigest();
+	}
+
+	public ModelDigest add(String value) {
+		if (value == null) {
+			messageDigest.update((byte)0);
+		}
+		else {
+			messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+		}
+		messageDigest.update((byte)'\n');
+		return this;
+	}
+
+	public ModelDigest add(Object value) {
+		return add(value == null ? null : value.toString());
+	}
+
+	public ModelDigest add(boolean value) {
+		return add(value ? "true" : "false");
+	}
+
+	public ModelDigest add(byte[] value) {
+		messageDigest.update(value);
+		messageDigest.update((byte)'\n');
+		return this;
+	}
+
+	/**
+	 * @return the digest of everything added so far, as a hex string
+	 */
+	public String getDigest() {
+		byte[] bytes = messageDigest.digest();
+		char[] result = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			result[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+			result[i * 2 + 1] = HEX[bytes[i] & 0xf];
+		}
+		return new String(result);
+	}
+
+	private void addEntity(PersistentClass clazz, Metadata metadata) {
+		addClass(clazz);
+		for (PersistentClass superclass = clazz.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+			add("superclass");
+			addClass(superclass);
+		}
+		Iterator<?> properties = clazz.getPropertyClosureIterator();
+		while (properties.hasNext()) {
+			addAssociatedEntities(((Property)properties.next()).getValue(), metadata);
+		}
+		// the named entity graphs follow the to-one associations further than that
+		addEntityGraphTargets(clazz, getEntityGraphDepth(clazz) - 1, metadata);
+	}
+
+	// the deepest of the "entity-graph" meta attribute values, e.g. "withCustomer:2"
+	private static int getEntityGraphDepth(PersistentClass clazz) {
+		MetaAttribute metaAttribute = clazz.getMetaAttribute("entity-graph");
+		int result = 0;
+		if (metaAttribute == null) {
+			return result;
+		}
+		Iterator<?> values = metaAttribute.getValues().iterator();
+		while (values.hasNext()) {
+			String value = values.next().toString();
+			int loc = value.indexOf(':');
+			try {
+				result = Math.max(result, loc < 0 ? 1 : Integer.parseInt(value.substring(loc + 1).trim()));
+			}
+			catch (NumberFormatException e) {
+				// the generation reports it
+			}
+		}
+		return result;
+	}
+
+	private void addEntityGraphTargets(PersistentClass clazz, int depth, Metadata metadata) {
+		if (depth < 1) {
+			return;
+		}
+		Iterator<?> properties = clazz.getPropertyClosureIterator();
+		while (properties.hasNext()) {
+			Value value = ((Property)properties.next()).getValue();
+			PersistentClass target = value instanceof ToOne ? 
+					metadata.getEntityBinding(((ToOne)value).getReferencedEntityName()) : null;
+			if (target != null) {
+				add("graph target");
+				addClass(target);
+				addEntityGraphTargets(target, depth - 1, metadata);
+			}
+		}
+	}
+
+	private void addAssociatedEntities(Value value, Metadata metadata) {
+		if (value instanceof ToOne) {
+			addAssociatedEntity(((ToOne)value).getReferencedEntityName(), metadata);
+		}
+		else if (value instanceof OneToMany) {
+			addAssociatedEntity(((OneToMany)value).getReferencedEntityName(), metadata);
+		}
+		else if (value instanceof Collection) {
+			addAssociatedEntities(((Collection)value).getElement(), metadata);
+		}
+		else if (value instanceof Component) {
+			Iterator<Property> properties = ((Component)value).getPropertyIterator();
+			while (properties.hasNext()) {
+				addAssociatedEntities(properties.next().getValue(), metadata);
+			}
+		}
+	}
+
+	private void addAssociatedEntity(String entityName, Metadata metadata) {
+		PersistentClass associated = entityName == null ? null : metadata.getEntityBinding(entityName);
+		add("associated");
+		add(entityName);
+		if (associated != null) {
+			addClass(associated);
+		}
+	}
+
+	private void addClass(PersistentClass clazz) {
+		if (!described.add(clazz)) {
+			add("described " + clazz.getEntityName());
+			return;
+		}
+		add("class");
+		addGraph(clazz);
+		Iterator<?> subclasses = clazz.getDirectSubclasses();
+		while (subclasses.hasNext()) {
+			add("subclass");
+			addClass((PersistentClass)subclasses.next());
+		}
+		add("end class");
+	}
+
+	// every bean property of the mapping objects reachable from the given
+	// one, other entities and the tables referenced by foreign keys only by name
+	private void addGraph(Object root) {
+		Map<Object, Integer> visited = new IdentityHashMap<Object, Integer>();
+		addObject(root, visited);
+	}
+
+	private void addObject(Object value, Map<Object, Integer> visited) {
+		if (value == null) {
+			add("null");
+		}
+		else if (isPlain(value.getClass())) {
+			add(value);
+		}
+		else if (value instanceof PersistentClass && visited.size() > 0) {
+			add("entity " + ((PersistentClass)value).getEntityName());
+		}
+		else if (isMappingType(value.getClass())) {
+			Integer ordinal = visited.get(value);
+			if (ordinal != null) {
+				add("ref " + ordinal);
+				return;
+			}
+			visited.put(value, visited.size());
+			add(value.getClass().getName());
+			Iterator<Method> getters = getGetters(value.getClass()).iterator();
+			while (getters.hasNext()) {
+				Method getter = getters.next();
+				add(getter.getName());
+				if (getter.getName().equals("getReferencedTable")) {
+					Table table = (Table)invoke(getter, value);
+					add(table == null ? null : "table " + table.getExportIdentifier());
+				}
+				else {
+					addObject(invoke(getter, value), visited);
+				}
+			}
+			add("end");
+		}
+		else if (value instanceof Iterator) {
+			addElements((Iterator<?>)value, visited);
+		}
+		else if (value instanceof Map) {
+			addEntries((Map<?, ?>)value, visited);
+		}
+		else if (value instanceof java.util.Collection) {
+			if (isOrdered(value)) {
+				addElements(((java.util.Collection<?>)value).iterator(), visited);
+			}
+			else {
+				add(sortedDescriptions(((java.util.Collection<?>)value).iterator()));
+			}
+		}
+		else if (value.getClass().isArray()) {
+			for (int i = 0; i < Array.getLength(value); i++) {
+				addObject(Array.get(value, i), visited);
+			}
+			add("end array");
+		}
+		else {
+			// no stable representation, e.g. the init commands of a table
+			add(value.getClass().getName());
+		}
+	}
+
+	private void addElements(Iterator<?> iterator, Map<Object, Integer> visited) {
+		add("elements");
+		while (iterator.hasNext()) {
+			addObject(iterator.next(), visited);
+		}
+		add("end elements");
+	}
+
+	private void addEntries(Map<?, ?> map, Map<Object, Integer> visited) {
+		add("entries");
+		if (isOrdered(map)) {
+			Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+			while (entries.hasNext()) {
+				Map.Entry<?, ?> entry = entries.next();
+				addObject(entry.getKey(), visited);
+				addObject(entry.getValue(), visited);
+			}
+		}
+		else if (hasPlainKeys(map)) {
+			Map<String, Object> sorted = new TreeMap<String, Object>();
+			Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+			while (entries.hasNext()) {
+				Map.Entry<?, ?> entry = entries.next();
+				sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+			}
+			Iterator<Map.Entry<String, Object>> iterator = sorted.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, Object> entry = iterator.next();
+				add(entry.getKey());
+				addObject(entry.getValue(), visited);
+			}
+		}
+		else {
+			List<String> descriptions = new ArrayList<String>();
+			Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+			while (entries.hasNext()) {
+				Map.Entry<?, ?> entry = entries.next();
+				descriptions.add(describe(entry.getKey()) + "=" + describe(entry.getValue()));
+			}
+			Collections.sort(descriptions);
+			add(descriptions);
+		}
+		add("end entries");
+	}
+
+	// the elements of hash based collections are described without their
+	// references, so that the digest does not depend on their iteration order
+	private List<String> sortedDescriptions(Iterator<?> iterator) {
+		List<String> result = new ArrayList<String>();
+		while (iterator.hasNext()) {
+			result.add(describe(iterator.next()));
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private String describe(Object value) {
+		if (value == null || isPlain(value.getClass())) {
+			return String.valueOf(value);
+		}
+		if (value instanceof PersistentClass) {
+			return "entity " + ((PersistentClass)value).getEntityName();
+		}
+		if (!isMappingType(value.getClass())) {
+			return value.getClass().getName();
+		}
+		StringBuilder result = new StringBuilder(value.getClass().getName());
+		Iterator<Method> getters = getGetters(value.getClass()).iterator();
+		while (getters.hasNext()) {
+			Method getter = getters.next();
+			if (isPlain(getter.getReturnType())) {
+				result.append(' ').append(getter.getName()).append('=').append(invoke(getter, value));
+			}
+		}
+		return result.toString();
+	}
+
+	private static Object invoke(Method getter, Object target) {
+		try {
+			return getter.invoke(target);
+		}
+		catch (InvocationTargetException e) {
+			// e.g. the single value of a multi valued meta attribute
+			return "failed " + e.getCause().getClass().getName();
+		}
+		catch (IllegalAccessException e) {
+			throw new RuntimeException("Could not read " + getter, e);
+		}
+	}
+
+	private static List<Method> getGetters(Class<?> type) {
+		List<Method> result = GETTERS.get(type);
+		if (result == null) {
+			result = new ArrayList<Method>();
+			Method[] methods = type.getMethods();
+			for (int i = 0; i < methods.length; i++) {
+				if (isDigested(methods[i])) {
+					if (!Modifier.isPublic(methods[i].getDeclaringClass().getModifiers())) {
+						methods[i].setAccessible(true);
+					}
+					result.add(methods[i]);
+				}
+			}
+			Collections.sort(result, new Comparator<Method>() {
+				public int compare(Method first, Method second) {
+					return first.getName().compareTo(second.getName());
+				}
+			});
+			GETTERS.putIfAbsent(type, result);
+		}
+		return result;
+	}
+
+	private static boolean isDigested(Method method) {
+		String name = method.getName();
+		if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers()) || 
+				!(isAccessor(name, "get") || isAccessor(name, "is") || isAccessor(name, "has")) ||
+				IGNORED_GETTERS.contains(name)) {
+			return false;
+		}
+		Class<?> type = method.getReturnType();
+		return isPlain(type) || isMappingType(type) ||
+				Iterator.class.isAssignableFrom(type) || 
+				Map.class.isAssignableFrom(type) || 
+				java.util.Collection.class.isAssignableFrom(type) ||
+				(type.isArray() && type.getComponentType().isPrimitive());
+	}
+
+	// e.g. hasFormula, but not hashCode
+	private static boolean isAccessor(String name, String prefix) {
+		return name.length() > prefix.length() && name.startsWith(prefix) && 
+				Character.isUpperCase(name.charAt(prefix.length()));
+	}
+
+	private static boolean isPlain(Class<?> type) {
+		return type.isPrimitive() || type == String.class || type == Boolean.class || 
+				type == Character.class || Number.class.isAssignableFrom(type) || type.isEnum() || 
+				(type.getSuperclass() != null && type.getSuperclass().isEnum());
+	}
+
+	private static boolean isMappingType(Class<?> type) {
+		return type.getName().startsWith(MAPPING_PACKAGE) && 
+				type.getName().indexOf('.', MAPPING_PACKAGE.length()) < 0;
+	}
+
+	private static boolean isOrdered(Object collection) {
+		return collection instanceof List || collection instanceof LinkedHashMap || 
+				collection instanceof LinkedHashSet || collection instanceof SortedMap || 
+				collection instanceof SortedSet;
+	}
+
+	private static boolean hasPlainKeys(Map<?, ?> map) {
+		Iterator<?> keys = map.keySet().iterator();
+		while (keys.hasNext()) {
+			Object key = keys.next();
+			if (key != null && !isPlain(key.getClass())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,79 @@
+package org.hibernate.tool.internal.export.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.tool.api.export.OutputSink;
+
+/**
+ * Writes the files under a directory of a {@link FileSystem}: the default one,
+ * a zip file system or any other provider. The directories known to exist
+ * are remembered, so writing many files to the same packages doesn't check
+ * and create their directories over and over.
+ */
+public class PathOutputSink implements OutputSink {
+
+	private final Path root;
+	// closed with the sink when the sink opened it
+	private final FileSystem fileSystem;
+	private final Map<Path, Boolean> directories = new ConcurrentHashMap<Path, Boolean>();
+
+	public PathOutputSink(Path root, FileSystem fileSystem) {
+		this.root = root;
+		this.fileSystem = fileSystem;
+	}
+
+	public Path getRoot() {
+		return root;
+	}
+
+	public byte[] read(String path) throws IOException {
+		Path file = resolve(path);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		return Files.readAllBytes(file);
+	}
+
+	public void write(String path, ByteBuffer content) throws IOException {
+		Path file = resolve(path);
+		Path directory = file.getParent();
+		if (directory != null && !directories.containsKey(directory)) {
+			Files.createDirectories(directory);
+			directories.put(directory, Boolean.TRUE);
+		}
+		SeekableByteChannel channel = Files.newByteChannel(
+				file, 
+				StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, 
+				StandardOpenOption.WRITE);
+		try {
+			ByteBuffer toWrite = content.duplicate();
+			while (toWrite.hasRemaining()) {
+				channel.write(toWrite);
+			}
+		}
+		finally {
+			channel.close();
+		}
+	}
+
+	public void close() throws IOException {
+		directories.clear();
+		if (fileSystem != null) {
+			fileSystem.close();
+		}
+	}
+
+	private Path resolve(String path) {
+		return root.resolve(path);
+	}
+
+}
@@ -13,8 +13,15 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.tool.api.version.Version;
 import org.jboss.logging.Logger;
@@ -23,15 +30,21 @@ import freemarker.cache.ClassTemplateLoader;
 import freemarker.cache.FileTemplateLoader;
 import freemarker.cache.MultiTemplateLoader;
 import freemarker.cache.TemplateLoader;
+import freemarker.core.Environment;
 import freemarker.ext.beans.BeansWrapperBuilder;
 import freemarker.template.Configuration;
+import freemarker.template.ObjectWrapper;
+import freemarker.template.SimpleCollection;
 import freemarker.template.SimpleDate;
 import freemarker.template.SimpleHash;
 import freemarker.template.Template;
+import freemarker.template.TemplateCollectionModel;
 import freemarker.template.TemplateDateModel;
 import freemarker.template.TemplateException;
+import freemarker.template.TemplateHashModelEx;
 import freemarker.template.TemplateModel;
 import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateModelIterator;
 
 
 /**
@@ -46,10 +59,26 @@ public class TemplateHelper {
     
 	static final Logger log = Logger.getLogger(TemplateHelper.class);
 	
+	private static final int MAX_CACHED_CONFIGURATIONS = 16;
+	
+	private static final freemarker.template.Version FREEMARKER_VERSION = Configuration.VERSION_2_3_0;
+	private static final ObjectWrapper OBJECT_WRAPPER = new BeansWrapperBuilder(FREEMARKER_VERSION).build();
+	private static final Map<String, String> SETTINGS = createSettings();
+	
+	private static final Map<List<Object>, Configuration> CONFIGURATIONS = 
+			new LinkedHashMap<List<Object>, Configuration>(MAX_CACHED_CONFIGURATIONS, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+				protected boolean removeEldestEntry(Map.Entry<List<Object>, Configuration> eldest) {
+					return size() > MAX_CACHED_CONFIGURATIONS;
+				}
+			};
+	
     private String templatePrefix;
 	private File outputDirectory;
+	// the directories the generated files were put in during this run
+	private final Map<File, Boolean> directories = new ConcurrentHashMap<File, Boolean>();
 
-	protected Configuration freeMarkerEngine;
+	private Configuration freeMarkerEngine;
 
 	protected SimpleHash context;
 
@@ -60,30 +89,104 @@ public class TemplateHelper {
     public void init(File outputDirectory, String[] templatePaths) {
         this.outputDirectory = outputDirectory;
         
-        context = new SimpleHash(new BeansWrapperBuilder(Configuration.VERSION_2_3_0).build());
-    	freeMarkerEngine = new Configuration(Configuration.VERSION_2_3_0);
-        
-        List<TemplateLoader> loaders = new ArrayList<TemplateLoader>();
+        context = new SimpleHash(OBJECT_WRAPPER);
+    	freeMarkerEngine = getConfiguration(templatePaths);
         
+    }
+    
+    private static Map<String, String> createSettings() {
+    	Map<String, String> result = new LinkedHashMap<String, String>();
+    	result.put(Configuration.CACHE_STORAGE_KEY, "strong:100, soft:1000");
+    	return Collections.unmodifiableMap(result);
+    }
+    
+    /**
+     * Returns the FreeMarker configuration for the given template paths. Configurations 
+     * are shared by all exporters in the JVM, so templates that were loaded and parsed 
+     * by a previous run are reused as long as they did not change on disk. They are 
+     * keyed by everything they are built from: the helper class, the FreeMarker version, 
+     * the object wrapper, the settings and the template directories.
+     */
+    private Configuration getConfiguration(String[] templatePaths) {
+    	List<File> directories = new ArrayList<File>();
         for (int i = 0; i < templatePaths.length; i++) {
         	File file = new File(templatePaths[i]);
         	if(file.exists() && file.isDirectory()) {
-        		try {
-					loaders.add(new FileTemplateLoader(file));
-				}
-				catch (IOException e) {
-					throw new RuntimeException("Problems with templatepath " + file, e);
-				}
+        		directories.add(file.getAbsoluteFile());
         	} else {
         		log.warn("template path" + file + " either does not exist or is not a directory");
         	}
 		}
-        loaders.add(new ClassTemplateLoader(this.getClass(),"/")); // the template names are like pojo/Somewhere so have to be a rooted classpathloader
+        List<Object> key = new ArrayList<Object>();
+        key.add(getClass());
+        key.add(FREEMARKER_VERSION);
+        key.add(OBJECT_WRAPPER);
+        key.add(SETTINGS);
+        key.addAll(directories);
+        synchronized (CONFIGURATIONS) {
+        	Configuration result = CONFIGURATIONS.get(key);
+        	if (result == null) {
+        		result = createConfiguration(directories);
+        		CONFIGURATIONS.put(key, result);
+        	} 
+        	return result;
+        }
+    }
+    
+    private Configuration createConfiguration(List<File> directories) {
+    	Configuration result = new Configuration(FREEMARKER_VERSION);
+    	result.setObjectWrapper(OBJECT_WRAPPER);
+    	for (Entry<String, String> setting : SETTINGS.entrySet()) {
+    		try {
+    			result.setSetting(setting.getKey(), setting.getValue());
+    		}
+    		catch (TemplateException e) {
+    			throw new RuntimeException("Invalid FreeMarker setting " + setting.getKey(), e);
+    		}
+    	}
+    	
+        List<TemplateLoader> loaders = new ArrayList<TemplateLoader>();
         
-        freeMarkerEngine.setTemplateLoader(new MultiTemplateLoader((TemplateLoader[]) loaders.toArray(new TemplateLoader[loaders.size()])));
+        for (Iterator<File> iterator = directories.iterator(); iterator.hasNext();) {
+        	File file = iterator.next();
+        	try {
+				loaders.add(new FileTemplateLoader(file));
+			}
+			catch (IOException e) {
+				throw new RuntimeException("Problems with templatepath " + file, e);
+			}
+		}
+        loaders.add(new ClassTemplateLoader(this.getClass(),"/")); // the template names are like pojo/Somewhere so have to be a rooted classpathloader
         
+        result.setTemplateLoader(new MultiTemplateLoader((TemplateLoader[]) loaders.toArray(new TemplateLoader[loaders.size()])));
+        return result;
+    }
+    
+    /**
+     * Returns the FreeMarker configuration used by this helper. It is shared with 
+     * other exporter runs and must not be modified; settings that only apply to 
+     * this run belong in {@link #configureEnvironment(Environment)}.
+     */
+    protected Configuration getFreeMarkerEngine() {
+    	return freeMarkerEngine;
     }
     
+    /**
+     * Called before every template is processed. Subclasses can override it to 
+     * change settings for the current run without touching the shared configuration.
+     */
+    protected void configureEnvironment(Environment environment) {
+    	
+    }
+    
+    /** 
+     * Discards all shared FreeMarker configurations and the templates they cached. 
+     */
+    public static void clearConfigurationCache() {
+    	synchronized (CONFIGURATIONS) {
+    		CONFIGURATIONS.clear();
+    	}
+    }
     
     public class Templates {
     	    	
@@ -134,13 +237,24 @@ public class TemplateHelper {
     public void ensureExistence(File destination) {
     	// if the directory exists, make sure it is a directory
     	File dir = destination.getAbsoluteFile().getParentFile();
+    	if ( directories.containsKey( dir ) ) {
+    		return;
+    	}
+    	ensureDirectory( dir );
+    	directories.put( dir, Boolean.TRUE );
+    }
+
+    private void ensureDirectory(File dir) {
     	if ( dir.exists() && !dir.isDirectory() ) {
     		throw new RuntimeException("The path: " + dir.getAbsolutePath() + " exists, but is not a directory");
     	} 	// else make the directory and any non-existent parent directories
     	else if ( !dir.exists() ) {
     		if ( !dir.mkdirs() ) {
+    			if(dir.isDirectory()) { // created concurrently by another render
+    				return;
+    			}
     			if(dir.getName().equals(".")) { // Workaround that Linux/JVM apparently can't handle mkdirs of File's with current dir references.
-    				if(dir.getParentFile().mkdirs()) {
+    				if(dir.getParentFile().mkdirs() || dir.getParentFile().isDirectory()) {
     					return;
     				}
     			}
@@ -163,7 +277,7 @@ public class TemplateHelper {
 	    	Reader r = new StringReader(template);
 			Template t = new Template("unknown", r, freeMarkerEngine);
 		    
-			t.process(getContext(), output);           
+			process(t, getContext(), output);           
 	    } 
 	    catch (IOException e) {
 	        throw new RuntimeException("Error while processing template string", e);
@@ -209,15 +323,62 @@ public class TemplateHelper {
     	return model;
     }
     
+    /**
+     * Returns a read-only copy of the current root context. Every value is wrapped 
+     * up front so that lookups never write back into the hash, which makes the copy 
+     * safe to share between renders running on different threads.
+     */
+    public TemplateHashModelEx getImmutableContext() {
+    	Map<String, Object> models = new HashMap<String, Object>();
+    	try {
+    		TemplateModelIterator keys = getContext().keys().iterator();
+    		while (keys.hasNext()) {
+    			String key = keys.next().toString();
+    			models.put(key, getContext().get(key));
+    		}
+    	}
+    	catch (TemplateModelException e) {
+    		throw new RuntimeException("Could not copy template context", e);
+    	}
+    	SimpleHash result = new SimpleHash(models, getContext().getObjectWrapper());
+    	result.put("ctx", result);
+    	return result;
+    }
+    
+    /**
+     * Creates the data model for a single render: the entries of additionalContext
+     * are looked up first, everything else is resolved against the given parent.
+     * Neither the parent nor the additional context is modified. Within the render
+     * "ctx" refers to the layered model itself, so it sees the additional entries too.
+     */
+    public TemplateHashModelEx createLayeredContext(Map<String, Object> additionalContext, TemplateHashModelEx parent) {
+    	SimpleHash layer = new SimpleHash(getContext().getObjectWrapper());
+    	Iterator<Entry<String, Object>> iterator = additionalContext.entrySet().iterator();
+    	while (iterator.hasNext()) {
+    		Entry<String, Object> element = iterator.next();
+        	log.trace("layering " + element.getKey() + "=" + element.getValue());
+    		if(element.getValue() == null) throw new IllegalStateException("value must not be null for " + element.getKey());
+    		layer.put(element.getKey(), element.getValue());
+    	}
+    	LayeredContext result = new LayeredContext(layer, parent);
+    	layer.put("ctx", result);
+    	return result;
+    }
+    
     /** look up the template named templateName via the paths and print the content to the output */
     public void processTemplate(String templateName, Writer output, String rootContext) {
+    	processTemplate(templateName, getContext(), output, rootContext);
+    }
+    
+    /** same as {@link #processTemplate(String, Writer, String)} but renders against the given data model */
+    public void processTemplate(String templateName, TemplateHashModelEx dataModel, Writer output, String rootContext) {
     	if(rootContext == null) {
     		rootContext = "Unknown context";
     	}
     	
     	try {
     		Template template = freeMarkerEngine.getTemplate(templateName);
-    		template.process(getContext(), output);            
+    		process(template, dataModel, output);            
         } 
         catch (IOException e) {
             throw new RuntimeException("Error while processing " + rootContext + " with template " + templateName, e);
@@ -231,6 +392,12 @@ public class TemplateHelper {
     }
         
     
+    private void process(Template template, TemplateHashModelEx dataModel, Writer output) throws TemplateException, IOException {
+    	Environment environment = template.createProcessingEnvironment(dataModel, output);
+    	configureEnvironment(environment);
+    	environment.process();
+    }
+    
     /**
      * Check if the template exists. Tries to search with the templatePrefix first and then secondly without the template prefix.
      *  
@@ -264,4 +431,53 @@ public class TemplateHelper {
 		}
     }
 
+    
+    private static class LayeredContext implements TemplateHashModelEx {
+    	
+    	private final SimpleHash layer;
+    	private final TemplateHashModelEx parent;
+    	
+    	LayeredContext(SimpleHash layer, TemplateHashModelEx parent) {
+    		this.layer = layer;
+    		this.parent = parent;
+    	}
+
+		public TemplateModel get(String key) throws TemplateModelException {
+			TemplateModel result = layer.get(key);
+			return result != null ? result : parent.get(key);
+		}
+
+		public boolean isEmpty() throws TemplateModelException {
+			return layer.isEmpty() && parent.isEmpty();
+		}
+
+		public int size() throws TemplateModelException {
+			return merged().size();
+		}
+
+		public TemplateCollectionModel keys() throws TemplateModelException {
+			return new SimpleCollection(merged().keySet(), layer.getObjectWrapper());
+		}
+
+		public TemplateCollectionModel values() throws TemplateModelException {
+			return new SimpleCollection(merged().values(), layer.getObjectWrapper());
+		}
+		
+		private Map<String, TemplateModel> merged() throws TemplateModelException {
+			Map<String, TemplateModel> result = new LinkedHashMap<String, TemplateModel>();
+			TemplateModelIterator keys = parent.keys().iterator();
+			while (keys.hasNext()) {
+				String key = keys.next().toString();
+				result.put(key, parent.get(key));
+			}
+			keys = layer.keys().iterator();
+			while (keys.hasNext()) {
+				String key = keys.next().toString();
+				result.put(key, layer.get(key));
+			}
+			return result;
+		}
+    	
+    }
+
 }
@@ -1,94 +1,260 @@
 package org.hibernate.tool.internal.export.common;
 
-import java.io.BufferedWriter;
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.StringWriter;
-import java.util.Iterator;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedList;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.hibernate.tool.api.export.ArtifactCollector;
+import org.hibernate.tool.api.export.OutputSink;
+import org.hibernate.tool.api.java.ParallelFormatter;
+import org.hibernate.tool.internal.xml.XMLPrettyPrinter;
 import org.jboss.logging.Logger;
 
+import freemarker.template.TemplateHashModelEx;
+
 
 public class TemplateProducer {
 
 	private static final Logger log = Logger.getLogger(TemplateProducer.class);
+	
+	// buffers above this size are not kept around for the next template
+	private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+	// the generation stamp of the bundled templates, which changes on every run
+	private static final Pattern GENERATED_STAMP = Pattern.compile("^.*Generated .* by Hibernate Tools .*$", Pattern.MULTILINE);
+	private static final int MAX_POOLED_BUFFERS = 2;
+	private static final ThreadLocal<LinkedList<RenderBuffer>> BUFFERS = new ThreadLocal<LinkedList<RenderBuffer>>() {
+		protected LinkedList<RenderBuffer> initialValue() {
+			return new LinkedList<RenderBuffer>();
+		}
+	};
+	
 	private final TemplateHelper th;
 	private ArtifactCollector ac;
+	private final TemplateHashModelEx sharedContext;
+	private final Charset charset;
+	private ParallelFormatter javaFormatter;
+	private OutputSink outputSink;
+	private File outputDirectory;
 	
 	public TemplateProducer(TemplateHelper th, ArtifactCollector ac) {
+		this(th, ac, null);
+	}
+	
+	public TemplateProducer(TemplateHelper th, ArtifactCollector ac, TemplateHashModelEx sharedContext) {
+		this(th, ac, sharedContext, Charset.defaultCharset());
+	}
+	
+	/**
+	 * @param sharedContext the root data model to render against, typically 
+	 * {@link TemplateHelper#getImmutableContext()} when rendering concurrently;
+	 * if null the live context of the template helper is used 
+	 * @param charset the charset the generated files are written with
+	 */
+	public TemplateProducer(TemplateHelper th, ArtifactCollector ac, TemplateHashModelEx sharedContext, Charset charset) {
 		this.th = th;
 		this.ac = ac;
+		this.sharedContext = sharedContext;
+		this.charset = charset;
+	}
+	
+	/**
+	 * @param javaFormatter formats the generated java files before they are
+	 * compared and written, null to leave them as rendered
+	 */
+	public void setJavaFormatter(ParallelFormatter javaFormatter) {
+		this.javaFormatter = javaFormatter;
+	}
+	
+	/**
+	 * @param outputSink receives the files in place of the file system, 
+	 * null to write them where their destination says
+	 * @param outputDirectory the directory the destinations are under, 
+	 * whose place the root of the sink takes
+	 */
+	public void setOutputSink(OutputSink outputSink, File outputDirectory) {
+		this.outputSink = outputSink;
+		this.outputDirectory = outputDirectory;
 	}
 	
+	/**
+	 * Renders the template and writes the result to the destination file, 
+	 * unless the result is blank or the file already has that content; in the 
+	 * latter case the file is left untouched to keep its timestamp. A file that 
+	 * only differs in the "Generated ... by Hibernate Tools" stamp of the 
+	 * bundled templates counts as having the same content.
+	 * <p>
+	 * XML files are formatted before they are compared and written, so they
+	 * don't need to be formatted by {@link ArtifactCollector#formatFiles()}.
+	 * So are java files when a java formatter is set.
+	 */
 	public void produce(Map<String,Object> additionalContext, String templateName, File destination, String identifier, String fileType, String rootContext) {
 		
-		String tempResult = produceToString( additionalContext, templateName, rootContext );
-		
-		if(tempResult.trim().length()==0) {
-			log.warn("Generated output is empty. Skipped creation for file " + destination);
-			return;
-		}
-		FileWriter fileWriter = null;
+		RenderBuffer buffer = borrowBuffer();
 		try {
+			produceToBuffer( additionalContext, templateName, rootContext, buffer );
 			
-			th.ensureExistence( destination );    
-	     
-			ac.addFile(destination, fileType);
-			log.debug("Writing " + identifier + " to " + destination.getAbsolutePath() );
-			fileWriter = new FileWriter(destination);
-            fileWriter.write(tempResult);			
-		} 
-		catch (Exception e) {
-		    throw new RuntimeException("Error while writing result to file", e);	
-		} finally {
-			if(fileWriter!=null) {
+			if(isBlank(buffer)) {
+				log.warn("Generated output is empty. Skipped creation for file " + destination);
+				return;
+			}
+			if (DefaultArtifactCollector.isXmlFileType(fileType)) {
+				RenderBuffer formatted = borrowBuffer();
 				try {
-					fileWriter.flush();
-					fileWriter.close();
+					XMLPrettyPrinter.prettyPrint(buffer.getReader(), formatted, charset.name());
 				}
-				catch (IOException e) {
-					log.warn("Exception while flushing/closing " + destination,e);
-				}				
+				catch (RuntimeException e) {
+					returnBuffer(formatted);
+					throw new RuntimeException("Could not format XML file: " + destination, e);
+				}
+				returnBuffer(buffer);
+				buffer = formatted;
 			}
+			else if (javaFormatter != null && "java".equals(fileType)) {
+				String formatted = javaFormatter.format(buffer.toString());
+				if (formatted == null) {
+					log.warn("Could not format " + destination + ", most likely because of syntax errors, writing it unformatted");
+				}
+				else {
+					buffer.reset();
+					buffer.write(formatted);
+				}
+			}
+			ByteBuffer content = charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE)
+					.encode(buffer.getContent());
+			
+			if (outputSink != null) {
+				String path = getSinkPath(destination);
+				if (isUpToDate(outputSink.read(path), content, buffer.getContent())) {
+					log.debug("Skipping " + identifier + ", " + path + " is up to date");
+					ac.addFile(destination, fileType, false);
+				}
+				else {
+					ac.addFile(destination, fileType, true);
+					log.debug("Writing " + identifier + " to " + path );
+					outputSink.write(path, content);
+				}
+				return;
+			}
+			
+			th.ensureExistence( destination );    
+			
+			byte[] existing = destination.isFile() ? Files.readAllBytes(destination.toPath()) : null;
+			if (isUpToDate(existing, content, buffer.getContent())) {
+				log.debug("Skipping " + identifier + ", " + destination.getAbsolutePath() + " is up to date");
+				ac.addFile(destination, fileType, false);
+			} 
+			else {
+				ac.addFile(destination, fileType, true);
+				log.debug("Writing " + identifier + " to " + destination.getAbsolutePath() );
+				write(destination, content);
+			}
+		} 
+		catch (IOException e) {
+		    throw new RuntimeException("Error while writing result to file", e);	
+		}
+		finally {
+			returnBuffer(buffer);
 		}
 		
 	}
 
-
-	private String produceToString(Map<String,Object> additionalContext, String templateName, String rootContext) {
-		Map<String,Object> contextForFirstPass = additionalContext;
-		putInContext( th, contextForFirstPass );		
-		StringWriter tempWriter = new StringWriter();
-		BufferedWriter bw = new BufferedWriter(tempWriter);
-		// First run - writes to in-memory string
-		th.processTemplate(templateName, bw, rootContext);
-		removeFromContext( th, contextForFirstPass );
-		try {
-			bw.flush();
+	private void produceToBuffer(Map<String,Object> additionalContext, String templateName, String rootContext, RenderBuffer buffer) {
+		TemplateHashModelEx dataModel = th.createLayeredContext( 
+				additionalContext, 
+				sharedContext == null ? th.getContext() : sharedContext );		
+		// First run - writes to in-memory buffer
+		th.processTemplate(templateName, dataModel, buffer, rootContext);
+	}
+	
+	// templates may produce other files while rendering, so each render borrows its own buffers
+	private static RenderBuffer borrowBuffer() {
+		LinkedList<RenderBuffer> pool = BUFFERS.get();
+		return pool.isEmpty() ? new RenderBuffer() : pool.removeFirst();
+	}
+	
+	private static void returnBuffer(RenderBuffer buffer) {
+		LinkedList<RenderBuffer> pool = BUFFERS.get();
+		if (buffer.size() <= MAX_POOLED_BUFFER_SIZE && pool.size() < MAX_POOLED_BUFFERS) {
+			buffer.reset();
+			pool.addFirst(buffer);
 		}
-		catch (IOException e) {
-			throw new RuntimeException("Error while flushing to string",e);
+	}
+	
+	private static boolean isBlank(RenderBuffer buffer) {
+		CharBuffer content = buffer.getContent();
+		while (content.hasRemaining()) {
+			if (content.get() > ' ') {
+				return false;
+			}
 		}
-		return tempWriter.toString();
+		return true;
 	}
-
-	private void removeFromContext(TemplateHelper templateHelper, Map<String,Object> context) {
-		Iterator<Entry<String,Object>> iterator = context.entrySet().iterator();
-		while ( iterator.hasNext() ) {
-			Entry<String,Object> element = iterator.next();
-			templateHelper.removeFromContext((String) element.getKey(), element.getValue());
+	
+	// the existing content is read once and used for both the exact and the stamp-insensitive comparison
+	private boolean isUpToDate(byte[] existing, ByteBuffer content, CharBuffer chars) {
+		if (existing == null) {
+			return false;
 		}
+		return ByteBuffer.wrap(existing).equals(content.duplicate()) || differsOnlyInStamp(existing, chars);
 	}
-
-	private void putInContext(TemplateHelper templateHelper, Map<String,Object> context) {
-		Iterator<Entry<String,Object>> iterator = context.entrySet().iterator();
-		while ( iterator.hasNext() ) {
-			Entry<String,Object> element = iterator.next();
-			templateHelper.putInContext((String) element.getKey(), element.getValue());
+	
+	// the path of the destination relative to the output directory
+	private String getSinkPath(File destination) {
+		String result = destination.getPath();
+		if (outputDirectory != null) {
+			result = outputDirectory.getAbsoluteFile().toPath().normalize()
+					.relativize(destination.getAbsoluteFile().toPath().normalize())
+					.toString();
+		}
+		if (result.startsWith("..")) {
+			throw new RuntimeException(destination + " is not in the output directory " + outputDirectory);
+		}
+		return result.replace(File.separatorChar, '/');
+	}
+	
+	private boolean differsOnlyInStamp(byte[] file, CharBuffer content) {
+		Matcher matcher = GENERATED_STAMP.matcher(content);
+		if (!matcher.find()) {
+			return false;
+		}
+		String existing = new String(file, charset);
+		Matcher existingMatcher = GENERATED_STAMP.matcher(existing);
+		if (!existingMatcher.find()) {
+			return false;
+		}
+		return existing.substring(0, existingMatcher.start()).contentEquals(content.subSequence(0, matcher.start())) &&
+				existing.substring(existingMatcher.end()).contentEquals(content.subSequence(matcher.end(), content.length()));
+	}
+	
+	private static void write(File file, ByteBuffer content) throws IOException {
+		FileChannel channel = FileChannel.open(
+				file.toPath(), 
+				StandardOpenOption.CREATE, 
+				StandardOpenOption.TRUNCATE_EXISTING, 
+				StandardOpenOption.WRITE);
+		try {
+			ByteBuffer toWrite = content.duplicate();
+			while (toWrite.hasRemaining()) {
+				channel.write(toWrite);
+			}
+		}
+		finally {
+			channel.close();
 		}
 	}
 
@@ -103,4 +269,22 @@ public class TemplateProducer {
 		fileType = fileType.substring(fileType.indexOf('.')+1);
 		produce(additionalContext, templateName, outputFile, identifier, fileType, rootContext);
 	}	
+
+	private static class RenderBuffer extends CharArrayWriter {
+		
+		RenderBuffer() {
+			super(8192);
+		}
+		
+		// a view on the rendered characters, without copying them
+		CharBuffer getContent() {
+			return CharBuffer.wrap(buf, 0, count);
+		}
+		
+		Reader getReader() {
+			return new CharArrayReader(buf, 0, count);
+		}
+		
+	}
+	
 }
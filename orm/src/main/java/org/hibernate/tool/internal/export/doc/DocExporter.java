@@ -619,7 +619,7 @@ public class DocExporter extends AbstractExporter {
     protected void processTemplate(Map<String, Object> parameters, String templateName,
             File outputFile) {
     	
-    	TemplateProducer producer = new TemplateProducer(getTemplateHelper(), getArtifactCollector() );
+    	TemplateProducer producer = new TemplateProducer(getTemplateHelper(), getArtifactCollector(), null, getOutputEncoding() );
     	producer.produce(parameters, templateName, outputFile, templateName);
      }
 
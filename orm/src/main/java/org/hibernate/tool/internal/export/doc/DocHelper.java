@@ -22,10 +22,9 @@ import org.hibernate.mapping.Property;
 import org.hibernate.mapping.Table;
 import org.hibernate.mapping.Value;
 import org.hibernate.service.ServiceRegistry;
-import org.hibernate.tool.internal.export.common.ConfigurationNavigator;
 import org.hibernate.tool.internal.export.java.Cfg2JavaTool;
-import org.hibernate.tool.internal.export.java.ComponentPOJOClass;
 import org.hibernate.tool.internal.export.java.POJOClass;
+import org.hibernate.tool.internal.export.java.POJOModel;
 import org.hibernate.tool.internal.reveng.binder.TypeUtils;
 import org.hibernate.type.Type;
 
@@ -115,6 +114,11 @@ public final class DocHelper {
 	
 	private Metadata metadata;
 
+	/**
+	 * The entity and component views shared with the exporter
+	 */
+	private POJOModel pojoModel;
+
 	/**
 	 * Constructor.
 	 * 
@@ -194,14 +198,12 @@ public final class DocHelper {
 			}
 		}
 
-		Map<String, Component> components = new HashMap<String, Component>();
+		pojoModel = cfg2JavaTool.getPOJOModel(metadata);
 
-		Iterator<PersistentClass> classesItr = metadata.getEntityBindings().iterator();
+		Iterator<POJOClass> classesItr = pojoModel.getEntities().iterator();
 		while (classesItr.hasNext()) {
-			PersistentClass clazz = classesItr.next();
-
-			POJOClass pojoClazz = cfg2JavaTool.getPOJOClass(clazz);
-			ConfigurationNavigator.collectComponents(components, pojoClazz);
+			POJOClass pojoClazz = classesItr.next();
+			PersistentClass clazz = (PersistentClass) pojoClazz.getDecoratedObject();
 
 			this.processClass(pojoClazz);
 
@@ -218,12 +220,9 @@ public final class DocHelper {
 			}
 		}
 
-		Iterator<Component> iterator = components.values().iterator();
+		Iterator<POJOClass> iterator = pojoModel.getComponents().iterator();
 		while (iterator.hasNext()) {
-			Component component = (Component) iterator.next();
-			ComponentPOJOClass element =
-					new ComponentPOJOClass(component, cfg2JavaTool);
-			this.processClass(element);
+			this.processClass(iterator.next());
 		}
 	}
 
@@ -497,8 +496,7 @@ public final class DocHelper {
 	public POJOClass getComponentPOJO(Property property) {
 		if (property.getValue() instanceof Component) {
 			Component comp = (Component) property.getValue();
-			ComponentPOJOClass componentPOJOClass = new ComponentPOJOClass(comp, new Cfg2JavaTool());
-			return componentPOJOClass;
+			return pojoModel.getPOJOClass(comp);
 		} else {
 			return null;
 		}
@@ -0,0 +1,84 @@
+package org.hibernate.tool.internal.export.enhance;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.Version;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.mapping.SimpleValue;
+import org.hibernate.mapping.ToOne;
+import org.hibernate.tool.internal.export.common.GenericExporter;
+
+/**
+ * Writes the configuration of the Hibernate bytecode enhancement Maven plugin 
+ * for the entities, to add to the plugins of the build that compiles them. 
+ * Lazy basic properties are only fetched lazily by enhanced entities, and 
+ * dirty tracking saves the entities with dynamic update from comparing 
+ * every property at flush.
+ */
+public class EnhancementPluginExporter extends GenericExporter {
+
+	/** Property with the version of the plugin, the version of Hibernate if not set */
+	public static final String PLUGIN_VERSION = "enhance.plugin-version";
+
+	private static final String ENHANCE_PLUGIN_FTL = "enhance/hibernate-enhance-maven-plugin.xml.ftl";
+
+	protected void init() {
+		getProperties().put(TEMPLATE_NAME, ENHANCE_PLUGIN_FTL);
+		getProperties().put(FILE_PATTERN, "hibernate-enhance-maven-plugin.xml");
+	}
+
+	public EnhancementPluginExporter() {
+		init();
+	}
+
+	protected void setupContext() {
+		super.setupContext();
+		Object pluginVersion = getProperties().get(PLUGIN_VERSION);
+		getTemplateHelper().putInContext("pluginVersion", pluginVersion == null ? Version.getVersionString() : pluginVersion.toString());
+		getTemplateHelper().putInContext("lazyEntities", getLazyEntities());
+		getTemplateHelper().putInContext("dynamicUpdateEntities", getDynamicUpdateEntities());
+	}
+
+	/**
+	 * @return the names of the entities with lazy basic properties
+	 */
+	public List<String> getLazyEntities() {
+		List<String> result = new ArrayList<String>();
+		Iterator<PersistentClass> classes = getMetadata().getEntityBindings().iterator();
+		while (classes.hasNext()) {
+			PersistentClass pc = classes.next();
+			Iterator<?> properties = pc.getPropertyIterator();
+			while (properties.hasNext()) {
+				Property property = (Property) properties.next();
+				if (property.isLazy() && property.getValue() instanceof SimpleValue && !(property.getValue() instanceof ToOne)) {
+					result.add(pc.getEntityName());
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the names of the entities with dynamic update
+	 */
+	public List<String> getDynamicUpdateEntities() {
+		List<String> result = new ArrayList<String>();
+		Iterator<PersistentClass> classes = getMetadata().getEntityBindings().iterator();
+		while (classes.hasNext()) {
+			PersistentClass pc = classes.next();
+			if (pc.useDynamicUpdate()) {
+				result.add(pc.getEntityName());
+			}
+		}
+		return result;
+	}
+
+	public String getName() {
+		return "cfg2enhancexml";
+	}
+
+}
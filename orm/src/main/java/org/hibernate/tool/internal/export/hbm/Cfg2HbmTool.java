@@ -5,6 +5,7 @@ package org.hibernate.tool.internal.export.hbm;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -27,6 +28,7 @@ import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.Formula;
+import org.hibernate.mapping.Index;
 import org.hibernate.mapping.JoinedSubclass;
 import org.hibernate.mapping.ManyToOne;
 import org.hibernate.mapping.OneToMany;
@@ -38,12 +40,14 @@ import org.hibernate.mapping.RootClass;
 import org.hibernate.mapping.SimpleValue;
 import org.hibernate.mapping.SingleTableSubclass;
 import org.hibernate.mapping.Subclass;
+import org.hibernate.mapping.Table;
 import org.hibernate.mapping.UnionSubclass;
 import org.hibernate.mapping.Value;
 import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
 import org.hibernate.persister.entity.SingleTableEntityPersister;
 import org.hibernate.persister.entity.UnionSubclassEntityPersister;
 import org.hibernate.tool.internal.export.common.EntityNameFromValueVisitor;
+import org.hibernate.tool.internal.export.java.MetaAttributeHelper;
 import org.hibernate.tool.internal.util.SkipBackRefPropertyIterator;
 
 /**
@@ -291,6 +295,37 @@ public class Cfg2HbmTool {
 		return value.isExtraLazy() ? "extra" : Boolean.toString(value.isLazy());
 	}
 
+	/**
+	 * @return the lazy attribute of the collection, with lazy by default only 
+	 * "false" if the collection is fetched by join or has a "lazy" meta attribute 
+	 * set to false
+	 */
+	public String getCollectionLazy(Property property, boolean lazyByDefault) {
+		Collection value = (Collection) property.getValue();
+		if ( !lazyByDefault || value.isExtraLazy() ) {
+			return getCollectionLazy( value );
+		}
+		return Boolean.toString( value.getFetchMode() != FetchMode.JOIN && isLazy( property ) );
+	}
+
+	/**
+	 * @return whether the class is mapped lazy, with lazy by default unless it 
+	 * has a "lazy" meta attribute set to false
+	 */
+	public boolean isLazy(PersistentClass pc, boolean lazyByDefault) {
+		if ( !lazyByDefault ) {
+			return pc.isLazy();
+		}
+		return MetaAttributeHelper.getMetaAsBool( pc.getMetaAttribute( "lazy" ), true );
+	}
+
+	/**
+	 * @return false if the property has a "lazy" meta attribute set to false
+	 */
+	public boolean isLazy(Property property) {
+		return MetaAttributeHelper.getMetaAsBool( property.getMetaAttribute( "lazy" ), true );
+	}
+
 	public String getNamedSQLReturnTag(NativeSQLQueryReturn sqlret) {
 		String retVal = "return";
 		if (isNamedSQLReturnRole(sqlret) ) {
@@ -330,6 +365,18 @@ public class Cfg2HbmTool {
 		return filterdefs == null || filterdefs.isEmpty() ? false : true;
 	}
 
+	public boolean hasCache(PersistentClass pc) {
+		return pc instanceof RootClass && pc.getCacheConcurrencyStrategy() != null;
+	}
+
+	/**
+	 * @return whether the class is cached in another region than the one named after the entity
+	 */
+	public boolean hasCacheRegion(PersistentClass pc) {
+		String region = ( (RootClass) pc ).getCacheRegionName();
+		return region != null && !region.equals( pc.getEntityName() );
+	}
+
 	public boolean isClassLevelOptimisticLockMode(PersistentClass pc) {
 		return pc.getOptimisticLockStyle() != OptimisticLockStyle.VERSION;
 	}
@@ -359,6 +406,9 @@ public class Cfg2HbmTool {
 		}
 	}
 	public String getFetchMode(Property property) {
+		if(property.getValue() instanceof Collection && ((Collection)property.getValue()).isSubselectLoadable()) {
+			return "subselect";
+		}
 		FetchMode fetchMode = property.getValue().getFetchMode();
 		return (fetchMode== null) ? null : fetchMode.toString().toLowerCase();
 	}
@@ -403,6 +453,37 @@ public class Cfg2HbmTool {
 		return sb.toString();
 	}
 
+	/**
+	 * @return the attributes of the column, with the names of the indexes of
+	 * the table the column is part of as its index attribute
+	 */
+	public String columnAttributes(Column column, Table table) {
+		String result = columnAttributes(column, false);
+		if (table == null) {
+			return result;
+		}
+		StringBuffer indexes = new StringBuffer();
+		Iterator<Index> iterator = table.getIndexIterator();
+		while (iterator.hasNext() ) {
+			Index index = iterator.next();
+			// by identity, columns of other tables included from this mapping may have the same name
+			Iterator<Column> columns = index.getColumnIterator();
+			while (columns.hasNext() ) {
+				if (columns.next() == column) {
+					if (indexes.length() > 0) {
+						indexes.append(", ");
+					}
+					indexes.append(index.getName() );
+					break;
+				}
+			}
+		}
+		if (indexes.length() == 0) {
+			return result;
+		}
+		return result + "index=\"" + indexes + "\" ";
+	}
+
 	public String getClassName(PersistentClass pc) {
 		if (pc.hasPojoRepresentation() ) {
 			return pc.getClassName();
@@ -502,4 +583,37 @@ public class Cfg2HbmTool {
 	public Iterator<?> getProperties(PersistentClass pc) {
 		return new SkipBackRefPropertyIterator(pc.getUnjoinedPropertyIterator());
 	}
+
+	public boolean hasNaturalId(PersistentClass pc) {
+		return getNaturalIdProperties(pc).hasNext();
+	}
+
+	/**
+	 * @return the properties of the natural id of a root class, they are 
+	 * mapped in its natural-id element
+	 */
+	public Iterator<Property> getNaturalIdProperties(PersistentClass pc) {
+		List<Property> result = new ArrayList<Property>();
+		if (pc instanceof RootClass) {
+			Iterator<?> iterator = pc.getUnjoinedPropertyIterator();
+			while (iterator.hasNext() ) {
+				Property property = (Property) iterator.next();
+				if (property.isNaturalIdentifier() ) {
+					result.add(property);
+				}
+			}
+		}
+		return result.iterator();
+	}
+
+	/** @return whether the application may change the natural id, that is all of its properties are updateable */
+	public boolean isNaturalIdMutable(PersistentClass pc) {
+		Iterator<Property> iterator = getNaturalIdProperties(pc);
+		while (iterator.hasNext() ) {
+			if (!iterator.next().isUpdateable() ) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
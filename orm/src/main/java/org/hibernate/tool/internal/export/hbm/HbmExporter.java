@@ -11,6 +11,7 @@ import org.hibernate.boot.Metadata;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.tool.internal.export.common.GenericExporter;
+import org.hibernate.tool.internal.export.common.ModelDigest;
 import org.hibernate.tool.internal.export.common.TemplateProducer;
 import org.hibernate.tool.internal.export.java.POJOClass;
 
@@ -19,13 +20,37 @@ import org.hibernate.tool.internal.export.java.POJOClass;
  */
 public class HbmExporter extends GenericExporter {
     
+	/**
+	 * Property ("true" or "false") overriding the lazy by default setting, 
+	 * see {@link HibernateMappingGlobalSettings#setLazyByDefault(boolean)}
+	 */
+	public static final String LAZY_BY_DEFAULT = "lazy-by-default";
+	
 	protected HibernateMappingGlobalSettings globalSettings = new HibernateMappingGlobalSettings();
 	
 	protected void setupContext() {
 		super.setupContext();
+		Object lazyByDefault = getProperties().get(LAZY_BY_DEFAULT);
+		if (lazyByDefault != null) {
+			globalSettings.setLazyByDefault(Boolean.parseBoolean(lazyByDefault.toString()));
+		}
 		getTemplateHelper().putInContext("hmgs", globalSettings);
 	}
 	
+	protected String getTemplateSetDigest() {
+		return new ModelDigest()
+				.add(super.getTemplateSetDigest())
+				.add(globalSettings.getSchemaName())
+				.add(globalSettings.getCatalogName())
+				.add(globalSettings.getDefaultCascade())
+				.add(globalSettings.getDefaultAccess())
+				.add(globalSettings.getDefaultPackage())
+				.add(globalSettings.isDefaultLazy())
+				.add(globalSettings.isLazyByDefault())
+				.add(globalSettings.isAutoImport())
+				.getDigest();
+	}
+	
 	public void setGlobalSettings(HibernateMappingGlobalSettings hgs) {
 		this.globalSettings = hgs;
 	}
@@ -42,7 +67,7 @@ public class HbmExporter extends GenericExporter {
 				(c2h.isNamedQueries(md)) && 
 				(c2h.isNamedSQLQueries(md)) && 
 				(c2h.isFilterDefinitions(md))) {
-			TemplateProducer producer = new TemplateProducer(getTemplateHelper(),getArtifactCollector());
+			TemplateProducer producer = createTemplateProducer();
 			producer.produce(new HashMap<String, Object>(), "hbm/generalhbm.hbm.ftl", new File(getOutputDirectory(),"GeneralHbmSettings.hbm.xml"), getTemplateName(), "General Settings");
 		}
 	}
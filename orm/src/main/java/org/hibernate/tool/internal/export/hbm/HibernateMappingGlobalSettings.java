@@ -23,6 +23,7 @@ public class HibernateMappingGlobalSettings {
 	private String defaultAccess;
 	private boolean autoImport  = true;
 	private boolean defaultLazy = true;
+	private boolean lazyByDefault = false;
 	
 	/**
 	 */
@@ -84,6 +85,10 @@ public class HibernateMappingGlobalSettings {
 		return defaultLazy;
 	}
 
+	public boolean isLazyByDefault() {
+		return lazyByDefault;
+	}
+
 	/**
 	 * Returns the autoImport.
 	 * @return boolean
@@ -146,5 +151,19 @@ public class HibernateMappingGlobalSettings {
 	public void setDefaultLazy(boolean defaultLazy) {
 		this.defaultLazy = defaultLazy;
 	}
+
+	/**
+	 * Sets whether the classes and collections are mapped lazy whatever 
+	 * the metadata says, except for the ones with a "lazy" meta attribute 
+	 * set to false and the associations fetched by join. 
+	 * Setting it also sets the default lazy.
+	 * @param lazyByDefault The lazyByDefault to set
+	 */
+	public void setLazyByDefault(boolean lazyByDefault) {
+		this.lazyByDefault = lazyByDefault;
+		if (lazyByDefault) {
+			this.defaultLazy = true;
+		}
+	}
 	
 }
@@ -0,0 +1,162 @@
+package org.hibernate.tool.internal.export.java;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.ManyToOne;
+import org.hibernate.mapping.OneToOne;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.mapping.Selectable;
+import org.hibernate.mapping.Value;
+
+/**
+ * Finds the property on the other side of an association by its join columns,
+ * e.g. the many-to-one a one-to-many collection is mapped by.
+ * <p>
+ * The properties of an entity are indexed by the set of their columns the
+ * first time the entity is searched, so each search is a lookup instead of
+ * a scan of the property closure. Like the scans it replaces, a search
+ * finds the first matching property of the closure. The index is safe for
+ * use by concurrent renders.
+ */
+public class AssociationIndex {
+
+	private static final int MANY_TO_ONE = 0;
+	private static final int MANY_TO_MANY = 1;
+	private static final int TO_ONE = 2;
+
+	private final Metadata metadata;
+	private final Map<String, EntityAssociations> entities = new ConcurrentHashMap<String, EntityAssociations>();
+
+	public AssociationIndex(Metadata metadata) {
+		this.metadata = metadata;
+	}
+
+	public Metadata getMetadata() {
+		return metadata;
+	}
+
+	/**
+	 * @return the name of the many-to-one of the referenced entity with the
+	 * join columns of the key of the collection, or null if there is none
+	 */
+	public String getManyToOneProperty(String entityName, Iterator<Selectable> joinColumns) {
+		return getAssociations(entityName).find(MANY_TO_ONE, toSet(joinColumns));
+	}
+
+	/**
+	 * @return the name of the many-to-many collection of the referenced
+	 * entity whose elements have the given join columns, or null if there is none
+	 */
+	public String getManyToManyProperty(String entityName, Iterator<Selectable> joinColumns) {
+		return getAssociations(entityName).find(MANY_TO_MANY, toSet(joinColumns));
+	}
+
+	/**
+	 * @return the name of the one-to-one or many-to-one of the referenced
+	 * entity with the given join columns, or null if there is none
+	 */
+	public String getToOneProperty(String entityName, Iterator<Selectable> joinColumns) {
+		return getAssociations(entityName).find(TO_ONE, toSet(joinColumns));
+	}
+
+	private EntityAssociations getAssociations(String entityName) {
+		EntityAssociations result = entities.get(entityName);
+		if (result == null) {
+			result = new EntityAssociations(metadata.getEntityBinding(entityName));
+			entities.put(entityName, result);
+		}
+		return result;
+	}
+
+	private static Set<Selectable> toSet(Iterator<? extends Selectable> columns) {
+		Set<Selectable> result = new HashSet<Selectable>();
+		while (columns.hasNext()) {
+			result.add(columns.next());
+		}
+		return result;
+	}
+
+	private static class EntityAssociations {
+
+		@SuppressWarnings("unchecked")
+		private final Map<Set<Selectable>, Candidate>[] byColumns = new Map[] {
+			new HashMap<Set<Selectable>, Candidate>(),
+			new HashMap<Set<Selectable>, Candidate>(),
+			new HashMap<Set<Selectable>, Candidate>()
+		};
+		// properties mapping a column more than once can't be found by their column set
+		private final List<Candidate> irregular = new ArrayList<Candidate>();
+
+		EntityAssociations(PersistentClass pc) {
+			Iterator<?> properties = pc.getPropertyClosureIterator();
+			int position = 0;
+			while (properties.hasNext()) {
+				Property property = (Property) properties.next();
+				Value value = property.getValue();
+				if (value instanceof ManyToOne) {
+					add(MANY_TO_ONE, new Candidate(property.getName(), position, value));
+				}
+				if (value instanceof ManyToOne || value instanceof OneToOne) {
+					add(TO_ONE, new Candidate(property.getName(), position, value));
+				}
+				if (value instanceof Collection && !((Collection) value).isOneToMany()) {
+					add(MANY_TO_MANY, new Candidate(property.getName(), position, ((Collection) value).getElement()));
+				}
+				position++;
+			}
+		}
+
+		private void add(int kind, Candidate candidate) {
+			candidate.kind = kind;
+			if (candidate.columns.size() != candidate.columnSpan) {
+				irregular.add(candidate);
+			}
+			else if (!byColumns[kind].containsKey(candidate.columns)) {
+				byColumns[kind].put(candidate.columns, candidate);
+			}
+		}
+
+		String find(int kind, Set<Selectable> joinColumns) {
+			Candidate result = byColumns[kind].get(joinColumns);
+			for (int i = 0; i < irregular.size(); i++) {
+				Candidate candidate = irregular.get(i);
+				if (candidate.kind == kind &&
+						(result == null || candidate.position < result.position) &&
+						candidate.columnSpan == joinColumns.size() &&
+						joinColumns.containsAll(candidate.columns)) {
+					result = candidate;
+				}
+			}
+			return result == null ? null : result.name;
+		}
+
+	}
+
+	private static class Candidate {
+
+		final String name;
+		final int position;
+		final Set<Selectable> columns;
+		final int columnSpan;
+		int kind;
+
+		Candidate(String name, int position, Value value) {
+			this.name = name;
+			this.position = position;
+			this.columns = toSet(value.getColumnIterator());
+			this.columnSpan = value.getColumnSpan();
+		}
+
+	}
+
+}
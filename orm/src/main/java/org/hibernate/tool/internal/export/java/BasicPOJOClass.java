@@ -1,7 +1,11 @@
 package org.hibernate.tool.internal.export.java;
 
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -9,6 +13,7 @@ import java.util.Map;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.mapping.Array;
 import org.hibernate.mapping.Bag;
+import org.hibernate.mapping.BasicValue;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
@@ -33,9 +38,25 @@ import org.hibernate.tuple.GenerationTiming;
  */
 abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstants {
 
+	// slots of the per property derivations, see getDerivation
+	private static final int JAVA_TYPE_NAME = 0;
+	private static final int GENERIC_JAVA_TYPE_NAME = 1;
+	private static final int GETTER_SIGNATURE = 2;
+	private static final int BASIC_ANNOTATION = 3;
+	private static final int COLUMN_ANNOTATION = 4;
+	protected static final int COLLECTION_ANNOTATION = 5;
+	private static final int DERIVATION_SLOTS = 6;
+
+	// the types left out of the toString of lazy-safe classes, see isInLazySafeToString
+	private static final java.util.Set<String> LOB_TYPES = new HashSet<String>( Arrays.asList( 
+			"blob", "clob", "nclob", "materialized_blob", "materialized_clob", "materialized_nclob",
+			"text", "ntext", "image", "java.sql.Blob", "java.sql.Clob", "java.sql.NClob" ) );
+
 	protected ImportContext importContext;
 	protected MetaAttributable meta;
 	protected final Cfg2JavaTool c2j;
+	// the templates ask for the same type names and annotations of a property several times
+	private final Map<Property, String[]> derivations = new IdentityHashMap<Property, String[]>();
 	
 	public BasicPOJOClass(MetaAttributable ma, Cfg2JavaTool c2j) {
 		this.meta = ma;
@@ -50,6 +71,8 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	// called by subclasses
 	protected void init() {
 		importContext = new ImportContextImpl(getPackageName());
+		// derivations include the names imported in the previous context
+		derivations.clear();
 		
 		MetaAttribute metaAttribute = meta.getMetaAttribute("extra-import");
 		if(metaAttribute!=null) {
@@ -202,8 +225,45 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	
 	public String generateEquals(String thisName, String otherName, boolean useGenerics) {
 		Iterator<Property> allPropertiesIterator = getEqualsHashCodePropertiesIterator();
+		if ( isEqualsByIdentifier() ) {
+			return generateIdentifierEquals( thisName, otherName, allPropertiesIterator.next(), useGenerics );
+		}
 		return generateEquals( thisName, otherName, allPropertiesIterator, useGenerics );
 	}
+
+	public boolean isLazySafe() {
+		return c2j.getMetaAsBool( meta, LAZY_SAFE, c2j.isLazySafeByDefault() );
+	}
+
+	public boolean isEqualsByIdentifier() {
+		return false;
+	}
+
+	/**
+	 * @return the properties equals and hashCode of a lazy-safe class are 
+	 * generated with, or null if its instances are compared by the properties
+	 * to use in equals, like those of a class that isn't lazy-safe
+	 */
+	protected List<Property> getIdentityProperties() {
+		return null;
+	}
+
+	private List<Property> getLazySafeIdentityProperties() {
+		return isLazySafe() ? getIdentityProperties() : null;
+	}
+
+	// an identifier is only assigned when the entity is persisted, before that an instance is only equal to itself
+	private String generateIdentifierEquals(String thisName, String otherName, Property property, boolean useGenerics) {
+		String javaTypeName = c2j.getJavaTypeName( property, useGenerics, this );
+		String lh = thisName + "." + getGetterSignature( property ) + "()";
+		String rh = otherName + "." + getGetterSignature( property ) + "()";
+		if ( c2j.isPrimitive( javaTypeName ) ) {
+			return "( " + lh + "!=0 && " + lh + "==" + rh + " )";
+		}
+		else {
+			return "( " + lh + "!=null && " + lh + ".equals(" + rh + ") )";
+		}
+	}
 	
 	/** returns the properties that would be visible on this entity as a pojo. This does not return *all* properties since hibernate has certain properties that are only relevant in context of persistence. */ 
 	public abstract Iterator<Property> getAllPropertiesIterator();
@@ -287,6 +347,10 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 
 	public boolean needsEqualsHashCode() {
+		List<Property> identity = getLazySafeIdentityProperties();
+		if ( identity != null ) {
+			return !identity.isEmpty();
+		}
 		Iterator<Property> iter = getAllPropertiesIterator();
 		return needsEqualsHashCode( iter );
 	}
@@ -300,6 +364,34 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 		return importContext.importType(fqcn);
 	}
 	
+	/**
+	 * @return what was derived from the property for the slot, or null if 
+	 * nothing was yet. Derivations may import types, they are kept as long 
+	 * as the import context: importing the same type again doesn't change 
+	 * the context and gives the same name.
+	 */
+	protected String getDerivation(Property property, int slot) {
+		String[] values = derivations.get(property);
+		return values == null ? null : values[slot];
+	}
+	
+	protected void clearDerivations(int slot) {
+		Iterator<String[]> values = derivations.values().iterator();
+		while (values.hasNext()) {
+			values.next()[slot] = null;
+		}
+	}
+	
+	protected String putDerivation(Property property, int slot, String value) {
+		String[] values = derivations.get(property);
+		if (values == null) {
+			values = new String[DERIVATION_SLOTS];
+			derivations.put(property, values);
+		}
+		values[slot] = value;
+		return value;
+	}
+	
 	public String generateImports() {
 		return importContext.generateImports();
 	}
@@ -309,6 +401,14 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 	
 	public String generateBasicAnnotation(Property property) {
+		String result = getDerivation(property, BASIC_ANNOTATION);
+		if (result == null) {
+			result = putDerivation(property, BASIC_ANNOTATION, buildBasicAnnotation(property));
+		}
+		return result;
+	}
+	
+	private String buildBasicAnnotation(Property property) {
 		StringBuffer annotations = new StringBuffer( "    " );
 		if(property.getValue() instanceof SimpleValue) {
 			if (hasVersionProperty())
@@ -322,6 +422,9 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 			} else if ("time".equals(typeName) || "java.sql.Time".equals(typeName)) {
 				buildTemporalAnnotation(annotations, "TIME");
 			} //TODO: calendar etc. ?
+			if (property.isLazy()) {
+				buildLazyAnnotation( annotations, property.getLazyGroup() );
+			}
 
 						
 		}
@@ -336,6 +439,18 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 		return annotations.append( "@" + temporal +"(" + temporalType + "." + temporalTypeValue + ")");
 	}
 	
+	// lazy basic properties, fetched when first accessed by enhanced entities
+	private StringBuffer buildLazyAnnotation(StringBuffer annotations, String lazyGroup) {
+		if ( annotations.toString().trim().length() > 0 ) {
+			annotations.append( "\n    " );
+		}
+		annotations.append( "@" + importType("javax.persistence.Basic") + "(fetch=" + importType("javax.persistence.FetchType") + ".LAZY)" );
+		if ( lazyGroup != null ) {
+			annotations.append( "\n    @" + importType("org.hibernate.annotations.LazyGroup") + "(\"" + lazyGroup + "\")" );
+		}
+		return annotations;
+	}
+	
 	private StringBuffer buildVersionAnnotation(StringBuffer annotations) {
 		String version = importType("javax.persistence.Version");
 		
@@ -343,6 +458,14 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 	
 	public String generateAnnColumnAnnotation(Property property) {
+		String result = getDerivation(property, COLUMN_ANNOTATION);
+		if (result == null) {
+			result = putDerivation(property, COLUMN_ANNOTATION, buildAnnColumnAnnotation(property));
+		}
+		return result;
+	}
+	
+	private String buildAnnColumnAnnotation(Property property) {
 		StringBuffer annotations = new StringBuffer( "    " );
 		boolean insertable = property.isInsertable();
 		boolean updatable = property.isUpdateable();
@@ -479,10 +602,11 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 
 	private Iterator<Property> getToStringPropertiesIterator(Iterator<Property> iter) {
 		List<Property> properties = new ArrayList<Property>();
+		boolean lazySafe = isLazySafe();
 
 		while ( iter.hasNext() ) {
 			Property element = (Property) iter.next();
-			if ( c2j.getMetaAsBool( element, "use-in-tostring" ) ) {
+			if ( usePropertyInToString( element, lazySafe ) ) {
 				properties.add( element );
 			}
 		}
@@ -490,7 +614,55 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 		return properties.iterator();
 	}
 
+	private boolean usePropertyInToString(Property property, boolean lazySafe) {
+		if ( lazySafe && !c2j.hasMetaAttribute( property, "use-in-tostring" ) ) {
+			return isInLazySafeToString( property );
+		}
+		return c2j.getMetaAsBool( property, "use-in-tostring" );
+	}
+
+	// the basic properties that are loaded with the instance, the ones that can't trigger a load
+	private boolean isInLazySafeToString(Property property) {
+		if ( property.isLazy() || !( property.getValue() instanceof BasicValue ) ) {
+			return false;
+		}
+		BasicValue value = (BasicValue) property.getValue();
+		if ( value.getTypeName() != null && LOB_TYPES.contains( value.getTypeName() ) ) {
+			return false;
+		}
+		Iterator<Selectable> columns = value.getColumnIterator();
+		while ( columns.hasNext() ) {
+			Selectable selectable = columns.next();
+			if ( selectable instanceof Column && isLob( ( (Column) selectable ).getSqlTypeCode() ) ) {
+				return false;
+			}
+		}
+		// arrays are printed by reference
+		return !c2j.getJavaTypeName( property, false ).endsWith( "[]" );
+	}
+
+	private boolean isLob(Integer sqlTypeCode) {
+		if ( sqlTypeCode == null ) {
+			return false;
+		}
+		switch ( sqlTypeCode.intValue() ) {
+			case Types.BLOB:
+			case Types.CLOB:
+			case Types.NCLOB:
+			case Types.LONGVARBINARY:
+			case Types.LONGVARCHAR:
+			case Types.LONGNVARCHAR:
+				return true;
+			default:
+				return false;
+		}
+	}
+
 	public Iterator<Property> getEqualsHashCodePropertiesIterator() {
+		List<Property> identity = getLazySafeIdentityProperties();
+		if ( identity != null ) {
+			return identity.iterator();
+		}
 		Iterator<Property> iter = getAllPropertiesIterator();
 		return getEqualsHashCodePropertiesIterator(iter);
 	}
@@ -514,9 +686,10 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 	
 	private boolean needsToString(Iterator<Property> iter) {
+		boolean lazySafe = isLazySafe();
 		while ( iter.hasNext() ) {
 			Property element = (Property) iter.next();
-			if ( c2j.getMetaAsBool( element, "use-in-tostring" ) ) {
+			if ( usePropertyInToString( element, lazySafe ) ) {
 				return true;
 			}
 		}
@@ -561,8 +734,12 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	 * @return String
 	 */
 	public String getGetterSignature(Property p) {
-		String prefix = c2j.getJavaTypeName( p, false).equals( "boolean" ) ? "is" : "get";
-		return prefix + beanCapitalize( p.getName() );
+		String result = getDerivation( p, GETTER_SIGNATURE );
+		if ( result == null ) {
+			String prefix = c2j.getJavaTypeName( p, false).equals( "boolean" ) ? "is" : "get";
+			result = putDerivation( p, GETTER_SIGNATURE, prefix + beanCapitalize( p.getName() ) );
+		}
+		return result;
 	}
 
 	/**
@@ -611,7 +788,8 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 
 	public String generateHashCode(Property property, String result, String thisName, boolean jdk5) {
 		StringBuffer buf = new StringBuffer();
-		if ( c2j.getMetaAsBool( property, "use-in-equals" ) ) {
+		List<Property> identity = getLazySafeIdentityProperties();
+		if ( identity != null ? identity.contains( property ) : c2j.getMetaAsBool( property, "use-in-equals" ) ) {
 			String javaTypeName = c2j.getJavaTypeName( property, jdk5, this );
 			boolean isPrimitive = c2j.isPrimitive( javaTypeName );
 			if ( isPrimitive ) {
@@ -851,7 +1029,12 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 	
 	public String getJavaTypeName(Property p, boolean useGenerics) {
-		return c2j.getJavaTypeName(p, useGenerics, this);
+		int slot = useGenerics ? GENERIC_JAVA_TYPE_NAME : JAVA_TYPE_NAME;
+		String result = getDerivation(p, slot);
+		if (result == null) {
+			result = putDerivation(p, slot, c2j.resolveJavaTypeName(p, useGenerics, this));
+		}
+		return result;
 	}
 	
 	static private class DefaultInitializor {
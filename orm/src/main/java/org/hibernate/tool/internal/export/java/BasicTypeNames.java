@@ -0,0 +1,82 @@
+package org.hibernate.tool.internal.export.java;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.PrimitiveType;
+import org.hibernate.type.spi.TypeConfiguration;
+
+/**
+ * Resolves the names of the Hibernate basic types (e.g. "string",
+ * "java.lang.Long", "timestamp") to the name of the Java class they map to.
+ * <p>
+ * The type registry is bootstrapped once, on first use, and every name
+ * is looked up in it at most once; the resolutions are kept in a table
+ * that can be read concurrently without locking.
+ */
+public final class BasicTypeNames {
+
+	// marks the names which are not registered as a basic type
+	private static final String UNREGISTERED = "";
+
+	private static final Map<String, String> JAVA_TYPE_NAMES = new ConcurrentHashMap<String, String>();
+
+	private BasicTypeNames() {
+	}
+
+	/**
+	 * @return true if the name is registered in the basic type registry
+	 */
+	public static boolean isRegistered(String typeName) {
+		return getJavaTypeName(typeName) != null;
+	}
+
+	/**
+	 * @return the name of the Java class of the basic type registered under
+	 * the name, the primitive class for primitive types, or null if no
+	 * basic type is registered under the name
+	 */
+	public static String getJavaTypeName(String typeName) {
+		if (typeName == null) {
+			return null;
+		}
+		String result = JAVA_TYPE_NAMES.get(typeName);
+		if (result == null) {
+			result = resolve(typeName);
+			JAVA_TYPE_NAMES.put(typeName, result);
+		}
+		return result == UNREGISTERED ? null : result;
+	}
+
+	private static String resolve(String typeName) {
+		BasicType<?> type;
+		try {
+			type = Registry.lookup(typeName);
+		}
+		catch (RuntimeException e) {
+			return UNREGISTERED;
+		}
+		if (type == null) {
+			return UNREGISTERED;
+		}
+		if (type instanceof PrimitiveType) {
+			return ((PrimitiveType<?>)type).getPrimitiveClass().getName();
+		}
+		return type.getReturnedClass().getName();
+	}
+
+	// initialized on first lookup
+	private static class Registry {
+
+		private static final BasicTypeRegistry INSTANCE = new TypeConfiguration().getBasicTypeRegistry();
+
+		// the registry is not meant to be shared between threads
+		static synchronized BasicType<?> lookup(String typeName) {
+			return INSTANCE.getRegisteredType(typeName);
+		}
+
+	}
+
+}
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 
+import org.hibernate.boot.Metadata;
 import org.hibernate.boot.internal.NamedHqlQueryDefinitionImpl;
 import org.hibernate.boot.query.NamedHqlQueryDefinition;
 import org.hibernate.internal.util.StringHelper;
@@ -28,9 +29,6 @@ import org.hibernate.mapping.Value;
 import org.hibernate.tool.internal.export.hbm.Cfg2HbmTool;
 import org.hibernate.tool.internal.util.NameConverter;
 import org.hibernate.tool.internal.util.StringUtil;
-import org.hibernate.type.PrimitiveType;
-import org.hibernate.type.Type;
-import org.hibernate.type.spi.TypeConfiguration;
 import org.jboss.logging.Logger;
 
 /**
@@ -43,11 +41,27 @@ import org.jboss.logging.Logger;
 public class Cfg2JavaTool {
 
 	private static final Logger log = Logger.getLogger( Cfg2JavaTool.class );	
+	
+	private volatile AssociationIndex associationIndex;
+	private volatile POJOModel pojoModel;
+	private boolean lazySafeByDefault = false;
 			
 	public Cfg2JavaTool() {
 
 	}
 
+	/**
+	 * @return whether the classes without a "lazy-safe" meta attribute are 
+	 * generated lazy-safe, see {@link POJOClass#isLazySafe()}
+	 */
+	public boolean isLazySafeByDefault() {
+		return lazySafeByDefault;
+	}
+
+	public void setLazySafeByDefault(boolean lazySafeByDefault) {
+		this.lazySafeByDefault = lazySafeByDefault;
+	}
+
 	public POJOClass getPOJOClass(Component comp) {		
 		return new ComponentPOJOClass(comp, this);
 	}
@@ -147,6 +161,33 @@ public class Cfg2JavaTool {
 	}*/
 
 
+	/**
+	 * @return the index of the associations of the metadata, built once per 
+	 * metadata the exporter of this tool works with
+	 */
+	public AssociationIndex getAssociationIndex(Metadata md) {
+		AssociationIndex result = associationIndex;
+		if ( result == null || result.getMetadata() != md ) {
+			result = new AssociationIndex( md );
+			associationIndex = result;
+		}
+		return result;
+	}
+
+	/**
+	 * @return the entity and component views of the metadata, built the
+	 * first time they are asked for and shared until the tool is asked for
+	 * the views of another metadata
+	 */
+	public POJOModel getPOJOModel(Metadata md) {
+		POJOModel result = pojoModel;
+		if ( result == null || result.getMetadata() != md ) {
+			result = new POJOModel( md, this );
+			pojoModel = result;
+		}
+		return result;
+	}
+
 	/**
 	 * Returns the typename for a property, using generics if this is a Set type and useGenerics is set to true.
 	 */
@@ -155,6 +196,14 @@ public class Cfg2JavaTool {
 	}
 
 	public String getJavaTypeName(Property p, boolean useGenerics, ImportContext importContext) {
+		if ( importContext instanceof BasicPOJOClass ) {
+			// the pojo remembers the type names it imported
+			return ( (BasicPOJOClass) importContext ).getJavaTypeName( p, useGenerics );
+		}
+		return resolveJavaTypeName( p, useGenerics, importContext );
+	}
+
+	String resolveJavaTypeName(Property p, boolean useGenerics, ImportContext importContext) {
 		String overrideType = getMetaAsString( p, "property-type" );
 		if ( !StringHelper.isEmpty( overrideType ) ) {
 			String importType = importContext.importType(overrideType);			
@@ -191,9 +240,7 @@ public class Cfg2JavaTool {
 
 	static public boolean isNonPrimitiveTypeName(String typeName) {
 		return (!PRIMITIVES.containsKey( typeName ))
-				&& new TypeConfiguration()
-				.getBasicTypeRegistry()
-				.getRegisteredType(typeName) != null;
+				&& BasicTypeNames.isRegistered( typeName );
 	}
 
 	private String getRawTypeName(Property p, boolean useGenerics, boolean preferRawTypeNames, ImportContext importContext) {
@@ -310,12 +357,19 @@ public class Cfg2JavaTool {
 	 *         TODO: handle this in a template ?
 	 */
 	public String asNaturalIdParameterList(PersistentClass clazz) {
+		return asNaturalIdParameterList( clazz, new NoopImportContext() );
+	}
+
+	/**
+	 * @return "String name, int number, ..." for the natural id, with the types imported in the import context
+	 */
+	public String asNaturalIdParameterList(PersistentClass clazz, ImportContext ic) {
 		Iterator<?> fields = clazz.getRootClass().getPropertyIterator();
 		StringBuffer buf = new StringBuffer();
 		while ( fields.hasNext() ) {
 			Property field = (Property) fields.next();
 			if ( field.isNaturalIdentifier() ) {
-				buf.append( getJavaTypeName( field, false ) ) 
+				buf.append( getJavaTypeName( field, false, ic ) ) 
 						.append( " " )
 						.append( field.getName() )
 						.append( ", " );
@@ -338,28 +392,13 @@ public class Cfg2JavaTool {
 		while ( iter.hasNext() ) {
 			Entry<Object,Object> entry = iter.next();
 			String typename = null;
-			Type type = null;
 			if(entry.getValue() instanceof String) {
-				try {
-					type = new TypeConfiguration()
-							.getBasicTypeRegistry()
-							.getRegisteredType((String) entry.getValue());
-				} catch(Throwable t) {
-					type = null;
+				typename = BasicTypeNames.getJavaTypeName( (String) entry.getValue() );
+				if(typename==null) {
 					typename = (String) entry.getValue();
 				}
 			}
 			
-			if(type!=null) {
-				Class<?> typeClass;
-				if ( type instanceof PrimitiveType ) {
-					typeClass = ( (PrimitiveType<?>) type ).getPrimitiveClass();
-				}
-				else {
-					typeClass = type.getReturnedClass();
-				}
-				typename = typeClass.getName();
-			}
 			buf.append( ctx.importType( typename ))
 					.append( " " )
 					.append( entry.getKey() );
@@ -382,8 +421,7 @@ public class Cfg2JavaTool {
 		return ( value instanceof Component );
 	}	
 	
-	// TODO: should consult exporter/cfg2java tool for cached POJOEntities....or maybe not since they
-	// have their own state...
+	// creates new views, see getPOJOModel for the views shared by the renders of a metadata
 	public Iterator<POJOClass> getPOJOIterator(
 			final Iterator<PersistentClass> persistentClasses) {
 		return new Iterator<POJOClass>() {		
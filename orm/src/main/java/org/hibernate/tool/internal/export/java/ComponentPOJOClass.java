@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.hibernate.boot.Metadata;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.Property;
 
@@ -97,9 +98,29 @@ public class ComponentPOJOClass extends BasicPOJOClass {
 		return "";
 	}
 
+	public String generateAnnCacheAnnotation() {
+		return "";
+	}
+
+	public boolean isImmutable() {
+		return false;
+	}
+
 	public String generateAnnTableUniqueConstraint() {
 		return "";
 	}
+
+	public String generateAnnTableIndexes() {
+		return "";
+	}
+
+	public String generateAnnEntityGraphs(Metadata md) {
+		return "";
+	}
+
+	public List<String> getEntityGraphNames() {
+		return Collections.emptyList();
+	}
 	
 	public Object getDecoratedObject() {
 		return clazz;
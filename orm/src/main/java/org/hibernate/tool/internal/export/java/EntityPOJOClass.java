@@ -6,12 +6,16 @@ import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.boot.Metadata;
+import org.hibernate.id.OptimizableGenerator;
 import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
 import org.hibernate.id.enhanced.TableGenerator;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.JoinedIterator;
@@ -19,8 +23,10 @@ import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.Formula;
+import org.hibernate.mapping.Index;
 import org.hibernate.mapping.KeyValue;
 import org.hibernate.mapping.ManyToOne;
+import org.hibernate.mapping.MetaAttribute;
 import org.hibernate.mapping.OneToMany;
 import org.hibernate.mapping.OneToOne;
 import org.hibernate.mapping.PersistentClass;
@@ -41,6 +47,8 @@ import org.hibernate.type.ForeignKeyDirection;
 public class EntityPOJOClass extends BasicPOJOClass {
 
 	private PersistentClass clazz;
+	// the metadata the cached collection annotations were generated with
+	private Metadata collectionAnnotationMetadata;
 
 	public EntityPOJOClass(PersistentClass clazz, Cfg2JavaTool cfg) {
 		super(clazz, cfg);
@@ -185,6 +193,42 @@ public class EntityPOJOClass extends BasicPOJOClass {
 		return clazz.getIdentifierProperty();
 	}
 
+	public boolean isEqualsByIdentifier() {
+		if ( !isLazySafe() || !clazz.hasIdentifierProperty() ) {
+			return false;
+		}
+		List<Property> identity = getIdentityProperties();
+		return identity.size() == 1 && identity.get( 0 ) == clazz.getIdentifierProperty();
+	}
+
+	/**
+	 * @return the natural id of the entity, or else its identifier or the 
+	 * properties of its embedded identifier 
+	 */
+	protected List<Property> getIdentityProperties() {
+		List<Property> result = new ArrayList<Property>();
+		Iterator<Property> iterator = getAllPropertiesIterator();
+		while ( iterator.hasNext() ) {
+			Property property = iterator.next();
+			if ( property.isNaturalIdentifier() ) {
+				result.add( property );
+			}
+		}
+		if ( result.isEmpty() ) {
+			PersistentClass root = clazz.getRootClass();
+			if ( root.hasIdentifierProperty() ) {
+				result.add( root.getIdentifierProperty() );
+			}
+			else if ( root.hasEmbeddedIdentifier() ) {
+				Iterator<Property> properties = ( (Component) root.getIdentifier() ).getPropertyIterator();
+				while ( properties.hasNext() ) {
+					result.add( properties.next() );
+				}
+			}
+		}
+		return result;
+	}
+
 	public String generateAnnTableUniqueConstraint() {
 		if ( ! ( clazz instanceof Subclass ) ) {
 			Table table = clazz.getTable();
@@ -193,6 +237,146 @@ public class EntityPOJOClass extends BasicPOJOClass {
 		return "";
 	}
 
+	public String generateAnnTableIndexes() {
+		if ( ! ( clazz instanceof Subclass ) ) {
+			return generateAnnTableIndexes( clazz.getTable() );
+		}
+		return "";
+	}
+
+	public String generateAnnEntityGraphs(Metadata md) {
+		List<String> graphs = new ArrayList<String>();
+		Iterator<String[]> specs = getEntityGraphSpecs().iterator();
+		while ( specs.hasNext() ) {
+			String[] spec = specs.next();
+			List<String> subgraphs = new ArrayList<String>();
+			List<String> nodes = buildAttributeNodes( md, clazz, Integer.parseInt( spec[1] ), "", subgraphs );
+			AnnotationBuilder graph = AnnotationBuilder.createAnnotation( importType( "javax.persistence.NamedEntityGraph" ) )
+					.addQuotedAttribute( "name", spec[0] )
+					.addAttribute( "attributeNodes", nodes.toArray( new String[nodes.size()] ) )
+					.addAttribute( "subgraphs", subgraphs.toArray( new String[subgraphs.size()] ) );
+			graphs.add( graph.getResult() );
+		}
+		if ( graphs.size() == 1 ) {
+			return graphs.get( 0 );
+		}
+		AnnotationBuilder builder = AnnotationBuilder.createAnnotation( "dummyAnnotation" );
+		builder.addAttributes( "dummyAttribute", graphs.iterator() );
+		String attributeAsString = builder.getAttributeAsString( "dummyAttribute" );
+		return attributeAsString == null ? "" : "@" + importType( "javax.persistence.NamedEntityGraphs" ) + "(" + attributeAsString + ")";
+	}
+
+	public List<String> getEntityGraphNames() {
+		List<String> result = new ArrayList<String>();
+		Iterator<String[]> specs = getEntityGraphSpecs().iterator();
+		while ( specs.hasNext() ) {
+			result.add( specs.next()[0] );
+		}
+		return result;
+	}
+
+	/**
+	 * @return the registered name and the depth of each graph of the "entity-graph"
+	 * meta attribute, whose values are a name and an optional depth, e.g. 
+	 * "default" or "withCustomer:2". The names are qualified with the JPA entity
+	 * name, as the graphs of all entities share one namespace.
+	 */
+	private List<String[]> getEntityGraphSpecs() {
+		List<String[]> result = new ArrayList<String[]>();
+		MetaAttribute metaAttribute = clazz.getMetaAttribute( "entity-graph" );
+		if ( metaAttribute == null ) {
+			return result;
+		}
+		String prefix = StringHelper.unqualify( clazz.getJpaEntityName() != null ? clazz.getJpaEntityName() : clazz.getEntityName() ) + ".";
+		Iterator<?> values = metaAttribute.getValues().iterator();
+		while ( values.hasNext() ) {
+			String value = values.next().toString().trim();
+			String name = value;
+			String depth = "1";
+			int loc = value.indexOf( ':' );
+			if ( loc >= 0 ) {
+				name = value.substring( 0, loc ).trim();
+				depth = value.substring( loc + 1 ).trim();
+				try {
+					Integer.parseInt( depth );
+				}
+				catch (NumberFormatException e) {
+					throw new RuntimeException( "Invalid depth in entity-graph '" + value + "' of " + clazz.getEntityName(), e );
+				}
+			}
+			if ( name.length() > 0 ) {
+				result.add( new String[] { prefix + name, depth } );
+			}
+		}
+		return result;
+	}
+
+	// the to-one associations of the class, with the subgraphs of their entities up to the depth
+	private List<String> buildAttributeNodes(Metadata md, PersistentClass pc, int depth, String path, List<String> subgraphs) {
+		List<String> result = new ArrayList<String>();
+		Iterator<?> properties = pc.getPropertyClosureIterator();
+		while ( properties.hasNext() ) {
+			Property property = (Property) properties.next();
+			if ( property.isBackRef() || !( property.getValue() instanceof ToOne ) ) {
+				continue;
+			}
+			AnnotationBuilder node = AnnotationBuilder.createAnnotation( importType( "javax.persistence.NamedAttributeNode" ) )
+					.addQuotedAttribute( "value", property.getName() );
+			PersistentClass target = depth > 1 && md != null ? 
+					md.getEntityBinding( ( (ToOne) property.getValue() ).getReferencedEntityName() ) : null;
+			if ( target != null ) {
+				// subgraph names are unique within the graph
+				String subgraphPath = path.length() == 0 ? property.getName() : path + "." + property.getName();
+				List<String> nodes = buildAttributeNodes( md, target, depth - 1, subgraphPath, subgraphs );
+				if ( !nodes.isEmpty() ) {
+					node.addQuotedAttribute( "subgraph", subgraphPath );
+					subgraphs.add( AnnotationBuilder.createAnnotation( importType( "javax.persistence.NamedSubgraph" ) )
+							.addQuotedAttribute( "name", subgraphPath )
+							.addAttribute( "attributeNodes", nodes.toArray( new String[nodes.size()] ) )
+							.getResult() );
+				}
+			}
+			result.add( node.getResult() );
+		}
+		return result;
+	}
+
+	public boolean isImmutable() {
+		return clazz instanceof RootClass && !clazz.isMutable();
+	}
+
+	public String generateAnnCacheAnnotation() {
+		if ( !( clazz instanceof RootClass ) ) {
+			return "";
+		}
+		RootClass root = (RootClass) clazz;
+		StringBuffer result = new StringBuffer();
+		String usage = root.getCacheConcurrencyStrategy();
+		if ( usage != null ) {
+			CacheConcurrencyStrategy strategy = CacheConcurrencyStrategy.parse( usage );
+			AnnotationBuilder cache = AnnotationBuilder.createAnnotation( importType( "org.hibernate.annotations.Cache" ) )
+					.addAttribute( "usage", importType( "org.hibernate.annotations.CacheConcurrencyStrategy" ) + "."
+							+ ( strategy == null ? usage.toUpperCase(Locale.ROOT).replace( '-', '_' ) : strategy.name() ) );
+			String region = root.getCacheRegionName();
+			if ( region != null && !region.equals( clazz.getEntityName() ) ) {
+				cache.addQuotedAttribute( "region", region );
+			}
+			result.append( "@" ).append( importType( "javax.persistence.Cacheable" ) ).append( "\n" ).append( cache.getResult() );
+		}
+		String naturalIdRegion = root.getNaturalIdCacheRegionName();
+		if ( naturalIdRegion != null ) {
+			AnnotationBuilder naturalIdCache = AnnotationBuilder.createAnnotation( importType( "org.hibernate.annotations.NaturalIdCache" ) );
+			if ( !naturalIdRegion.equals( clazz.getEntityName() + "##NaturalId" ) ) {
+				naturalIdCache.addQuotedAttribute( "region", naturalIdRegion );
+			}
+			if ( result.length() > 0 ) {
+				result.append( "\n" );
+			}
+			result.append( naturalIdCache.getResult() );
+		}
+		return result.toString();
+	}
+
 	protected String generateAnnTableUniqueConstraint(Table table) {
 		Iterator<UniqueKey> uniqueKeys = table.getUniqueKeyIterator();
 		List<String> cons = new ArrayList<String>();
@@ -217,6 +401,37 @@ public class EntityPOJOClass extends BasicPOJOClass {
 	}
 
 
+	protected String generateAnnTableIndexes(Table table) {
+		Iterator<Index> indexes = table.getIndexIterator();
+		List<String> result = new ArrayList<String>();
+		while ( indexes.hasNext() ) {
+			Index index = indexes.next();
+			// the columns in the order of the index, e.g. "LAST_NAME, FIRST_NAME desc"
+			StringBuffer columnList = new StringBuffer();
+			Iterator<Column> columns = index.getColumnIterator();
+			while ( columns.hasNext() ) {
+				Column column = columns.next();
+				if ( columnList.length() > 0 ) {
+					columnList.append( ", " );
+				}
+				columnList.append( column.getName() );
+				String order = index.getColumnOrderMap().get( column );
+				if ( order != null ) {
+					columnList.append( ' ' ).append( order );
+				}
+			}
+			AnnotationBuilder builder = AnnotationBuilder.createAnnotation( importType( "javax.persistence.Index" ) )
+					.addQuotedAttribute( "name", index.getName() )
+					.addQuotedAttribute( "columnList", columnList.toString() );
+			result.add( builder.getResult() );
+		}
+
+		AnnotationBuilder builder = AnnotationBuilder.createAnnotation( "dummyAnnotation" );
+		builder.addAttributes( "dummyAttribute", result.iterator() );
+		String attributeAsString = builder.getAttributeAsString( "dummyAttribute" );
+		return attributeAsString==null?"":attributeAsString;
+	}
+
 	public String generateAnnIdGenerator() {
 		KeyValue identifier = clazz.getIdentifier();
 		String strategy = null;
@@ -244,7 +459,7 @@ public class EntityPOJOClass extends BasicPOJOClass {
 						builder.addAttribute( "strategy", staticImport("javax.persistence.GenerationType", "IDENTITY" ) );
 						idResult.append(builder.getResult());
 					}
-					else if ( "sequence".equals( strategy ) ) {
+					else if ( "sequence".equals( strategy ) && isPooledOptimizer( properties ) ) {
 						builder.resetAnnotation( importType("javax.persistence.GeneratedValue") )
 							.addAttribute( "strategy", staticImport("javax.persistence.GenerationType", "SEQUENCE" ) )
 						    .addQuotedAttribute( "generator", clazz.getClassName()+"IdGenerator" );
@@ -253,7 +468,13 @@ public class EntityPOJOClass extends BasicPOJOClass {
 						builder.resetAnnotation( importType("javax.persistence.SequenceGenerator") )
 							.addQuotedAttribute( "name", clazz.getClassName()+"IdGenerator" ) 
 							.addQuotedAttribute( "sequenceName", properties.getProperty(  org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM, null ) );
-							//	TODO HA does not support initialValue and allocationSize
+						if ( ! isPropertyDefault( OptimizableGenerator.INITIAL_PARAM, properties ) ) {
+							builder.addAttribute( "initialValue", properties.getProperty( OptimizableGenerator.INITIAL_PARAM ) );
+						}
+						// the JPA default of 50 must not be used for a sequence incremented otherwise by the database
+						if ( ! isPropertyDefault( OptimizableGenerator.INCREMENT_PARAM, properties ) ) {
+							builder.addAttribute( "allocationSize", properties.getProperty( OptimizableGenerator.INCREMENT_PARAM ) );
+						}
 						wholeString.append( builder.getResult() );
 					}
 					else if ( TableGenerator.class.getName().equals( strategy ) ) {
@@ -326,6 +547,12 @@ public class EntityPOJOClass extends BasicPOJOClass {
 		wholeString.append( builder.getResult() + "\n    " );
 	}
 
+	// a sequence generator of JPA uses the pooled optimizer, other optimizers need a generic generator
+	private boolean isPooledOptimizer(Properties properties) {
+		String optimizer = properties == null ? null : properties.getProperty( OptimizableGenerator.OPT_PARAM );
+		return optimizer == null || StandardOptimizerDescriptor.POOLED.getExternalName().equals( optimizer );
+	}
+
 	private boolean isPropertyDefault(String property, Properties properties) {
 		return StringHelper.isEmpty( properties.getProperty( property ) );
 	}
@@ -564,6 +791,18 @@ public class EntityPOJOClass extends BasicPOJOClass {
 	}
 
 	public String generateCollectionAnnotation(Property property, Metadata md) {
+		if ( md != collectionAnnotationMetadata ) {
+			clearDerivations( COLLECTION_ANNOTATION );
+			collectionAnnotationMetadata = md;
+		}
+		String result = getDerivation( property, COLLECTION_ANNOTATION );
+		if ( result == null ) {
+			result = putDerivation( property, COLLECTION_ANNOTATION, buildCollectionAnnotation( property, md ) );
+		}
+		return result;
+	}
+
+	private String buildCollectionAnnotation(Property property, Metadata md) {
 		StringBuffer annotation = new StringBuffer();
 		Value value = property.getValue();
 		if ( value != null && value instanceof Collection) {
@@ -635,126 +874,57 @@ public class EntityPOJOClass extends BasicPOJOClass {
 			}
 			String hibernateCascade = getHibernateCascadeTypeAnnotation( property );
 			if (hibernateCascade.length() > 0) annotation.append("\n    ").append(hibernateCascade);
+			appendFetchPlanAnnotations( annotation, collection );
 		}
 		return annotation.toString();
 	}
 
-	private String getManyToManyMappedBy(Metadata md, Collection collection) {
-		String mappedBy;
-		Iterator<Selectable> joinColumnsIt = collection.getKey().getColumnIterator();
-		Set<Selectable> joinColumns = new HashSet<Selectable>();
-		while ( joinColumnsIt.hasNext() ) {
-			joinColumns.add( joinColumnsIt.next() );
+	// the Hibernate annotations of the fetch plan JPA has no equivalent for
+	private void appendFetchPlanAnnotations(StringBuffer annotation, Collection collection) {
+		if ( collection.isSubselectLoadable() ) {
+			annotation.append( "\n    " ).append( AnnotationBuilder.createAnnotation( importType( "org.hibernate.annotations.Fetch" ) )
+					.addAttribute( "value", importType( "org.hibernate.annotations.FetchMode" ) + ".SUBSELECT" )
+					.getResult() );
+		}
+		if ( collection.getBatchSize() > 1 ) {
+			annotation.append( "\n    " ).append( AnnotationBuilder.createAnnotation( importType( "org.hibernate.annotations.BatchSize" ) )
+					.addAttribute( "size", String.valueOf( collection.getBatchSize() ) )
+					.getResult() );
 		}
+		if ( collection.isExtraLazy() ) {
+			annotation.append( "\n    " ).append( AnnotationBuilder.createAnnotation( importType( "org.hibernate.annotations.LazyCollection" ) )
+					.addAttribute( "value", importType( "org.hibernate.annotations.LazyCollectionOption" ) + ".EXTRA" )
+					.getResult() );
+		}
+	}
+
+	private String getManyToManyMappedBy(Metadata md, Collection collection) {
 		ManyToOne manyToOne = (ManyToOne) collection.getElement();
-		PersistentClass pc = md.getEntityBinding(manyToOne.getReferencedEntityName());
-		Iterator<?> properties = pc.getPropertyClosureIterator();
 		//TODO we should check the table too
-		boolean isOtherSide = false;
-		mappedBy = "unresolved";
-		while ( ! isOtherSide && properties.hasNext() ) {
-			Property collectionProperty = (Property) properties.next();
-			Value collectionValue = collectionProperty.getValue();
-			if ( collectionValue != null && collectionValue instanceof Collection ) {
-				Collection realCollectionValue = (Collection) collectionValue;
-				if ( ! realCollectionValue.isOneToMany() ) {
-					if ( joinColumns.size() == realCollectionValue.getElement().getColumnSpan() ) {
-						isOtherSide = true;
-						Iterator<?> it = realCollectionValue.getElement().getColumnIterator();
-						while ( it.hasNext() ) {
-							Object column = it.next();
-							if (! joinColumns.contains( column ) ) {
-								isOtherSide = false;
-								break;
-							}
-						}
-						if (isOtherSide) {
-							mappedBy = collectionProperty.getName();
-						}
-					}
-				}
-			}
-		}
-		return mappedBy;
+		String mappedBy = c2j.getAssociationIndex( md ).getManyToManyProperty(
+				manyToOne.getReferencedEntityName(), 
+				collection.getKey().getColumnIterator() );
+		return mappedBy == null ? "unresolved" : mappedBy;
 	}
 
 	private String getOneToManyMappedBy(Metadata md, Collection collection) {
-		String mappedBy;
-		Iterator<Selectable> joinColumnsIt = collection.getKey().getColumnIterator();
-		Set<Selectable> joinColumns = new HashSet<Selectable>();
-		while ( joinColumnsIt.hasNext() ) {
-			joinColumns.add( joinColumnsIt.next() );
-		}
 		OneToMany oneToMany = (OneToMany) collection.getElement();
-		PersistentClass pc = md.getEntityBinding(oneToMany.getReferencedEntityName());
-		Iterator<?> properties = pc.getPropertyClosureIterator();
 		//TODO we should check the table too
-		boolean isOtherSide = false;
-		mappedBy = "unresolved";
-		while ( ! isOtherSide && properties.hasNext() ) {
-			Property manyProperty = (Property) properties.next();
-			Value manyValue = manyProperty.getValue();
-			if ( manyValue != null && manyValue instanceof ManyToOne ) {
-				if ( joinColumns.size() == manyValue.getColumnSpan() ) {
-					isOtherSide = true;
-					Iterator<?> it = manyValue.getColumnIterator();
-					while ( it.hasNext() ) {
-						Object column = it.next();
-						if (! joinColumns.contains( column ) ) {
-							isOtherSide = false;
-							break;
-						}
-					}
-					if (isOtherSide) {
-						mappedBy = manyProperty.getName();
-					}
-				}
-
-			}
-		}
-		return mappedBy;
+		String mappedBy = c2j.getAssociationIndex( md ).getManyToOneProperty(
+				oneToMany.getReferencedEntityName(), 
+				collection.getKey().getColumnIterator() );
+		return mappedBy == null ? "unresolved" : mappedBy;
 	}
 
 	private String getOneToOneMappedBy(Metadata md, OneToOne oneToOne) {
-		String mappedBy;
-		Iterator<Selectable> joinColumnsIt = oneToOne.getColumnIterator();
-		Set<Selectable> joinColumns = new HashSet<Selectable>();
-		while ( joinColumnsIt.hasNext() ) {
-			joinColumns.add( joinColumnsIt.next() );
-		}
-		PersistentClass pc = md.getEntityBinding(oneToOne.getReferencedEntityName());
 		String referencedPropertyName = oneToOne.getReferencedPropertyName();
 		if ( referencedPropertyName != null )
 			return referencedPropertyName;
-
-		Iterator<?> properties = pc.getPropertyClosureIterator();
 		//TODO we should check the table too
-		boolean isOtherSide = false;
-		mappedBy = "unresolved";
-
-
-		while ( ! isOtherSide && properties.hasNext() ) {
-			Property oneProperty = (Property) properties.next();
-			Value manyValue = oneProperty.getValue();
-			if ( manyValue != null && ( manyValue instanceof OneToOne || manyValue instanceof ManyToOne ) ) {
-				if ( joinColumns.size() == manyValue.getColumnSpan() ) {
-					isOtherSide = true;
-					Iterator<?> it = manyValue.getColumnIterator();
-					while ( it.hasNext() ) {
-						Object column = it.next();
-						if (! joinColumns.contains( column ) ) {
-							isOtherSide = false;
-							break;
-						}
-					}
-					if (isOtherSide) {
-						mappedBy = oneProperty.getName();
-					}
-				}
-
-			}
-		}
-		return mappedBy;
+		String mappedBy = c2j.getAssociationIndex( md ).getToOneProperty(
+				oneToOne.getReferencedEntityName(), 
+				oneToOne.getColumnIterator() );
+		return mappedBy == null ? "unresolved" : mappedBy;
 	}
 
 	public boolean isSubclass() {
@@ -1,19 +1,20 @@
 package org.hibernate.tool.internal.export.java;
 
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.internal.util.StringHelper;
 
 public class ImportContextImpl implements ImportContext {
 
-	Set<String> imports = new TreeSet<String>();
-	Set<String> staticImports = new TreeSet<String>();
+	Set<String> imports = new HashSet<String>();
+	Set<String> staticImports = new HashSet<String>();
 	Map<String, String> simpleNames = new HashMap<String, String>();
-	
+
 	String basePackage = "";
 
 	// TODO: share this somehow, redundant from Cfg2JavaTool
@@ -33,6 +34,10 @@ public class ImportContextImpl implements ImportContext {
 
 	}
 
+	// the same type names are imported in every generated file, they are parsed once per process
+	private static final int MAX_PARSED_TYPES = 10000;
+	private static final Map<String, TypeName> PARSED_TYPES = new ConcurrentHashMap<String, TypeName>();
+
 	public ImportContextImpl(String basePackage) {
 		this.basePackage = basePackage;
 	}
@@ -40,77 +45,62 @@ public class ImportContextImpl implements ImportContext {
 	/**
 	 * Add fqcn to the import list. Returns fqcn as needed in source code.
 	 * Attempts to handle fqcn with array and generics references.
-	 * 
+	 *
 	 * e.g.
 	 * java.util.Collection<org.marvel.Hulk> imports java.util.Collection and returns Collection
 	 * org.marvel.Hulk[] imports org.marvel.Hulk and returns Hulk
-	 * 
-	 * 
+	 *
+	 *
 	 * @param fqcn
 	 * @return import string
 	 */
 	public String importType(String fqcn) {
-		String result = fqcn;		
-		
-		String additionalTypePart = null;
-		if(fqcn.indexOf('<')>=0) {
-			additionalTypePart = result.substring(fqcn.indexOf('<'));
-			result = result.substring(0,fqcn.indexOf('<'));
-			fqcn = result;
-		} else if(fqcn.indexOf('[')>=0) {
-			additionalTypePart = result.substring(fqcn.indexOf('['));
-			result = result.substring(0,fqcn.indexOf('['));
-			fqcn = result;
-		}
-		
-		String pureFqcn = fqcn.replace( '$', '.' );
-		
+		TypeName type = parse(fqcn);
+
 		boolean canBeSimple = true;
-		
-		
-		String simpleName = StringHelper.unqualify(fqcn);
-		if(simpleNames.containsKey(simpleName)) {
-			String existingFqcn = (String) simpleNames.get(simpleName);
-			if(existingFqcn.equals(pureFqcn)) {
-				canBeSimple = true;
-			} else {
-				canBeSimple = false;
-			}
+
+		String existingFqcn = simpleNames.get(type.simpleName);
+		if(existingFqcn != null) {
+			canBeSimple = existingFqcn.equals(type.pureFqcn);
 		} else {
-			canBeSimple = true;
-			simpleNames.put(simpleName, pureFqcn);
-			imports.add( pureFqcn );
-		}
-		
-		
-		if ( inSamePackage(fqcn) || (imports.contains( pureFqcn ) && canBeSimple) ) {
-			result = StringHelper.unqualify( result ); // dequalify
-		} else if ( inJavaLang( fqcn ) ) {
-			result = result.substring( "java.lang.".length() );
+			simpleNames.put(type.simpleName, type.pureFqcn);
+			imports.add( type.pureFqcn );
 		}
 
-		if(additionalTypePart!=null) {
-			result = result + additionalTypePart;
-		} 
-		
-		result = result.replace( '$', '.' );
-		return result;		
+		// a simple name is only registered together with its import
+		if ( type.isIn(basePackage) || canBeSimple ) {
+			return type.simpleReference; // dequalify
+		} else if ( type.inJavaLang ) {
+			return type.javaLangReference;
+		}
+		return type.qualifiedReference;
 	}
-	
+
 	public String staticImport(String fqcn, String member) {
 		String local = fqcn + "." + member;
 		imports.add(local);
 		staticImports.add(local);
-		
+
 		if(member.equals("*")) {
 			return "";
 		} else {
 			return member;
 		}
 	}
-	
+
+	private static TypeName parse(String fqcn) {
+		TypeName result = PARSED_TYPES.get(fqcn);
+		if (result == null) {
+			result = new TypeName(fqcn);
+			if (PARSED_TYPES.size() < MAX_PARSED_TYPES) {
+				PARSED_TYPES.put(fqcn, result);
+			}
+		}
+		return result;
+	}
+
 	private boolean inDefaultPackage(String className) {
-		return className.indexOf( "." ) < 0;
+		return className.indexOf( '.' ) < 0;
 	}
 
 	private boolean isPrimitive(String className) {
@@ -118,34 +108,90 @@ public class ImportContextImpl implements ImportContext {
 	}
 
 	private boolean inSamePackage(String className) {
-		String other = StringHelper.qualifier( className );
-		return other == basePackage
-				|| (other != null && other.equals( basePackage ) );
+		return isInPackage( className, basePackage );
 	}
 
 	private boolean inJavaLang(String className) {
-		return "java.lang".equals( StringHelper.qualifier( className ) );
+		return isInPackage( className, "java.lang" );
+	}
+
+	// same as comparing the package to StringHelper.qualifier(className), without the substring
+	private static boolean isInPackage(String className, String packageName) {
+		if ( packageName == null ) {
+			return false;
+		}
+		int loc = className.lastIndexOf( '.' );
+		if ( loc < 0 ) {
+			return packageName.length() == 0;
+		}
+		return loc == packageName.length() && className.startsWith( packageName );
 	}
 
 	public String generateImports() {
-		StringBuffer buf = new StringBuffer();
-		
-		for ( Iterator<String> imps = imports.iterator(); imps.hasNext(); ) {
-				String next = imps.next();
+		String[] sorted = imports.toArray( new String[imports.size()] );
+		Arrays.sort( sorted );
+		StringBuilder buf = new StringBuilder();
+
+		for ( int i = 0; i < sorted.length; i++ ) {
+				String next = sorted[i];
 				if(isPrimitive(next) || inDefaultPackage(next) || inJavaLang(next) || inSamePackage(next)) {
 					// dont add automatically "imported" stuff
 				} else {
 					if(staticImports.contains(next)) {
-						buf.append("import static " + next + ";\r\n");
+						buf.append("import static ").append(next).append(";\r\n");
 					} else {
-						buf.append("import " + next + ";\r\n");
+						buf.append("import ").append(next).append(";\r\n");
 					}
 				}
 		}
-		
-		if(buf.indexOf( "$" )>=0) {
-			return buf.toString();
+
+		return buf.toString();
+	}
+
+	/**
+	 * A type name split in its parts, with the ways it can be referenced
+	 * in source code.
+	 */
+	private static class TypeName {
+
+		// e.g. "org.marvel.Outer$Hulk" for "org.marvel.Outer$Hulk[]"
+		final String fqcn;
+		// the name it is imported with, e.g. "org.marvel.Outer.Hulk"
+		final String pureFqcn;
+		final String simpleName;
+		final String packageName;
+		final boolean inJavaLang;
+		final String simpleReference;
+		final String javaLangReference;
+		final String qualifiedReference;
+
+		TypeName(String type) {
+			// the generic arguments or array dimensions, e.g. "<org.marvel.Hulk>"
+			String suffix = "";
+			int loc = type.indexOf( '<' );
+			if ( loc < 0 ) {
+				loc = type.indexOf( '[' );
+			}
+			if ( loc >= 0 ) {
+				suffix = type.substring( loc );
+				fqcn = type.substring( 0, loc );
+			}
+			else {
+				fqcn = type;
+			}
+			pureFqcn = fqcn.replace( '$', '.' );
+			simpleName = StringHelper.unqualify( fqcn );
+			packageName = StringHelper.qualifier( fqcn );
+			inJavaLang = "java.lang".equals( packageName );
+			simpleReference = ( simpleName + suffix ).replace( '$', '.' );
+			javaLangReference = inJavaLang ? ( fqcn.substring( "java.lang.".length() ) + suffix ).replace( '$', '.' ) : null;
+			qualifiedReference = ( fqcn + suffix ).replace( '$', '.' );
 		}
-		return buf.toString();            
+
+		boolean isIn(String otherPackage) {
+			return packageName == otherPackage
+					|| ( packageName != null && packageName.equals( otherPackage ) );
+		}
+
 	}
 }
@@ -13,6 +13,12 @@ public class JavaExporter extends GenericExporter {
 
 	private static final String POJO_JAVACLASS_FTL = "pojo/Pojo.ftl";
 
+	/**
+	 * Property ("true" or "false") generating the classes without a "lazy-safe"
+	 * meta attribute lazy-safe, see {@link POJOClass#isLazySafe()}
+	 */
+	public static final String LAZY_SAFE = "lazy-safe";
+
 	protected void init() {
     	getProperties().put(TEMPLATE_NAME, POJO_JAVACLASS_FTL);
     	getProperties().put(FILE_PATTERN, "{package-name}/{class-name}.java");
@@ -34,6 +40,10 @@ public class JavaExporter extends GenericExporter {
 		if(!getProperties().containsKey("jdk5")) {
 			getProperties().put("jdk5", "false");
 		}	
+		Object lazySafe = getProperties().get(LAZY_SAFE);
+		if (lazySafe != null) {
+			getCfg2JavaTool().setLazySafeByDefault(Boolean.parseBoolean(lazySafe.toString()));
+		}
 		super.setupContext();
 	}
 }
@@ -10,4 +10,5 @@ public interface MetaAttributeConstants {
 	static final String IMPLEMENTS = "implements";
 	static final String EXTENDS = "extends";
 	static final String GEN_PROPERTY = "gen-property"; // in templates.
+	static final String LAZY_SAFE = "lazy-safe";
 }
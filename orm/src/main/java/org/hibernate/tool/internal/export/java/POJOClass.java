@@ -3,6 +3,7 @@ package org.hibernate.tool.internal.export.java;
 import java.util.Iterator;
 import java.util.List;
 
+import org.hibernate.boot.Metadata;
 import org.hibernate.mapping.Property;
 
 /**
@@ -59,12 +60,32 @@ public interface POJOClass extends ImportContext {
 	public String getExtraClassCode();
 		
 	public boolean needsEqualsHashCode();
+	/** 
+	 * @return whether equals and hashCode only use the identifier or natural id of the entity
+	 * and toString only the properties loaded with it, see the "lazy-safe" meta attribute 
+	 */
+	public boolean isLazySafe();
+	/** @return whether equals compares the identifier, which changes when the entity is persisted */
+	public boolean isEqualsByIdentifier();
 	
 	public boolean hasIdentifierProperty();
 	
 	public String generateAnnColumnAnnotation(Property property);
 	public String generateAnnIdGenerator();
 	public String generateAnnTableUniqueConstraint();
+	/** @return the @Index annotations of the indexes of the table, or "" if it has none */
+	public String generateAnnTableIndexes();
+	/** @return the @Cache and @NaturalIdCache annotations of the entity, or "" if it isn't cached */
+	public String generateAnnCacheAnnotation();
+	/** 
+	 * @return the @NamedEntityGraph annotations of the graphs of the "entity-graph" 
+	 * meta attribute of the entity, or "" if it has none
+	 */
+	public String generateAnnEntityGraphs(Metadata md);
+	/** @return the names the graphs of the "entity-graph" meta attribute of the entity are registered with */
+	public List<String> getEntityGraphNames();
+	/** @return whether the class is an entity Hibernate does not update */
+	public boolean isImmutable();
 	public String generateBasicAnnotation(Property property);
 	public Iterator<Property> getAllPropertiesIterator();
 
@@ -0,0 +1,110 @@
+package org.hibernate.tool.internal.export.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Component;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.tool.internal.export.common.ConfigurationNavigator;
+
+/**
+ * The {@link POJOClass} views of the entities and components of a metadata,
+ * built once and shared by everything rendering that metadata: the model
+ * iterators of an exporter, the helpers of its templates and the next run of
+ * the same exporter.
+ * <p>
+ * The components are collected in the same pass over the entity bindings
+ * that builds the entity views. Each view keeps the imports of the file it
+ * is rendered to, so a view must be {@link #reset(POJOClass) reset} before
+ * it is rendered again.
+ */
+public class POJOModel {
+
+	private final Metadata metadata;
+	private final List<POJOClass> entities = new ArrayList<POJOClass>();
+	private final Map<String, POJOClass> entitiesByName = new HashMap<String, POJOClass>();
+	private final List<POJOClass> components = new ArrayList<POJOClass>();
+	private final Map<Component, POJOClass> componentsByValue = new IdentityHashMap<Component, POJOClass>();
+	private final Cfg2JavaTool c2j;
+
+	public POJOModel(Metadata metadata, Cfg2JavaTool c2j) {
+		this.metadata = metadata;
+		this.c2j = c2j;
+		Map<String, Component> collected = new HashMap<String, Component>();
+		Iterator<PersistentClass> iterator = metadata.getEntityBindings().iterator();
+		while ( iterator.hasNext() ) {
+			PersistentClass clazz = iterator.next();
+			POJOClass element = c2j.getPOJOClass( clazz );
+			entities.add( element );
+			entitiesByName.put( clazz.getEntityName(), element );
+			ConfigurationNavigator.collectComponents( collected, element );
+		}
+		Iterator<Component> values = collected.values().iterator();
+		while ( values.hasNext() ) {
+			Component component = values.next();
+			POJOClass element = c2j.getPOJOClass( component );
+			components.add( element );
+			componentsByValue.put( component, element );
+		}
+	}
+
+	public Metadata getMetadata() {
+		return metadata;
+	}
+
+	/**
+	 * @return the views of the entities, in the order of the entity bindings
+	 */
+	public List<POJOClass> getEntities() {
+		return Collections.unmodifiableList( entities );
+	}
+
+	/**
+	 * @return the views of the components to generate a class for, that is
+	 * one per component class name
+	 */
+	public List<POJOClass> getComponents() {
+		return Collections.unmodifiableList( components );
+	}
+
+	/**
+	 * @return the shared view of the entity, or a new one if the entity
+	 * isn't bound in the metadata
+	 */
+	public POJOClass getPOJOClass(PersistentClass clazz) {
+		POJOClass result = entitiesByName.get( clazz.getEntityName() );
+		if ( result == null || result.getDecoratedObject() != clazz ) {
+			result = c2j.getPOJOClass( clazz );
+		}
+		return result;
+	}
+
+	/**
+	 * @return the shared view of the component, or a new one for components
+	 * no class is generated for, e.g. dynamic components
+	 */
+	public POJOClass getPOJOClass(Component component) {
+		POJOClass result = componentsByValue.get( component );
+		if ( result == null ) {
+			result = c2j.getPOJOClass( component );
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets the imports and the names derived from them, to start
+	 * rendering a new file.
+	 */
+	public void reset(POJOClass element) {
+		if ( element instanceof BasicPOJOClass ) {
+			( (BasicPOJOClass) element ).init();
+		}
+	}
+
+}
@@ -1,10 +1,15 @@
 package org.hibernate.tool.internal.reveng;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.boot.spi.InFlightMetadataCollector;
 import org.hibernate.boot.spi.MetadataBuildingContext;
@@ -19,6 +24,9 @@ public class RevengMetadataCollector {
 	private final Map<TableIdentifier, Table> tables;
 	private Map<String, List<ForeignKey>> oneToManyCandidates;
 	private final Map<TableIdentifier, String> suggestedIdentifierStrategies;
+	private final Map<String, List<SequenceInfo>> sequences;
+	// by identity, the binders change the catalog and schema of the tables
+	private final Set<Table> views;
 
 	public RevengMetadataCollector(MetadataBuildingContext metadataBuildingContext) {
 		this();
@@ -28,6 +36,8 @@ public class RevengMetadataCollector {
 	public RevengMetadataCollector() {
 		this.tables = new HashMap<TableIdentifier, Table>();
 		this.suggestedIdentifierStrategies = new HashMap<TableIdentifier, String>();
+		this.sequences = new HashMap<String, List<SequenceInfo>>();
+		this.views = Collections.newSetFromMap(new IdentityHashMap<Table, Boolean>());
 	}
 
 	public Iterator<Table> iterateTables() {
@@ -55,6 +65,14 @@ public class RevengMetadataCollector {
 		return result;
 	}
 	
+	public void addView(Table table) {
+		views.add(table);
+	}
+	
+	public boolean isView(Table table) {
+		return views.contains(table);
+	}
+	
 	public Table getTable(TableIdentifier tableIdentifier) {
 		return tables.get(tableIdentifier);
 	}
@@ -79,6 +97,61 @@ public class RevengMetadataCollector {
 		suggestedIdentifierStrategies.put(TableIdentifier.create(catalog, schema, name), idstrategy);
 	}
 	
+	public void addSequence(SequenceInfo sequence) {
+		String key = sequence.getName().toUpperCase(Locale.ENGLISH);
+		List<SequenceInfo> list = sequences.get(key);
+		if (list == null) {
+			list = new ArrayList<SequenceInfo>();
+			sequences.put(key, list);
+		}
+		list.add(sequence);
+	}
+	
+	/**
+	 * Finds a sequence by the name a generator refers to it with, ignoring case. 
+	 * An unqualified name matches the sequence of that name in the given schema 
+	 * or, failing that, the only sequence of that name.
+	 * 
+	 * @param name the sequence name, possibly qualified with its schema
+	 * @return the sequence, or null if it wasn't read or the name is ambiguous
+	 */
+	public SequenceInfo getSequence(String catalog, String schema, String name) {
+		if (name == null) {
+			return null;
+		}
+		int loc = name.lastIndexOf('.');
+		if (loc >= 0) {
+			schema = name.substring(0, loc);
+			loc = schema.lastIndexOf('.');
+			if (loc >= 0) {
+				catalog = schema.substring(0, loc);
+				schema = schema.substring(loc + 1);
+			}
+			name = name.substring(name.lastIndexOf('.') + 1);
+		}
+		List<SequenceInfo> list = sequences.get(unquote(name).toUpperCase(Locale.ENGLISH));
+		if (list == null) {
+			return null;
+		}
+		for (SequenceInfo sequence : list) {
+			if (matches(schema, sequence.getSchema()) && (catalog == null || matches(catalog, sequence.getCatalog()))) {
+				return sequence;
+			}
+		}
+		return list.size() == 1 ? list.get(0) : null;
+	}
+	
+	private boolean matches(String name, String other) {
+		return name != null && other != null && unquote(name).equalsIgnoreCase(other);
+	}
+	
+	private String unquote(String name) {
+		if (name.length() > 1 && (name.charAt(0) == '"' || name.charAt(0) == '`')) {
+			return name.substring(1, name.length() - 1);
+		}
+		return name;
+	}
+	
 	private Table createTable(String catalog, String schema, String name) {
 		Table table = new Table();
 		table.setAbstract(false);
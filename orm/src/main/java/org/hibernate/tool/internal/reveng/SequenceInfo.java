@@ -0,0 +1,53 @@
+package org.hibernate.tool.internal.reveng;
+
+/**
+ * A sequence read from the database, with the numbers the database reports
+ * for it; a number the database doesn't report is null.
+ */
+public class SequenceInfo {
+
+	private final String catalog;
+	private final String schema;
+	private final String name;
+	private final Long startValue;
+	private final Long increment;
+	private final Long cacheSize;
+
+	public SequenceInfo(String catalog, String schema, String name, Long startValue, Long increment, Long cacheSize) {
+		this.catalog = catalog;
+		this.schema = schema;
+		this.name = name;
+		this.startValue = startValue;
+		this.increment = increment;
+		this.cacheSize = cacheSize;
+	}
+
+	public String getCatalog() {
+		return catalog;
+	}
+
+	public String getSchema() {
+		return schema;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Long getStartValue() {
+		return startValue;
+	}
+
+	public Long getIncrement() {
+		return increment;
+	}
+
+	public Long getCacheSize() {
+		return cacheSize;
+	}
+
+	public String toString() {
+		return "SequenceInfo(" + catalog + "." + schema + "." + name + ", start " + startValue + ", increment " + increment + ", cache " + cacheSize + ")";
+	}
+
+}
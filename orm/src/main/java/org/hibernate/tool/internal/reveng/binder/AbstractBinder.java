@@ -38,4 +38,49 @@ abstract class AbstractBinder {
 		return (Boolean)binderContext.properties.get(MetadataConstants.PREFER_BASIC_COMPOSITE_IDS);
 	}
 	
+	boolean isImmutableViews() {
+		Object result = binderContext.properties.get(MetadataConstants.IMMUTABLE_VIEWS);
+		return result == null || Boolean.parseBoolean(result.toString());
+	}
+	
+	String getViewSetterScope() {
+		Object result = binderContext.properties.get(MetadataConstants.VIEW_SETTER_SCOPE);
+		return result == null ? "private" : result.toString();
+	}
+	
+	boolean isCacheViews() {
+		Object result = binderContext.properties.get(MetadataConstants.CACHE_VIEWS);
+		return result != null && Boolean.parseBoolean(result.toString());
+	}
+	
+	boolean isNaturalIds() {
+		Object result = binderContext.properties.get(MetadataConstants.NATURAL_IDS);
+		return result != null && Boolean.parseBoolean(result.toString());
+	}
+	
+	int getDynamicColumns() {
+		Object result = binderContext.properties.get(MetadataConstants.DYNAMIC_COLUMNS);
+		return result == null ? 0 : Integer.parseInt(result.toString().trim());
+	}
+	
+	boolean isLazyLobs() {
+		Object result = binderContext.properties.get(MetadataConstants.LAZY_LOBS);
+		return result != null && Boolean.parseBoolean(result.toString());
+	}
+	
+	boolean isEntityGraphs() {
+		Object result = binderContext.properties.get(MetadataConstants.ENTITY_GRAPHS);
+		return result != null && Boolean.parseBoolean(result.toString());
+	}
+	
+	long getLazyLength() {
+		Object result = binderContext.properties.get(MetadataConstants.LAZY_LENGTH);
+		return result == null ? 0 : Long.parseLong(result.toString().trim());
+	}
+	
+	String getSequenceOptimizer() {
+		Object result = binderContext.properties.get(MetadataConstants.SEQUENCE_OPTIMIZER);
+		return result == null ? "pooled" : result.toString();
+	}
+	
 }
@@ -10,14 +10,18 @@ import java.util.logging.Logger;
 
 import org.hibernate.FetchMode;
 import org.hibernate.internal.util.collections.JoinedIterator;
+import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.Fetchable;
 import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
+import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.AssociationInfo;
 import org.hibernate.tool.api.reveng.RevengStrategy;
+import org.hibernate.tool.api.reveng.TableIdentifier;
+import org.hibernate.tool.internal.reveng.util.RevengUtils;
 
 public class BinderUtils {
 	
@@ -80,6 +84,60 @@ public class BinderUtils {
     }
 
 
+    static void updateFetchPlan(Collection value, AssociationInfo associationInfo) {
+    	if ("subselect".equalsIgnoreCase(associationInfo.getFetch())) {
+    		value.setSubselectLoadable(true);
+    	}
+    	if (associationInfo.getBatchSize() != null) {
+    		value.setBatchSize(associationInfo.getBatchSize().intValue());
+    	}
+    	String lazy = associationInfo.getLazy();
+    	if ("extra".equalsIgnoreCase(lazy)) {
+    		value.setLazy(true);
+    		value.setExtraLazy(true);
+    	}
+    	else if (lazy != null) {
+    		value.setLazy(Boolean.parseBoolean(lazy));
+    	}
+    }
+
+    /**
+     * @return the fetch plan the strategy sets for the associations of the table, 
+     * looked up with and without the default catalog and schema
+     */
+    static AssociationInfo getTableAssociationInfo(
+    		RevengStrategy revengStrategy, 
+    		Table table, 
+    		String defaultCatalog, 
+    		String defaultSchema) {
+    	AssociationInfo result = revengStrategy.tableToAssociationInfo(TableIdentifier.create(table));
+    	if (result == null) {
+    		result = revengStrategy.tableToAssociationInfo(
+    				RevengUtils.createTableIdentifier(table, defaultCatalog, defaultSchema));
+    	}
+    	return result;
+    }
+
+    /**
+     * @return the association info with the fetch plan settings it leaves unset taken from the defaults
+     */
+    static AssociationInfo withDefaults(
+    		String cascade, 
+    		Boolean insert, 
+    		Boolean update, 
+    		AssociationInfo associationInfo, 
+    		AssociationInfo defaults) {
+    	String fetch = associationInfo == null ? null : associationInfo.getFetch();
+    	Integer batchSize = associationInfo == null ? null : associationInfo.getBatchSize();
+    	String lazy = associationInfo == null ? null : associationInfo.getLazy();
+    	if (defaults != null) {
+    		fetch = fetch == null ? defaults.getFetch() : fetch;
+    		batchSize = batchSize == null ? defaults.getBatchSize() : batchSize;
+    		lazy = lazy == null ? defaults.getLazy() : lazy;
+    	}
+    	return RevengUtils.createAssociationInfo(cascade, fetch, insert, update, batchSize, lazy);
+    }
+
     static AssociationInfo getAssociationInfo(
     		RevengStrategy revengStrategy,
     		ForeignKey foreignKey, 
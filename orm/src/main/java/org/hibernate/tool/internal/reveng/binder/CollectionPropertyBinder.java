@@ -5,7 +5,6 @@ import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.Property;
 import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.AssociationInfo;
-import org.hibernate.tool.internal.reveng.util.RevengUtils;
 
 class CollectionPropertyBinder extends AbstractBinder {
 	
@@ -27,26 +26,31 @@ class CollectionPropertyBinder extends AbstractBinder {
 			ForeignKey fk, 
 			Collection value, 
 			boolean inverseProperty) {
-    	AssociationInfo associationInfo = determineAssociationInfo(fk, inverseProperty, mutable);
+    	AssociationInfo associationInfo = determineAssociationInfo(fk, table, inverseProperty, mutable);
     	BinderUtils.updateFetchMode(value, associationInfo.getFetch());
+    	BinderUtils.updateFetchPlan(value, associationInfo);
         return propertyBinder.bind(table, propertyName, value, associationInfo);
  	}
     
     private AssociationInfo determineAssociationInfo(
     		ForeignKey foreignKey, 
+    		Table table, 
     		boolean inverseProperty, 
     		boolean mutable) {
     	AssociationInfo origin = BinderUtils
     			.getAssociationInfo(getRevengStrategy(), foreignKey, inverseProperty);
+    	AssociationInfo defaults = BinderUtils
+    			.getTableAssociationInfo(getRevengStrategy(), table, getDefaultCatalog(), getDefaultSchema());
     	if(origin != null){
-    		return RevengUtils.createAssociationInfo(
+    		return BinderUtils.withDefaults(
     				origin.getCascade() != null ? origin.getCascade() : "all", 
-    				origin.getFetch(), 
     				origin.getInsert() != null ? origin.getInsert() : mutable, 
-    				origin.getUpdate() != null ? origin.getUpdate() : mutable
+    				origin.getUpdate() != null ? origin.getUpdate() : mutable,
+    				origin,
+    				defaults
     			);
         } else {
-        	return RevengUtils.createAssociationInfo(null, null, mutable, mutable);
+        	return BinderUtils.withDefaults(null, mutable, mutable, null, defaults);
         }
     }
     
@@ -11,6 +11,8 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.ForeignKey;
@@ -23,6 +25,7 @@ import org.hibernate.mapping.SimpleValue;
 import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.TableIdentifier;
 import org.hibernate.tool.internal.reveng.RevengMetadataCollector;
+import org.hibernate.tool.internal.reveng.SequenceInfo;
 import org.hibernate.tool.internal.reveng.binder.ForeignKeyUtils.ForeignKeyForColumns;
 import org.hibernate.tool.internal.reveng.util.RevengUtils;
 
@@ -57,7 +60,8 @@ class PrimaryKeyBinder extends AbstractBinder {
 		final TableIdentifier tableIdentifier = TableIdentifier.create(table);
 		PrimaryKeyInfo pki = createPrimaryKeyInfo(tableIdentifier, keyColumns);
 		SimpleValue id = createKeyValue(rc, keyColumns, pki.suggestedStrategy, table, revengMetadataCollector, processed);		
-		id.setIdentifierGeneratorProperties(pki.suggestedProperties);
+		id.setIdentifierGeneratorProperties(
+				addSequenceProperties(id, table, pki.suggestedProperties, revengMetadataCollector));
 		Property property = propertyBinder.bind(
 				table, 
 				BinderUtils.makeUnique(rc,getIdPropertyName(tableIdentifier, keyColumns)), 
@@ -131,6 +135,51 @@ class PrimaryKeyBinder extends AbstractBinder {
 		}
 	}
 	
+	/**
+	 * Completes the properties of a sequence generator with the increment and 
+	 * start value of its sequence in the database, the increment being the 
+	 * allocation size the generator must use. Properties set by the 
+	 * strategy are kept.
+	 */
+	private Properties addSequenceProperties(
+			SimpleValue id, 
+			Table table, 
+			Properties properties, 
+			RevengMetadataCollector revengMetadataCollector) {
+		if (properties == null || !isSequenceStrategy(id.getIdentifierGeneratorStrategy())) {
+			return properties;
+		}
+		SequenceInfo sequence = revengMetadataCollector.getSequence(
+				table.getCatalog() == null ? getDefaultCatalog() : table.getCatalog(), 
+				table.getSchema() == null ? getDefaultSchema() : table.getSchema(), 
+				properties.getProperty(SequenceStyleGenerator.SEQUENCE_PARAM));
+		if (sequence == null) {
+			return properties;
+		}
+		Properties result = new Properties();
+		result.putAll(properties);
+		Long increment = sequence.getIncrement();
+		if (increment != null && !result.containsKey(OptimizableGenerator.INCREMENT_PARAM)) {
+			result.setProperty(OptimizableGenerator.INCREMENT_PARAM, increment.toString());
+		}
+		if (sequence.getStartValue() != null && !result.containsKey(OptimizableGenerator.INITIAL_PARAM)) {
+			result.setProperty(OptimizableGenerator.INITIAL_PARAM, sequence.getStartValue().toString());
+		}
+		String optimizer = getSequenceOptimizer();
+		if (increment != null && increment.longValue() > 1 
+				&& !"none".equals(optimizer)
+				&& !result.containsKey(OptimizableGenerator.OPT_PARAM)) {
+			result.setProperty(OptimizableGenerator.OPT_PARAM, optimizer);
+		}
+		return result;
+	}
+	
+	private boolean isSequenceStrategy(String strategy) {
+		return "sequence".equals(strategy) 
+				|| "enhanced-sequence".equals(strategy)
+				|| SequenceStyleGenerator.class.getName().equals(strategy);
+	}
+	
 	private String getIdPropertyName(
 			TableIdentifier tableIdentifier, 
 			
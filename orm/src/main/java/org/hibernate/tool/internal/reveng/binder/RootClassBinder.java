@@ -1,6 +1,9 @@
 package org.hibernate.tool.internal.reveng.binder;
 
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -12,12 +15,19 @@ import java.util.logging.Logger;
 import org.hibernate.DuplicateMappingException;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Component;
 import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.MetaAttribute;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
 import org.hibernate.mapping.RootClass;
+import org.hibernate.mapping.SimpleValue;
 import org.hibernate.mapping.Table;
+import org.hibernate.mapping.ToOne;
+import org.hibernate.mapping.UniqueKey;
+import org.hibernate.tool.api.reveng.CacheInfo;
+import org.hibernate.tool.api.reveng.EntityGraphInfo;
+import org.hibernate.tool.api.reveng.NaturalIdInfo;
 import org.hibernate.tool.api.reveng.TableIdentifier;
 import org.hibernate.tool.internal.reveng.RevengMetadataCollector;
 import org.hibernate.tool.internal.reveng.util.RevengUtils;
@@ -26,6 +36,15 @@ public class RootClassBinder extends AbstractBinder {
 	
 	private static final Logger LOGGER = Logger.getLogger(RootClassBinder.class.getName());
 	
+	// the suffix Hibernate names the default natural id cache region with
+	private static final String NATURAL_ID_CACHE_SUFFIX = "##NaturalId";
+	
+	// the group of the lazy properties of no other group
+	private static final String DEFAULT_LAZY_GROUP = "DEFAULT";
+	
+	private static final String DEFAULT_ENTITY_GRAPH = "default";
+	private static final String ENTITY_GRAPH_META = "entity-graph";
+	
 	public static RootClassBinder create(
 			BinderContext binderContext) {
 		return new RootClassBinder(binderContext);
@@ -46,15 +65,58 @@ public class RootClassBinder extends AbstractBinder {
 
 	public void bind(Table table, RevengMetadataCollector revengMetadataCollector) {
 		Set<Column> processed = new HashSet<Column>();
+		boolean immutable = revengMetadataCollector.isView(table) && isImmutableViews();
 		nullifyDefaultCatalogAndSchema(table);
 		RootClass rc = createRootClass(table);
+		bindCache(rc, table, revengMetadataCollector);
 		addToMetadataCollector(rc, table);
 		PrimaryKeyInfo pki = bindPrimaryKey(table, rc, processed, revengMetadataCollector);		
-		bindVersionProperty(table, rc, processed);
+		if (!immutable) {
+			bindVersionProperty(table, rc, processed);
+		}
 		bindOutgoingForeignKeys(table, rc, processed);
 		bindColumnsToProperties(table, rc, processed);
+		bindNaturalId(table, rc);
+		bindDynamicUpdate(table, rc);
 		bindIncomingForeignKeys(rc, processed, revengMetadataCollector);
+		bindEntityGraphs(table, rc);
 		updatePrimaryKey(rc, pki);	
+		if (immutable) {
+			makeImmutable(rc);
+		}
+	}
+	
+	// views are read by the application, their entities are neither dirty checked nor versioned
+	private void makeImmutable(RootClass rc) {
+		rc.setMutable(false);
+		String setterScope = getViewSetterScope();
+		if (rc.hasIdentifierProperty()) {
+			restrictSetter(rc.getIdentifierProperty(), setterScope);
+		}
+		if (rc.getIdentifier() instanceof Component) {
+			restrictSetters(((Component) rc.getIdentifier()).getPropertyIterator(), setterScope);
+		}
+		restrictSetters(rc.getPropertyIterator(), setterScope);
+	}
+	
+	private void restrictSetters(Iterator<?> properties, String setterScope) {
+		while (properties.hasNext()) {
+			restrictSetter((Property) properties.next(), setterScope);
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void restrictSetter(Property property, String setterScope) {
+		if (property.getMetaAttribute("scope-set") == null) {
+			Map<String, MetaAttribute> metaAttributes = new HashMap<String, MetaAttribute>();
+			if (property.getMetaAttributes() != null) {
+				metaAttributes.putAll(property.getMetaAttributes());
+			}
+			MetaAttribute scope = new MetaAttribute("scope-set");
+			scope.addValue(setterScope);
+			metaAttributes.put("scope-set", scope);
+			property.setMetaAttributes(metaAttributes);
+		}
 	}
 	
 	private PrimaryKeyInfo bindPrimaryKey(
@@ -97,6 +159,224 @@ public class RootClassBinder extends AbstractBinder {
 		return rc;
 	}
 	
+	private void bindCache(
+			RootClass rc, 
+			Table table, 
+			RevengMetadataCollector revengMetadataCollector) {
+		boolean view = revengMetadataCollector.isView(table);
+		TableIdentifier tableIdentifier = TableIdentifier.create(table);
+		CacheInfo cacheInfo = getRevengStrategy().tableToCacheInfo(tableIdentifier, view);
+		if (cacheInfo == null) {
+			tableIdentifier = RevengUtils.createTableIdentifier(
+					table, 
+					getDefaultCatalog(), 
+					getDefaultSchema());
+			cacheInfo = getRevengStrategy().tableToCacheInfo(tableIdentifier, view);
+		}
+		if (cacheInfo == null && view && isCacheViews()) {
+			cacheInfo = RevengUtils.createCacheInfo("read-only", null);
+		}
+		if (cacheInfo != null) {
+			String usage = cacheInfo.getUsage();
+			if (usage == null) {
+				usage = view ? "read-only" : "read-write";
+			}
+			rc.setCached(true);
+			rc.setCacheConcurrencyStrategy(usage);
+			// like in the mapping files, the region defaults to the entity name
+			rc.setCacheRegionName(cacheInfo.getRegion() != null ? cacheInfo.getRegion() : rc.getEntityName());
+		}
+	}
+	
+	private void bindNaturalId(Table table, RootClass rc) {
+		TableIdentifier tableIdentifier = TableIdentifier.create(table);
+		NaturalIdInfo naturalIdInfo = getRevengStrategy().tableToNaturalIdInfo(tableIdentifier);
+		if (naturalIdInfo == null) {
+			tableIdentifier = RevengUtils.createTableIdentifier(
+					table, 
+					getDefaultCatalog(), 
+					getDefaultSchema());
+			naturalIdInfo = getRevengStrategy().tableToNaturalIdInfo(tableIdentifier);
+		}
+		if (naturalIdInfo == null && isNaturalIds()) {
+			naturalIdInfo = RevengUtils.createNaturalIdInfo(null, false, false, null);
+		}
+		if (naturalIdInfo == null) {
+			return;
+		}
+		UniqueKey uniqueKey = getNaturalIdKey(table, naturalIdInfo.getUniqueKey());
+		if (uniqueKey == null) {
+			if (naturalIdInfo.getUniqueKey() != null) {
+				LOGGER.log(Level.WARNING, "No unique key " + naturalIdInfo.getUniqueKey() + " found for the natural id of " + tableIdentifier);
+			}
+			return;
+		}
+		List<Property> properties = getNaturalIdProperties(rc, uniqueKey);
+		if (properties == null) {
+			LOGGER.log(Level.WARNING, "The columns of unique key " + uniqueKey.getName() + " of " + tableIdentifier + " are not mapped to properties of their own, no natural id is bound");
+			return;
+		}
+		for (Property property : properties) {
+			property.setNaturalIdentifier(true);
+			// as with @NaturalId(mutable=false), an immutable natural id is not updated
+			if (!naturalIdInfo.isMutable()) {
+				property.setUpdateable(false);
+			}
+		}
+		if (naturalIdInfo.isCached()) {
+			rc.setNaturalIdCacheRegionName(naturalIdInfo.getCacheRegion() != null ? 
+					naturalIdInfo.getCacheRegion() : 
+					rc.getEntityName() + NATURAL_ID_CACHE_SUFFIX);
+		}
+	}
+	
+	// the named unique key, or the single one that isn't the primary key
+	private UniqueKey getNaturalIdKey(Table table, String name) {
+		UniqueKey result = null;
+		for (Iterator<UniqueKey> iterator = table.getUniqueKeyIterator(); iterator.hasNext();) {
+			UniqueKey uniqueKey = iterator.next();
+			if (name != null) {
+				if (name.equals(uniqueKey.getName())) {
+					return uniqueKey;
+				}
+			}
+			else if (!table.hasPrimaryKey() || !table.getPrimaryKey().getColumns().equals(uniqueKey.getColumns())) {
+				if (result != null) {
+					return null;
+				}
+				result = uniqueKey;
+			}
+		}
+		return result;
+	}
+	
+	// the properties that map exactly the columns of the key, null if there are none
+	private List<Property> getNaturalIdProperties(RootClass rc, UniqueKey uniqueKey) {
+		List<Property> result = new ArrayList<Property>();
+		Set<Column> mapped = new HashSet<Column>();
+		for (Iterator<?> iterator = rc.getPropertyIterator(); iterator.hasNext();) {
+			Property property = (Property) iterator.next();
+			if (!(property.getValue() instanceof SimpleValue) || property.getColumnSpan() == 0) {
+				continue;
+			}
+			boolean inKey = true;
+			for (Iterator<?> columns = property.getColumnIterator(); columns.hasNext();) {
+				Object column = columns.next();
+				if (!(column instanceof Column) || !uniqueKey.containsColumn((Column) column)) {
+					inKey = false;
+				}
+			}
+			if (inKey) {
+				result.add(property);
+				for (Iterator<?> columns = property.getColumnIterator(); columns.hasNext();) {
+					mapped.add((Column) columns.next());
+				}
+			}
+		}
+		if (result.isEmpty() || mapped.size() != uniqueKey.getColumnSpan()) {
+			return null;
+		}
+		return result;
+	}
+	
+	// wide tables send only the columns that changed, or aren't null
+	private void bindDynamicUpdate(Table table, RootClass rc) {
+		TableIdentifier tableIdentifier = TableIdentifier.create(table);
+		Boolean dynamicUpdate = getRevengStrategy().tableToDynamicUpdate(tableIdentifier);
+		Boolean dynamicInsert = getRevengStrategy().tableToDynamicInsert(tableIdentifier);
+		tableIdentifier = RevengUtils.createTableIdentifier(table, getDefaultCatalog(), getDefaultSchema());
+		if (dynamicUpdate == null) {
+			dynamicUpdate = getRevengStrategy().tableToDynamicUpdate(tableIdentifier);
+		}
+		if (dynamicInsert == null) {
+			dynamicInsert = getRevengStrategy().tableToDynamicInsert(tableIdentifier);
+		}
+		boolean wide = getDynamicColumns() > 0 && table.getColumnSpan() >= getDynamicColumns();
+		rc.setDynamicUpdate(dynamicUpdate != null ? dynamicUpdate.booleanValue() : wide);
+		rc.setDynamicInsert(dynamicInsert != null ? dynamicInsert.booleanValue() : wide);
+	}
+	
+	// the graphs are generated from the "entity-graph" meta attribute of the class, see EntityPOJOClass
+	@SuppressWarnings("unchecked")
+	private void bindEntityGraphs(Table table, RootClass rc) {
+		TableIdentifier tableIdentifier = TableIdentifier.create(table);
+		List<EntityGraphInfo> entityGraphs = getRevengStrategy().tableToEntityGraphs(tableIdentifier);
+		if (entityGraphs == null) {
+			tableIdentifier = RevengUtils.createTableIdentifier(table, getDefaultCatalog(), getDefaultSchema());
+			entityGraphs = getRevengStrategy().tableToEntityGraphs(tableIdentifier);
+		}
+		if (entityGraphs == null && isEntityGraphs() && hasToOne(rc)) {
+			entityGraphs = Collections.singletonList(RevengUtils.createEntityGraphInfo(DEFAULT_ENTITY_GRAPH, 1));
+		}
+		if (entityGraphs == null || entityGraphs.isEmpty()) {
+			return;
+		}
+		Map<String, MetaAttribute> metaAttributes = new HashMap<String, MetaAttribute>(rc.getMetaAttributes());
+		MetaAttribute entityGraph = new MetaAttribute(ENTITY_GRAPH_META);
+		if (metaAttributes.containsKey(ENTITY_GRAPH_META)) {
+			Iterator<?> values = metaAttributes.get(ENTITY_GRAPH_META).getValues().iterator();
+			while (values.hasNext()) {
+				entityGraph.addValue((String) values.next());
+			}
+		}
+		for (EntityGraphInfo info : entityGraphs) {
+			entityGraph.addValue(info.getName() + ":" + info.getDepth());
+		}
+		metaAttributes.put(ENTITY_GRAPH_META, entityGraph);
+		rc.setMetaAttributes(metaAttributes);
+	}
+	
+	private boolean hasToOne(RootClass rc) {
+		Iterator<?> properties = rc.getPropertyIterator();
+		while (properties.hasNext()) {
+			if (((Property) properties.next()).getValue() instanceof ToOne) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private void bindLazyGroup(Table table, Column column, Property property) {
+		TableIdentifier tableIdentifier = TableIdentifier.create(table);
+		String lazyGroup = getRevengStrategy().columnToLazyGroup(tableIdentifier, column.getName());
+		if (lazyGroup == null) {
+			tableIdentifier = RevengUtils.createTableIdentifier(table, getDefaultCatalog(), getDefaultSchema());
+			lazyGroup = getRevengStrategy().columnToLazyGroup(tableIdentifier, column.getName());
+		}
+		if (lazyGroup == null && isLazyByDefault(column)) {
+			lazyGroup = DEFAULT_LAZY_GROUP;
+		}
+		if (lazyGroup != null && lazyGroup.length() > 0) {
+			property.setLazy(true);
+			property.setLazyGroup(DEFAULT_LAZY_GROUP.equals(lazyGroup) ? null : lazyGroup);
+		}
+	}
+	
+	private boolean isLazyByDefault(Column column) {
+		Integer sqlTypeCode = column.getSqlTypeCode();
+		if (sqlTypeCode == null) {
+			return false;
+		}
+		switch (sqlTypeCode.intValue()) {
+			case Types.BLOB:
+			case Types.CLOB:
+			case Types.NCLOB:
+			case Types.LONGVARBINARY:
+			case Types.LONGVARCHAR:
+			case Types.LONGNVARCHAR:
+				return isLazyLobs();
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.BINARY:
+			case Types.VARBINARY:
+				return getLazyLength() > 0 && column.getLength() != null && column.getLength().longValue() >= getLazyLength();
+			default:
+				return false;
+		}
+	}
+	
 	private void nullifyDefaultCatalogAndSchema(Table table) {
 		if (table.getCatalog() != null && table.getCatalog().equals(getDefaultCatalog())) {
 			table.setCatalog(null);
@@ -149,6 +429,7 @@ public class RootClassBinder extends AbstractBinder {
 						BinderUtils.makeUnique(rc,propertyName), 
 						table, 
 						column);
+				bindLazyGroup(table, column, property);
 				rc.addProperty(property);
 			}
 		}
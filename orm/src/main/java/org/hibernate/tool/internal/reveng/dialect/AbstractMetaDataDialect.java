@@ -2,14 +2,18 @@ package org.hibernate.tool.internal.reveng.dialect;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.tool.api.reveng.RevengDialect;
@@ -178,4 +182,94 @@ public abstract class AbstractMetaDataDialect implements RevengDialect {
 		l.add(m);
 		return l.iterator();
 	}
+
+	/**
+	 * Runs a query over the sequences of the database. The query selects
+	 * columns named like the keys of {@link #getSequences(String, String, String)};
+	 * the number columns it doesn't select are null in the returned elements.
+	 * 
+	 * @param sql the query, without its where clause
+	 * @param catalogColumn the column the catalog is matched against, or null if the catalog is not matched
+	 * @param schemaColumn the column the schema is matched against
+	 * @param nameColumn the column the sequence name is matched against
+	 */
+	protected Iterator<Map<String, Object>> querySequences(
+			String sql, 
+			String catalogColumn, 
+			String schemaColumn, 
+			String nameColumn, 
+			String catalog, 
+			String schema, 
+			String sequence) {
+		try {
+			catalog = catalogColumn == null ? null : caseForSearch( catalog );
+			schema = caseForSearch( schema );
+			sequence = caseForSearch( sequence );
+
+			log.debug("getSequences(" + catalog + "." + schema + "." + sequence + ")");
+
+			List<String> parameters = new ArrayList<String>();
+			StringBuffer query = new StringBuffer(sql).append(" WHERE 1=1");
+			if(catalog!=null) {
+				query.append(" AND ").append(catalogColumn).append(" like ?");
+				parameters.add(catalog);
+			}
+			if(schema!=null) {
+				query.append(" AND ").append(schemaColumn).append(" like ?");
+				parameters.add(schema);
+			}
+			if(sequence!=null) {
+				query.append(" AND ").append(nameColumn).append(" like ?");
+				parameters.add(sequence);
+			}
+			PreparedStatement statement = getConnection().prepareStatement( query.toString() );
+			for (int i = 0; i < parameters.size(); i++) {
+				statement.setString( i + 1, parameters.get(i) );
+			}
+			ResultSet rs = statement.executeQuery();
+			final Set<String> labels = new HashSet<String>();
+			ResultSetMetaData rsmd = rs.getMetaData();
+			for (int i = 1; i <= rsmd.getColumnCount(); i++) {
+				labels.add(rsmd.getColumnLabel(i).toUpperCase(Locale.ENGLISH));
+			}
+			return new ResultSetIterator(statement, rs) {
+
+				Map<String, Object> element = new HashMap<String, Object>();
+				protected Map<String, Object> convertRow(ResultSet sequenceRs) throws SQLException {
+					element.clear();
+					element.put("SEQUENCE_CAT", labels.contains("SEQUENCE_CAT") ? sequenceRs.getString("SEQUENCE_CAT") : null);
+					element.put("SEQUENCE_SCHEM", sequenceRs.getString("SEQUENCE_SCHEM"));
+					element.put("SEQUENCE_NAME", sequenceRs.getString("SEQUENCE_NAME"));
+					element.put("START_VALUE", getLong(sequenceRs, "START_VALUE"));
+					element.put("INCREMENT", getLong(sequenceRs, "INCREMENT"));
+					element.put("CACHE_SIZE", getLong(sequenceRs, "CACHE_SIZE"));
+					return element;
+				}
+				private Long getLong(ResultSet sequenceRs, String label) throws SQLException {
+					if(!labels.contains(label)) {
+						return null;
+					}
+					// some databases report the sequence numbers as character data
+					Object value = sequenceRs.getObject(label);
+					if(value instanceof Number) {
+						return Long.valueOf(((Number)value).longValue());
+					} else if(value != null) {
+						try {
+							return Long.valueOf(value.toString().trim());
+						} 
+						catch (NumberFormatException e) {
+							log.debug("Ignoring " + label + " " + value + " of sequence " + sequenceRs.getString("SEQUENCE_NAME"));
+						}
+					}
+					return null;
+				}
+				protected Throwable handleSQLException(SQLException e) {
+					throw new RuntimeException(
+							"Could not get list of sequences from database. Probably a JDBC driver problem. ", e);
+				}
+			};
+		} catch (SQLException e) {
+			throw new RuntimeException("Could not get list of sequences from database. Probably a JDBC driver problem. ", e);
+		}
+	}
 }
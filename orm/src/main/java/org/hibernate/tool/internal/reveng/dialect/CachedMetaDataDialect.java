@@ -18,6 +18,7 @@ public class CachedMetaDataDialect implements RevengDialect {
 	private Map<StringKey, List<Map<String, Object>>> cachedPrimaryKeys = new HashMap<StringKey, List<Map<String, Object>>>();
 	private Map<StringKey, List<Map<String, Object>>> cachedIndexInfo = new HashMap<StringKey, List<Map<String, Object>>>();
 	private Map<StringKey, List<Map<String, Object>>> cachedPrimaryKeyStrategyName = new HashMap<StringKey, List<Map<String, Object>>>();
+	private Map<StringKey, List<Map<String, Object>>> cachedSequences = new HashMap<StringKey, List<Map<String, Object>>>();
 
 	public CachedMetaDataDialect(RevengDialect realMetaData) {
 		this.delegate = realMetaData;
@@ -111,6 +112,17 @@ public class CachedMetaDataDialect implements RevengDialect {
 		}
 	}
 	
+	public Iterator<Map<String, Object>> getSequences(String catalog, String schema, String sequence) {
+		StringKey sk = new StringKey(new String[] { catalog, schema, sequence });
+		List<Map<String, Object>> cached = cachedSequences.get( sk );
+		if(cached==null) {
+			cached = new ArrayList<Map<String, Object>>();
+			return new CachedIterator(this, cachedSequences, sk, cached, delegate.getSequences( catalog, schema, sequence ));
+		} else {
+			return cached.iterator();
+		}
+	}
+	
 	public boolean needQuote(String name) {
 		return delegate.needQuote( name );
 	}
@@ -98,4 +98,17 @@ public class H2MetaDataDialect extends JDBCMetaDataDialect {
 				throw new RuntimeException("Could not get list of suggested identity strategies from database. Probably a JDBC driver problem.", e);		         
 			} 		
 	}
+
+	public Iterator<Map<String, Object>> getSequences(String catalog, String schema, String sequence) {
+		// the start value is only known before the first use of the sequence, it is not read
+		return querySequences(
+				"SELECT " + (understandsCatalogName ? "SEQUENCE_CATALOG" : "NULL") + " SEQUENCE_CAT, SEQUENCE_SCHEMA SEQUENCE_SCHEM, SEQUENCE_NAME, INCREMENT, CACHE CACHE_SIZE " +
+				"FROM INFORMATION_SCHEMA.SEQUENCES", 
+				understandsCatalogName ? "SEQUENCE_CATALOG" : null, 
+				"SEQUENCE_SCHEMA", 
+				"SEQUENCE_NAME", 
+				catalog, 
+				schema, 
+				sequence);
+	}
 }
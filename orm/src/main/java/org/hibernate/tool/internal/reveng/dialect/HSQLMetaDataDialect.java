@@ -96,4 +96,16 @@ public class HSQLMetaDataDialect extends JDBCMetaDataDialect {
 				throw new RuntimeException("Could not get list of suggested identity strategies from database. Probably a JDBC driver problem. ", e);		         
 			} 		
 		}
+
+	public Iterator<Map<String, Object>> getSequences(String catalog, String schema, String sequence) {
+		return querySequences(
+				"SELECT SEQUENCE_CATALOG SEQUENCE_CAT, SEQUENCE_SCHEMA SEQUENCE_SCHEM, SEQUENCE_NAME, START_WITH START_VALUE, INCREMENT " +
+				"FROM INFORMATION_SCHEMA.SEQUENCES", 
+				"SEQUENCE_CATALOG", 
+				"SEQUENCE_SCHEMA", 
+				"SEQUENCE_NAME", 
+				catalog, 
+				schema, 
+				sequence);
+	}
 }
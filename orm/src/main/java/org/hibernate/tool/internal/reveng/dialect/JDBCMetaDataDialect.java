@@ -73,6 +73,8 @@ public class JDBCMetaDataDialect extends AbstractMetaDataDialect {
 					element.put("COLUMN_NAME", rs.getString("COLUMN_NAME"));
 					element.put("NON_UNIQUE", Boolean.valueOf(rs.getBoolean("NON_UNIQUE")));
 					element.put("TYPE", Short.valueOf(rs.getShort("TYPE")));					 
+					element.put("ORDINAL_POSITION", Short.valueOf(rs.getShort("ORDINAL_POSITION")));
+					element.put("ASC_OR_DESC", rs.getString("ASC_OR_DESC"));
 					return element;					
 				}
 				protected Throwable handleSQLException(SQLException e) {
@@ -724,4 +724,16 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 		return tableRs;
 	}
 
+	public Iterator<Map<String, Object>> getSequences(String catalog, String schema, String sequence) {
+		// the data dictionary doesn't keep the start value of a sequence
+		return querySequences(
+				"select sequence_owner SEQUENCE_SCHEM, sequence_name SEQUENCE_NAME, increment_by INCREMENT, cache_size CACHE_SIZE " +
+				"from all_sequences", 
+				null, 
+				"sequence_owner", 
+				"sequence_name", 
+				catalog, 
+				schema, 
+				sequence);
+	}
 }
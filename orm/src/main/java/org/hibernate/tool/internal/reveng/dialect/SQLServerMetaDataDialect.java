@@ -71,5 +71,16 @@ public class SQLServerMetaDataDialect extends JDBCMetaDataDialect {
 			} 		
 		}
 
+	public Iterator<Map<String, Object>> getSequences(String catalog, String schema, String sequence) {
+		// sys.sequences only lists the sequences of the current database
+		return querySequences(
+				"SELECT s.name SEQUENCE_SCHEM, q.name SEQUENCE_NAME, q.start_value START_VALUE, q.increment INCREMENT, q.cache_size CACHE_SIZE " +
+				"FROM sys.sequences q INNER JOIN sys.schemas s ON q.schema_id = s.schema_id", 
+				null, 
+				"s.name", 
+				"q.name", 
+				catalog, 
+				schema, 
+				sequence);
 	}
-	
+}
@@ -10,6 +10,7 @@ import java.util.Properties;
 
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.internal.util.StringHelper;
 import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.Table;
 import org.hibernate.service.ServiceRegistry;
@@ -17,9 +18,13 @@ import org.hibernate.tool.api.reveng.RevengDialect;
 import org.hibernate.tool.api.reveng.RevengStrategy;
 import org.hibernate.tool.api.reveng.RevengStrategy.SchemaSelection;
 import org.hibernate.tool.internal.reveng.RevengMetadataCollector;
+import org.hibernate.tool.internal.reveng.SequenceInfo;
+import org.jboss.logging.Logger;
 
 public class DatabaseReader {
 
+	private static final Logger log = Logger.getLogger(DatabaseReader.class);
+
 	public static DatabaseReader create(
 			Properties properties, 
 			RevengStrategy revengStrategy,
@@ -63,6 +68,9 @@ public class DatabaseReader {
 				tableCollector.processTables(iter.next());
 			}
 			revengMetadataCollector.setOneToManyCandidates(resolveForeignKeys(revengMetadataCollector));
+			for (Iterator<SchemaSelection> iter = getSchemaSelections().iterator(); iter.hasNext();) {
+				readSequences(iter.next(), revengMetadataCollector);
+			}
 
 		} finally {
 			metadataDialect.close();
@@ -108,6 +116,40 @@ public class DatabaseReader {
 		return oneToManyCandidates;
 	}
 
+	/**
+	 * Reads the sequences of the selected schemas, for the generators to
+	 * match the increments of the database. Sequences are optional
+	 * metadata: a database whose sequences can't be read is logged and
+	 * skipped.
+	 */
+	private void readSequences(SchemaSelection schemaSelection, RevengMetadataCollector revengMetadataCollector) {
+		Iterator<Map<String, Object>> sequenceIterator = null;
+		try {
+			sequenceIterator = metadataDialect.getSequences(
+					StringHelper.replace(schemaSelection.getMatchCatalog(), ".*", "%"), 
+					StringHelper.replace(schemaSelection.getMatchSchema(), ".*", "%"), 
+					null);
+			while (sequenceIterator.hasNext()) {
+				Map<String, Object> sequenceRs = sequenceIterator.next();
+				revengMetadataCollector.addSequence(new SequenceInfo(
+						(String) sequenceRs.get("SEQUENCE_CAT"), 
+						(String) sequenceRs.get("SEQUENCE_SCHEM"), 
+						(String) sequenceRs.get("SEQUENCE_NAME"), 
+						(Long) sequenceRs.get("START_VALUE"), 
+						(Long) sequenceRs.get("INCREMENT"), 
+						(Long) sequenceRs.get("CACHE_SIZE")));
+			}
+		} 
+		catch (RuntimeException e) {
+			log.warn("Could not read the sequences of the database, the generators use the default increments", e);
+		}
+		finally {
+			if (sequenceIterator != null) {
+				metadataDialect.close(sequenceIterator);
+			}
+		}
+	}
+
 	private void mergeMultiMap(Map<String, List<ForeignKey>> dest, Map<String, List<ForeignKey>> src) {
 		Iterator<Entry<String, List<ForeignKey>>> items = src.entrySet().iterator();
 
@@ -2,6 +2,7 @@ package org.hibernate.tool.internal.reveng.reader;
 
 import java.sql.DatabaseMetaData;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -30,6 +31,7 @@ public class IndexProcessor {
 		Map<String, Index> indexes = new HashMap<String, Index>(); // indexname (String) -> Index
 		Map<String, UniqueKey> uniquekeys = new HashMap<String, UniqueKey>(); // name (String) -> UniqueKey
 		Map<Column, List<UniqueKey>> uniqueColumns = new HashMap<Column, List<UniqueKey>>(); // Column -> List<Index>
+		Map<Index, List<IndexColumn>> indexColumns = new HashMap<Index, List<IndexColumn>>(); // Index -> columns in the order read
 		
 		Iterator<Map<String, Object>> indexIterator = null;
 		try {
@@ -83,8 +85,16 @@ public class IndexProcessor {
 						if(uniquekeys.containsKey(indexName) ) {
 							throw new RuntimeException("Index exists also as Unique! ");
 						}
-						Column column = getColumn(metaDataDialect, table, columnName);
-						index.addColumn(column);
+						List<IndexColumn> columns = indexColumns.get(index);
+						if (columns == null) {
+							columns = new ArrayList<IndexColumn>();
+							indexColumns.put(index, columns);
+						}
+						columns.add(new IndexColumn(
+								getColumn(metaDataDialect, table, columnName),
+								(Short) indexRs.get("ORDINAL_POSITION"),
+								(String) indexRs.get("ASC_OR_DESC"),
+								columns.size()));
 					}
 					
 				} 
@@ -111,6 +121,23 @@ public class IndexProcessor {
 			}
 		}
 		
+		// add the columns of the indexes in their position in the index, which the dialect may not read them in
+		Iterator<Entry<Index, List<IndexColumn>>> indexColumnIterator = indexColumns.entrySet().iterator();
+		while (indexColumnIterator.hasNext() ) {
+			Entry<Index, List<IndexColumn>> entry = indexColumnIterator.next();
+			List<IndexColumn> columns = entry.getValue();
+			Collections.sort(columns);
+			for (int i = 0; i < columns.size(); i++) {
+				IndexColumn indexColumn = columns.get(i);
+				if ("D".equals(indexColumn.order) ) {
+					entry.getKey().addColumn(indexColumn.column, "desc");
+				}
+				else {
+					entry.getKey().addColumn(indexColumn.column);
+				}
+			}
+		}
+		
 		// mark columns that are unique TODO: multiple columns are not unique on their own.
 		Iterator<Entry<Column, List<UniqueKey>>> uniqueColumnIterator = uniqueColumns.entrySet().iterator();
 		while (uniqueColumnIterator.hasNext() ) {
@@ -134,6 +161,25 @@ public class IndexProcessor {
 		}
 	}
 	
+	private static class IndexColumn implements Comparable<IndexColumn> {
+		
+		final Column column;
+		final int position;
+		final String order;
+		
+		IndexColumn(Column column, Short ordinalPosition, String order, int readPosition) {
+			this.column = column;
+			// without an ordinal position, the columns keep the order they were read in
+			this.position = ordinalPosition == null || ordinalPosition.shortValue() <= 0 ? readPosition : ordinalPosition.shortValue();
+			this.order = order;
+		}
+		
+		public int compareTo(IndexColumn other) {
+			return position < other.position ? -1 : (position == other.position ? 0 : 1);
+		}
+		
+	}
+	
 	private static String getCatalogForDBLookup(String catalog, String defaultCatalog) {
 		return catalog==null?defaultCatalog:catalog;			
 	}
@@ -94,6 +94,9 @@ public class TableCollector {
     		log.debug("Adding table " + tableIdentifier + " of type " + tableType);
     		Table table = revengMetadataCollector.addTable(tableIdentifier);
     		table.setComment(comment);
+    		if ("VIEW".equalsIgnoreCase(tableType)) {
+    			revengMetadataCollector.addView(table);
+    		}
 			BasicColumnProcessor.processBasicColumns(
 					metaDataDialect, 
 					revengStrategy, 
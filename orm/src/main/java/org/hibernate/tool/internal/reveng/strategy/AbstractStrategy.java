@@ -17,6 +17,9 @@ import org.hibernate.mapping.MetaAttribute;
 import org.hibernate.mapping.PrimaryKey;
 import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.AssociationInfo;
+import org.hibernate.tool.api.reveng.CacheInfo;
+import org.hibernate.tool.api.reveng.EntityGraphInfo;
+import org.hibernate.tool.api.reveng.NaturalIdInfo;
 import org.hibernate.tool.api.reveng.RevengSettings;
 import org.hibernate.tool.api.reveng.RevengStrategy;
 import org.hibernate.tool.api.reveng.TableIdentifier;
@@ -351,6 +354,34 @@ public abstract class AbstractStrategy implements RevengStrategy {
 		return null;
 	}
 
+	public AssociationInfo tableToAssociationInfo(TableIdentifier tableIdentifier) {
+		return null;
+	}
+
+	public CacheInfo tableToCacheInfo(TableIdentifier tableIdentifier, boolean view) {
+		return null;
+	}
+
+	public NaturalIdInfo tableToNaturalIdInfo(TableIdentifier tableIdentifier) {
+		return null;
+	}
+
+	public Boolean tableToDynamicUpdate(TableIdentifier tableIdentifier) {
+		return null;
+	}
+
+	public Boolean tableToDynamicInsert(TableIdentifier tableIdentifier) {
+		return null;
+	}
+
+	public String columnToLazyGroup(TableIdentifier tableIdentifier, String column) {
+		return null;
+	}
+
+	public List<EntityGraphInfo> tableToEntityGraphs(TableIdentifier tableIdentifier) {
+		return null;
+	}
+
 	
 	
 }
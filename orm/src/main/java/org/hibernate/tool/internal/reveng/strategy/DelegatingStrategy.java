@@ -8,6 +8,9 @@ import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.MetaAttribute;
 import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.AssociationInfo;
+import org.hibernate.tool.api.reveng.CacheInfo;
+import org.hibernate.tool.api.reveng.EntityGraphInfo;
+import org.hibernate.tool.api.reveng.NaturalIdInfo;
 import org.hibernate.tool.api.reveng.RevengSettings;
 import org.hibernate.tool.api.reveng.RevengStrategy;
 import org.hibernate.tool.api.reveng.TableIdentifier;
@@ -148,6 +151,34 @@ public class DelegatingStrategy implements RevengStrategy {
 		return delegate==null?null:delegate.foreignKeyToInverseAssociationInfo(foreignKey);
 	}
 	
+	public AssociationInfo tableToAssociationInfo(TableIdentifier tableIdentifier) {
+		return delegate==null?null:delegate.tableToAssociationInfo(tableIdentifier);
+	}
+	
+	public CacheInfo tableToCacheInfo(TableIdentifier tableIdentifier, boolean view) {
+		return delegate==null?null:delegate.tableToCacheInfo(tableIdentifier, view);
+	}
+	
+	public NaturalIdInfo tableToNaturalIdInfo(TableIdentifier tableIdentifier) {
+		return delegate==null?null:delegate.tableToNaturalIdInfo(tableIdentifier);
+	}
+	
+	public Boolean tableToDynamicUpdate(TableIdentifier tableIdentifier) {
+		return delegate==null?null:delegate.tableToDynamicUpdate(tableIdentifier);
+	}
+	
+	public Boolean tableToDynamicInsert(TableIdentifier tableIdentifier) {
+		return delegate==null?null:delegate.tableToDynamicInsert(tableIdentifier);
+	}
+	
+	public String columnToLazyGroup(TableIdentifier tableIdentifier, String column) {
+		return delegate==null?null:delegate.columnToLazyGroup(tableIdentifier, column);
+	}
+	
+	public List<EntityGraphInfo> tableToEntityGraphs(TableIdentifier tableIdentifier) {
+		return delegate==null?null:delegate.tableToEntityGraphs(tableIdentifier);
+	}
+	
 	public String foreignKeyToInverseEntityName(String keyname,
 			TableIdentifier fromTable, List<?> fromColumnNames,
 			TableIdentifier referencedTable, List<?> referencedColumnNames,
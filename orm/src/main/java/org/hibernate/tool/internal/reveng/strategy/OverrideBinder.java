@@ -12,6 +12,9 @@ import org.hibernate.mapping.Column;
 import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.AssociationInfo;
+import org.hibernate.tool.api.reveng.CacheInfo;
+import org.hibernate.tool.api.reveng.EntityGraphInfo;
+import org.hibernate.tool.api.reveng.NaturalIdInfo;
 import org.hibernate.tool.api.reveng.RevengStrategy.SchemaSelection;
 import org.hibernate.tool.api.reveng.TableIdentifier;
 import org.hibernate.tool.internal.reveng.strategy.MetaAttributeHelper.SimpleMetaAttribute;
@@ -67,6 +70,11 @@ public class OverrideBinder {
 			} else {
 				tableFilter.setMetaAttributes(null);
 			}
+			ArrayList<Element> caches = getChildElements(element, "cache");
+			if (caches.size() > 0) {
+				tableFilter.setCacheInfo(extractCacheInfo(caches.get(0)));
+				tableFilter.setCacheViewsOnly(Boolean.parseBoolean(caches.get(0).getAttribute("views-only")));
+			}
 			repository.addTableFilter(tableFilter);
 		}
 	}
@@ -85,6 +93,28 @@ public class OverrideBinder {
 			}
 			bindColumns(getChildElements(element, "column"), table, repository);
 			bindForeignKeys(getChildElements(element, "foreign-key"), table, repository);
+			ArrayList<Element> associationDefaults = getChildElements(element, "association-defaults");
+			if (associationDefaults.size() > 0) {
+				repository.addTableAssociationInfo(table, extractAssociationInfo(associationDefaults.get(0)));
+			}
+			ArrayList<Element> caches = getChildElements(element, "cache");
+			if (caches.size() > 0) {
+				repository.addTableCacheInfo(table, extractCacheInfo(caches.get(0)));
+			}
+			ArrayList<Element> naturalIds = getChildElements(element, "natural-id");
+			if (naturalIds.size() > 0) {
+				repository.addTableNaturalIdInfo(table, extractNaturalIdInfo(naturalIds.get(0)));
+			}
+			ArrayList<Element> entityGraphs = getChildElements(element, "entity-graph");
+			if (entityGraphs.size() > 0) {
+				repository.addTableEntityGraphs(table, extractEntityGraphInfos(entityGraphs));
+			}
+			repository.addTableDynamicUpdate(
+					table, 
+					element.hasAttribute("dynamic-update") ? 
+						Boolean.valueOf(element.getAttribute("dynamic-update")) : null, 
+					element.hasAttribute("dynamic-insert") ? 
+						Boolean.valueOf(element.getAttribute("dynamic-insert")) : null);
 			bindMetaAttributes(element, table, repository);
 			repository.addTable(table, getAttribute(element, "class"));
 		}	
@@ -145,6 +175,10 @@ public class OverrideBinder {
 					tableIdentifier, 
 					column.getName(), 
 					getAttribute(element, "property"));
+			repository.setLazyGroupForColumn(
+					tableIdentifier, 
+					column.getName(), 
+					getLazyGroup(element));
 			boolean excluded = Boolean.valueOf(element.getAttribute("exclude") );
 			if(excluded) {
 				repository.setExcludedColumn(tableIdentifier, column.getName());
@@ -316,7 +350,48 @@ public class OverrideBinder {
 				manyToOne.hasAttribute("insert") ? 
 					Boolean.parseBoolean(manyToOne.getAttribute("insert")) : null, 
 				manyToOne.hasAttribute("update") ? 
-					Boolean.parseBoolean(manyToOne.getAttribute("update")) : null);
+					Boolean.parseBoolean(manyToOne.getAttribute("update")) : null,
+				manyToOne.hasAttribute("batch-size") ? 
+					Integer.valueOf(manyToOne.getAttribute("batch-size")) : null,
+				manyToOne.hasAttribute("lazy") ? manyToOne.getAttribute("lazy") : null);
+	}
+
+	private static CacheInfo extractCacheInfo(Element cache) {
+		return RevengUtils.createCacheInfo(
+				getAttribute(cache, "usage"), 
+				getAttribute(cache, "region"));
+	}
+
+	// lazy-group="name" puts a column in a group, lazy="true" in the default one and lazy="false" fetches it eagerly
+	private static String getLazyGroup(Element column) {
+		if (column.hasAttribute("lazy-group")) {
+			return column.getAttribute("lazy-group");
+		}
+		if (column.hasAttribute("lazy")) {
+			return Boolean.parseBoolean(column.getAttribute("lazy")) ? "DEFAULT" : "";
+		}
+		return null;
+	}
+
+	private static NaturalIdInfo extractNaturalIdInfo(Element naturalId) {
+		return RevengUtils.createNaturalIdInfo(
+				getAttribute(naturalId, "unique-key"), 
+				Boolean.parseBoolean(getAttribute(naturalId, "mutable")), 
+				Boolean.parseBoolean(getAttribute(naturalId, "cache")), 
+				getAttribute(naturalId, "cache-region"));
+	}
+
+	private static List<EntityGraphInfo> extractEntityGraphInfos(ArrayList<Element> entityGraphs) {
+		List<EntityGraphInfo> result = new ArrayList<EntityGraphInfo>();
+		for (Element entityGraph : entityGraphs) {
+			String name = getAttribute(entityGraph, "name");
+			if (name == null) {
+				throw new RuntimeException("An entity-graph needs a name");
+			}
+			String depth = getAttribute(entityGraph, "depth");
+			result.add(RevengUtils.createEntityGraphInfo(name, depth == null ? 1 : Integer.parseInt(depth.trim())));
+		}
+		return result;
 	}
 
 	private static boolean validateFkAssociations(Element element){
@@ -26,6 +26,9 @@ import org.hibernate.mapping.ForeignKey;
 import org.hibernate.mapping.MetaAttribute;
 import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.AssociationInfo;
+import org.hibernate.tool.api.reveng.CacheInfo;
+import org.hibernate.tool.api.reveng.EntityGraphInfo;
+import org.hibernate.tool.api.reveng.NaturalIdInfo;
 import org.hibernate.tool.api.reveng.RevengStrategy;
 import org.hibernate.tool.api.reveng.RevengStrategy.SchemaSelection;
 import org.hibernate.tool.api.reveng.TableIdentifier;
@@ -77,6 +80,20 @@ public class OverrideRepository  {
 	final private Map<String, AssociationInfo> foreignKeyToEntityInfo;
 	final private Map<String, AssociationInfo> foreignKeyToInverseEntityInfo;
 
+	final private Map<TableIdentifier, AssociationInfo> tableToAssociationInfo;
+
+	final private Map<TableIdentifier, CacheInfo> tableToCacheInfo;
+
+	final private Map<TableIdentifier, NaturalIdInfo> tableToNaturalIdInfo;
+
+	final private Map<TableIdentifier, Boolean> tableToDynamicUpdate;
+
+	final private Map<TableIdentifier, Boolean> tableToDynamicInsert;
+
+	final private Map<TableColumnKey, String> lazyGroupForColumn;
+
+	final private Map<TableIdentifier, List<EntityGraphInfo>> tableToEntityGraphs;
+
 	final private Map<TableIdentifier, MultiValuedMap<String, SimpleMetaAttribute>> tableMetaAttributes; // TI -> MultiMap of SimpleMetaAttributes
 
 	final private Map<TableColumnKey, MultiValuedMap<String, SimpleMetaAttribute>> columnMetaAttributes;
@@ -109,6 +126,13 @@ public class OverrideRepository  {
 		columnMetaAttributes = new HashMap<TableColumnKey, MultiValuedMap<String, SimpleMetaAttribute>>();
 		foreignKeyToEntityInfo = new HashMap<String, AssociationInfo>();
 		foreignKeyToInverseEntityInfo = new HashMap<String, AssociationInfo>();
+		tableToAssociationInfo = new HashMap<TableIdentifier, AssociationInfo>();
+		tableToCacheInfo = new HashMap<TableIdentifier, CacheInfo>();
+		tableToNaturalIdInfo = new HashMap<TableIdentifier, NaturalIdInfo>();
+		tableToDynamicUpdate = new HashMap<TableIdentifier, Boolean>();
+		tableToDynamicInsert = new HashMap<TableIdentifier, Boolean>();
+		lazyGroupForColumn = new HashMap<TableColumnKey, String>();
+		tableToEntityGraphs = new HashMap<TableIdentifier, List<EntityGraphInfo>>();
 	}
 
 	public OverrideRepository addFile(File xmlFile) {
@@ -507,6 +531,69 @@ public class OverrideRepository  {
 					return super.foreignKeyToAssociationInfo(foreignKey);
 				}
 			}
+
+			public AssociationInfo tableToAssociationInfo(TableIdentifier tableIdentifier) {
+				AssociationInfo result = tableToAssociationInfo.get(tableIdentifier);
+				if(result!=null) {
+					return result;
+				} else {
+					return super.tableToAssociationInfo(tableIdentifier);
+				}
+			}
+
+			public CacheInfo tableToCacheInfo(TableIdentifier tableIdentifier, boolean view) {
+				CacheInfo result = OverrideRepository.this.tableToCacheInfo(tableIdentifier, view);
+				if(result!=null) {
+					return result;
+				} else {
+					return super.tableToCacheInfo(tableIdentifier, view);
+				}
+			}
+
+			public NaturalIdInfo tableToNaturalIdInfo(TableIdentifier tableIdentifier) {
+				NaturalIdInfo result = tableToNaturalIdInfo.get(tableIdentifier);
+				if(result!=null) {
+					return result;
+				} else {
+					return super.tableToNaturalIdInfo(tableIdentifier);
+				}
+			}
+
+			public Boolean tableToDynamicUpdate(TableIdentifier tableIdentifier) {
+				Boolean result = tableToDynamicUpdate.get(tableIdentifier);
+				if(result!=null) {
+					return result;
+				} else {
+					return super.tableToDynamicUpdate(tableIdentifier);
+				}
+			}
+
+			public Boolean tableToDynamicInsert(TableIdentifier tableIdentifier) {
+				Boolean result = tableToDynamicInsert.get(tableIdentifier);
+				if(result!=null) {
+					return result;
+				} else {
+					return super.tableToDynamicInsert(tableIdentifier);
+				}
+			}
+
+			public String columnToLazyGroup(TableIdentifier tableIdentifier, String column) {
+				String result = lazyGroupForColumn.get(new TableColumnKey(tableIdentifier, column));
+				if(result!=null) {
+					return result;
+				} else {
+					return super.columnToLazyGroup(tableIdentifier, column);
+				}
+			}
+
+			public List<EntityGraphInfo> tableToEntityGraphs(TableIdentifier tableIdentifier) {
+				List<EntityGraphInfo> result = tableToEntityGraphs.get(tableIdentifier);
+				if(result!=null) {
+					return result;
+				} else {
+					return super.tableToEntityGraphs(tableIdentifier);
+				}
+			}
 		};
 	}
 
@@ -648,6 +735,21 @@ public class OverrideRepository  {
 		}
 	}
 
+	public void setLazyGroupForColumn(TableIdentifier identifier, String columnName, String lazyGroup) {
+		if(lazyGroup!=null) {
+			lazyGroupForColumn.put(new TableColumnKey(identifier, columnName), lazyGroup);
+		}
+	}
+
+	public void addTableDynamicUpdate(Table table, Boolean dynamicUpdate, Boolean dynamicInsert) {
+		if(dynamicUpdate!=null) {
+			tableToDynamicUpdate.put(TableIdentifier.create(table), dynamicUpdate);
+		}
+		if(dynamicInsert!=null) {
+			tableToDynamicInsert.put(TableIdentifier.create(table), dynamicInsert);
+		}
+	}
+
 	public void addTableIdentifierStrategy(Table table, String identifierClass, Properties params) {
 		if(identifierClass!=null) {
 			final TableIdentifier tid = TableIdentifier.create(table);
@@ -708,6 +810,37 @@ public class OverrideRepository  {
 
 	}
 
+	public void addTableAssociationInfo(Table table, AssociationInfo associationInfo) {
+		tableToAssociationInfo.put(TableIdentifier.create(table), associationInfo);
+	}
+
+	public void addTableCacheInfo(Table table, CacheInfo cacheInfo) {
+		tableToCacheInfo.put(TableIdentifier.create(table), cacheInfo);
+	}
+
+	public void addTableNaturalIdInfo(Table table, NaturalIdInfo naturalIdInfo) {
+		tableToNaturalIdInfo.put(TableIdentifier.create(table), naturalIdInfo);
+	}
+
+	public void addTableEntityGraphs(Table table, List<EntityGraphInfo> entityGraphs) {
+		tableToEntityGraphs.put(TableIdentifier.create(table), entityGraphs);
+	}
+
+	protected CacheInfo tableToCacheInfo(TableIdentifier identifier, boolean view) {
+		CacheInfo specific = tableToCacheInfo.get(identifier);
+		if(specific!=null) {
+			return specific;
+		}
+		Iterator<TableFilter> iterator = tableFilters.iterator();
+		while(iterator.hasNext() ) {
+			CacheInfo value = iterator.next().getCacheInfo(identifier, view);
+			if(value!=null) {
+				return value;
+			}
+		}
+		return null;
+	}
+
 	public void addMetaAttributeInfo(Table table, MultiValuedMap<String, SimpleMetaAttribute> map) {
 		if(map!=null && !map.isEmpty()) {
 			tableMetaAttributes.put(TableIdentifier.create(table), map);
@@ -1,6 +1,7 @@
 package org.hibernate.tool.internal.reveng.strategy;
 
 import org.apache.commons.collections4.MultiValuedMap;
+import org.hibernate.tool.api.reveng.CacheInfo;
 import org.hibernate.tool.api.reveng.TableIdentifier;
 import org.hibernate.tool.internal.reveng.strategy.MetaAttributeHelper.SimpleMetaAttribute;
 
@@ -76,6 +77,8 @@ public class TableFilter {
 	private Matcher schemaMatcher;
 	private Matcher nameMatcher;
 	private MultiValuedMap<String, SimpleMetaAttribute> metaAttributes;
+	private CacheInfo cacheInfo;
+	private boolean cacheViewsOnly;
 
 	
 	
@@ -156,4 +159,19 @@ public class TableFilter {
 	public void setMetaAttributes(MultiValuedMap<String, SimpleMetaAttribute> metaAttributes) {
 		this.metaAttributes = metaAttributes;
 	}
+	/**
+	 * @return null if filter does not cache the table or view
+	 */
+	public CacheInfo getCacheInfo(TableIdentifier identifier, boolean view) {
+		return isRelevantFor(identifier) && (view || !cacheViewsOnly) ? cacheInfo : null;
+	}
+
+	public void setCacheInfo(CacheInfo cacheInfo) {
+		this.cacheInfo = cacheInfo;
+	}
+
+	public void setCacheViewsOnly(boolean cacheViewsOnly) {
+		this.cacheViewsOnly = cacheViewsOnly;
+	}
+	
 }
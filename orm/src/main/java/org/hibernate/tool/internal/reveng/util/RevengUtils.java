@@ -4,6 +4,9 @@ import java.util.List;
 
 import org.hibernate.mapping.Table;
 import org.hibernate.tool.api.reveng.AssociationInfo;
+import org.hibernate.tool.api.reveng.CacheInfo;
+import org.hibernate.tool.api.reveng.EntityGraphInfo;
+import org.hibernate.tool.api.reveng.NaturalIdInfo;
 import org.hibernate.tool.api.reveng.RevengStrategy;
 import org.hibernate.tool.api.reveng.TableIdentifier;
 
@@ -57,6 +60,16 @@ public class RevengUtils {
 			String fetch, 
 			Boolean insert, 
 			Boolean update) {
+		return createAssociationInfo(cascade, fetch, insert, update, null, null);
+	}
+	
+	public static AssociationInfo createAssociationInfo(			
+			String cascade, 
+			String fetch, 
+			Boolean insert, 
+			Boolean update, 
+			Integer batchSize, 
+			String lazy) {
 		return new AssociationInfo() {
 			@Override
 			public String getCascade() {
@@ -74,10 +87,65 @@ public class RevengUtils {
 			public Boolean getInsert() {
 				return insert;
 			}
+			@Override
+			public Integer getBatchSize() {
+				return batchSize;
+			}
+			@Override
+			public String getLazy() {
+				return lazy;
+			}
 			
 		};
 	}
 
+	public static CacheInfo createCacheInfo(String usage, String region) {
+		return new CacheInfo() {
+			@Override
+			public String getUsage() {
+				return usage;
+			}
+			@Override
+			public String getRegion() {
+				return region;
+			}
+		};
+	}
+
+	public static NaturalIdInfo createNaturalIdInfo(String uniqueKey, boolean mutable, boolean cached, String cacheRegion) {
+		return new NaturalIdInfo() {
+			@Override
+			public String getUniqueKey() {
+				return uniqueKey;
+			}
+			@Override
+			public boolean isMutable() {
+				return mutable;
+			}
+			@Override
+			public boolean isCached() {
+				return cached;
+			}
+			@Override
+			public String getCacheRegion() {
+				return cacheRegion;
+			}
+		};
+	}
+
+	public static EntityGraphInfo createEntityGraphInfo(String name, int depth) {
+		return new EntityGraphInfo() {
+			@Override
+			public String getName() {
+				return name;
+			}
+			@Override
+			public int getDepth() {
+				return depth;
+			}
+		};
+	}
+
 	/** If catalog is equal to defaultCatalog then we return null so it will be null in the generated code. */
 	private static String getCatalogForModel(String catalog, String defaultCatalog) {
 		if(catalog==null) return null;
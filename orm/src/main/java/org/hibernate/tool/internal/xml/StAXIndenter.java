@@ -0,0 +1,490 @@
+package org.hibernate.tool.internal.xml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Indents an XML document while streaming it from a reader to a writer,
+ * without building a DOM: only the path from the root to the current element
+ * is kept in memory. Whitespace between elements is replaced by line breaks
+ * and indentation, text content, comments, processing instructions and the
+ * doctype are kept as they are. Elements with mixed content, i.e. text next 
+ * to child elements, are written as they are, whitespace included, so that 
+ * the text doesn't change. To find them the events of an element are read
+ * ahead until its first text or its end, at most {@link #LOOKAHEAD_LIMIT} 
+ * of them; text found after that switches to mixed content from there on. 
+ * The external DTD is never loaded.
+ */
+public class StAXIndenter {
+
+	private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+	private static final int BUFFER_SIZE = 64 * 1024;
+	static final int LOOKAHEAD_LIMIT = 1024;
+
+	private final int indent;
+
+	public StAXIndenter() {
+		this(4);
+	}
+
+	public StAXIndenter(int indent) {
+		this.indent = indent;
+	}
+
+	/**
+	 * @param encoding the encoding declared in the XML declaration of the output,
+	 * or null to keep the one declared by the input
+	 */
+	public void indent(Reader input, Writer output, String encoding) throws IOException, XMLStreamException {
+		XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+		try {
+			new Indentation(output, encoding == null ? getEncoding(reader) : encoding).process(reader);
+		}
+		finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Indents a file, writing it in the encoding it declares, or the one the 
+	 * parser detected if it declares none.
+	 */
+	public void indent(Path source, OutputStream output) throws IOException, XMLStreamException {
+		InputStream input = new BufferedInputStream(
+				Channels.newInputStream(FileChannel.open(source, StandardOpenOption.READ)), 
+				BUFFER_SIZE);
+		try {
+			XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+			try {
+				String encoding = getEncoding(reader);
+				Writer writer = new BufferedWriter(new OutputStreamWriter(output, Charset.forName(encoding)));
+				new Indentation(writer, encoding).process(reader);
+			}
+			finally {
+				reader.close();
+			}
+		}
+		finally {
+			input.close();
+		}
+	}
+
+	private static boolean isWhitespace(CharSequence text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (!Character.isWhitespace(text.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the encoding the document declares, or the one the parser detected
+	 */
+	static String getEncoding(InputStream input) throws XMLStreamException {
+		XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+		try {
+			return getEncoding(reader);
+		}
+		finally {
+			reader.close();
+		}
+	}
+
+	private static String getEncoding(XMLStreamReader reader) {
+		if (reader.getCharacterEncodingScheme() != null) {
+			return reader.getCharacterEncodingScheme();
+		}
+		return reader.getEncoding() == null ? "UTF-8" : reader.getEncoding();
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory result = XMLInputFactory.newInstance();
+		result.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		result.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+		result.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		// keep the doctype but don't go and fetch the DTD it points to
+		result.setXMLResolver(new XMLResolver() {
+			public Object resolveEntity(String publicID, String systemID, String baseURI, String namespace) {
+				return new ByteArrayInputStream(new byte[0]);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * A copy of a parser event, so that it can be kept while the parser reads ahead.
+	 */
+	private static class Event {
+
+		final int type;
+		String text;
+		String prefix;
+		String localName;
+		// prefix and URI pairs
+		String[] namespaces;
+		// prefix, local name and value triples
+		String[] attributes;
+		String target;
+		// for start elements: whether the element has been read far enough to know if it is mixed
+		boolean decided = false;
+		boolean mixed = false;
+
+		Event(XMLStreamReader reader) {
+			type = reader.getEventType();
+			switch (type) {
+			case XMLStreamConstants.START_ELEMENT:
+				prefix = reader.getPrefix();
+				localName = reader.getLocalName();
+				namespaces = new String[reader.getNamespaceCount() * 2];
+				for (int i = 0; i < reader.getNamespaceCount(); i++) {
+					namespaces[2 * i] = reader.getNamespacePrefix(i);
+					namespaces[2 * i + 1] = reader.getNamespaceURI(i);
+				}
+				attributes = new String[reader.getAttributeCount() * 3];
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					attributes[3 * i] = reader.getAttributePrefix(i);
+					attributes[3 * i + 1] = reader.getAttributeLocalName(i);
+					attributes[3 * i + 2] = reader.getAttributeValue(i);
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				prefix = reader.getPrefix();
+				localName = reader.getLocalName();
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.COMMENT:
+			case XMLStreamConstants.DTD:
+				text = reader.getText();
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				target = reader.getPITarget();
+				text = reader.getPIData();
+				break;
+			default:
+				break;
+			}
+		}
+
+	}
+
+	/**
+	 * The parser events, with the ones read ahead to find out whether an 
+	 * element has mixed content.
+	 */
+	private static class Events {
+
+		private final XMLStreamReader reader;
+		private final Deque<Event> pending = new ArrayDeque<Event>();
+		// the start elements read so far that are not ended yet
+		private final List<Event> open = new ArrayList<Event>();
+
+		Events(XMLStreamReader reader) {
+			this.reader = reader;
+		}
+
+		boolean hasNext() throws XMLStreamException {
+			return !pending.isEmpty() || reader.hasNext();
+		}
+
+		Event next() throws XMLStreamException {
+			if (pending.isEmpty()) {
+				read();
+			}
+			return pending.poll();
+		}
+
+		/**
+		 * @return whether the element has text or CDATA children other than 
+		 * whitespace, as far as can be told within the look-ahead limit
+		 */
+		boolean isMixed(Event start) throws XMLStreamException {
+			while (!start.decided && pending.size() < LOOKAHEAD_LIMIT && reader.hasNext()) {
+				read();
+			}
+			start.decided = true;
+			return start.mixed;
+		}
+
+		private void read() throws XMLStreamException {
+			reader.next();
+			Event event = new Event(reader);
+			pending.add(event);
+			switch (event.type) {
+			case XMLStreamConstants.START_ELEMENT:
+				open.add(event);
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				open.remove(open.size() - 1).decided = true;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+				if (!isWhitespace(event.text)) {
+					setMixed();
+				}
+				break;
+			case XMLStreamConstants.CDATA:
+				setMixed();
+				break;
+			default:
+				break;
+			}
+		}
+
+		private void setMixed() {
+			if (!open.isEmpty()) {
+				Event start = open.get(open.size() - 1);
+				if (!start.decided) {
+					start.mixed = true;
+					start.decided = true;
+				}
+			}
+		}
+
+	}
+
+	private class Indentation {
+
+		private final Writer output;
+		private final String encoding;
+		// per open element: whether it has child nodes that go on their own line
+		private final List<Boolean> blocks = new ArrayList<Boolean>();
+		private final StringBuilder text = new StringBuilder();
+		// the depth of the outermost open element with mixed content, 0 if there is none
+		private int mixedDepth = 0;
+		private boolean startTagOpen = false;
+		private boolean atDocumentStart = true;
+
+		Indentation(Writer output, String encoding) {
+			this.output = output;
+			this.encoding = encoding;
+		}
+
+		void process(XMLStreamReader reader) throws IOException, XMLStreamException {
+			startDocument(reader);
+			Events events = new Events(reader);
+			while (events.hasNext()) {
+				Event event = events.next();
+				if (event.type == XMLStreamConstants.CHARACTERS || event.type == XMLStreamConstants.SPACE) {
+					// the parser may split text in several events
+					text.append(event.text);
+					continue;
+				}
+				flushText();
+				switch (event.type) {
+				case XMLStreamConstants.DTD:
+					newLine();
+					output.write(event.text);
+					break;
+				case XMLStreamConstants.START_ELEMENT:
+					startElement(event, events);
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					endElement(event.prefix, event.localName);
+					break;
+				case XMLStreamConstants.CDATA:
+					closeStartTag();
+					output.write("<![CDATA[");
+					output.write(event.text);
+					output.write("]]>");
+					break;
+				case XMLStreamConstants.COMMENT:
+					startNode();
+					output.write("<!--");
+					output.write(event.text);
+					output.write("-->");
+					break;
+				case XMLStreamConstants.PROCESSING_INSTRUCTION:
+					startNode();
+					output.write("<?");
+					output.write(event.target);
+					if (event.text != null && event.text.length() > 0) {
+						output.write(" ");
+						output.write(event.text);
+					}
+					output.write("?>");
+					break;
+				case XMLStreamConstants.END_DOCUMENT:
+					output.write(System.lineSeparator());
+					break;
+				default:
+					break;
+				}
+			}
+			output.flush();
+		}
+
+		private void startDocument(XMLStreamReader reader) throws IOException {
+			output.write("<?xml version=\"");
+			output.write(reader.getVersion() == null ? "1.0" : reader.getVersion());
+			output.write("\" encoding=\"");
+			output.write(encoding);
+			output.write("\"");
+			if (reader.standaloneSet()) {
+				output.write(reader.isStandalone() ? " standalone=\"yes\"" : " standalone=\"no\"");
+			}
+			output.write("?>");
+		}
+
+		// attributes are written in document order
+		private void startElement(Event event, Events events) throws IOException, XMLStreamException {
+			startNode();
+			output.write("<");
+			writeName(event.prefix, event.localName);
+			for (int i = 0; i < event.namespaces.length; i += 2) {
+				String prefix = event.namespaces[i];
+				output.write(prefix == null || prefix.length() == 0 ? " xmlns" : " xmlns:" + prefix);
+				output.write("=\"");
+				writeEscaped(event.namespaces[i + 1], true);
+				output.write("\"");
+			}
+			for (int i = 0; i < event.attributes.length; i += 3) {
+				output.write(" ");
+				writeName(event.attributes[i], event.attributes[i + 1]);
+				output.write("=\"");
+				writeEscaped(event.attributes[i + 2], true);
+				output.write("\"");
+			}
+			startTagOpen = true;
+			blocks.add(Boolean.FALSE);
+			if (mixedDepth == 0 && events.isMixed(event)) {
+				mixedDepth = blocks.size();
+			}
+		}
+
+		private void endElement(String prefix, String localName) throws IOException {
+			boolean block = blocks.remove(blocks.size() - 1).booleanValue() && !isMixed();
+			if (mixedDepth > blocks.size()) {
+				mixedDepth = 0;
+			}
+			if (startTagOpen) {
+				output.write("/>");
+				startTagOpen = false;
+				return;
+			}
+			if (block) {
+				writeLineBreak(blocks.size());
+			}
+			output.write("</");
+			writeName(prefix, localName);
+			output.write(">");
+		}
+
+		// whitespace only text is indentation, which is redone unless in mixed content
+		private void flushText() throws IOException {
+			if (text.length() == 0) {
+				return;
+			}
+			if (isMixed()) {
+				closeStartTag();
+				writeEscaped(text, false);
+				text.setLength(0);
+				return;
+			}
+			if (!isWhitespace(text) && !blocks.isEmpty()) {
+				// text beyond the look-ahead limit: keep the rest of the element as it is
+				mixedDepth = blocks.size();
+				closeStartTag();
+				writeEscaped(text, false);
+			}
+			text.setLength(0);
+		}
+
+		private boolean isMixed() {
+			return mixedDepth > 0;
+		}
+
+		// starts a node, on its own line unless in mixed content
+		private void startNode() throws IOException {
+			if (isMixed()) {
+				closeStartTag();
+			}
+			else {
+				newLine();
+			}
+		}
+
+		// starts a node that goes on its own line
+		private void newLine() throws IOException {
+			closeStartTag();
+			if (!blocks.isEmpty()) {
+				blocks.set(blocks.size() - 1, Boolean.TRUE);
+			}
+			if (atDocumentStart) {
+				atDocumentStart = false;
+				return;
+			}
+			writeLineBreak(blocks.size());
+		}
+
+		private void closeStartTag() throws IOException {
+			atDocumentStart = false;
+			if (startTagOpen) {
+				output.write(">");
+				startTagOpen = false;
+			}
+		}
+
+		private void writeLineBreak(int depth) throws IOException {
+			output.write(System.lineSeparator());
+			for (int i = 0; i < depth * indent; i++) {
+				output.write(' ');
+			}
+		}
+
+		private void writeName(String prefix, String localName) throws IOException {
+			if (prefix != null && prefix.length() > 0) {
+				output.write(prefix);
+				output.write(":");
+			}
+			output.write(localName);
+		}
+
+		private void writeEscaped(CharSequence value, boolean attribute) throws IOException {
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+				case '&': output.write("&amp;"); break;
+				case '<': output.write("&lt;"); break;
+				case '>': output.write("&gt;"); break;
+				case '"':
+					if (attribute) { output.write("&quot;"); } else { output.write(c); }
+					break;
+				case '\n':
+					if (attribute) { output.write("&#10;"); } else { output.write(c); }
+					break;
+				case '\r': output.write("&#13;"); break;
+				case '\t':
+					if (attribute) { output.write("&#9;"); } else { output.write(c); }
+					break;
+				default: output.write(c);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,55 @@
+package org.hibernate.tool.internal.xml;
+
+import org.hibernate.tool.api.xml.XMLPrettyPrinterStrategy;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Formats XML with a streaming StAX parser instead of a DOM, so the memory
+ * used doesn't grow with the size of the document. Comments, processing
+ * instructions and the doctype are kept, and so are elements with mixed 
+ * content; the external DTD isn't loaded.
+ * <p>
+ * Besides the {@link XMLPrettyPrinterStrategy} contract, the document can
+ * be formatted from a reader or stream to a writer or stream, which is what
+ * {@link XMLPrettyPrinter} does when this strategy is selected.
+ */
+public class StAXPrettyPrinterStrategy implements XMLPrettyPrinterStrategy {
+    private int indent = 4;
+
+    @Override
+    public String prettyPrint(String xml) throws Exception {
+        final StringWriter stringWriter = new StringWriter();
+        prettyPrint(new StringReader(xml), stringWriter, null);
+        return stringWriter.toString();
+    }
+
+    /**
+     * @param encoding the encoding to declare in the output, or null to keep the declared one
+     */
+    public void prettyPrint(Reader input, Writer output, String encoding) throws IOException, XMLStreamException {
+        new StAXIndenter(getIndent()).indent(input, output, encoding);
+    }
+
+    /**
+     * Writes the formatted file in the encoding of the input document.
+     */
+    public void prettyPrint(Path source, OutputStream output) throws IOException, XMLStreamException {
+        new StAXIndenter(getIndent()).indent(source, output);
+    }
+
+    public int getIndent() {
+        return indent;
+    }
+
+    public void setIndent(int indent) {
+        this.indent = indent;
+    }
+}
@@ -4,12 +4,26 @@
  */
 package org.hibernate.tool.internal.xml;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.hibernate.tool.api.xml.XMLPrettyPrinterStrategy;
 
 /**
  * @author max
@@ -17,23 +31,100 @@ import java.nio.file.Paths;
  */
 public final class XMLPrettyPrinter {
 
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Formats the file in place with the strategy of {@link XMLPrettyPrinterStrategyFactory}.
+	 * With the {@link StAXPrettyPrinterStrategy} the file is streamed through buffered 
+	 * channels into a sibling file that then replaces it, so the memory used doesn't 
+	 * depend on the file size.
+	 */
 	public static void prettyPrintFile(File file) throws IOException {
-		String input = readFile(file.getAbsolutePath(), Charset.defaultCharset());
-		String output = prettyFormat(input);
-		PrintWriter writer = new PrintWriter(file);
-		writer.print(output);
-		writer.flush();
-		writer.close();
+		XMLPrettyPrinterStrategy strategy = getStrategy();
+		Path source = file.toPath();
+		Path target = source.resolveSibling("." + file.getName() + ".formatting");
+		try {
+			if (strategy instanceof StAXPrettyPrinterStrategy) {
+				streamFile((StAXPrettyPrinterStrategy)strategy, source, target);
+			}
+			else {
+				formatFile(strategy, source, target);
+			}
+			Files.move(target, source, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(target);
+		}
+	}
+
+	/**
+	 * Formats the XML with the strategy of {@link XMLPrettyPrinterStrategyFactory}, 
+	 * which is the {@link StAXPrettyPrinterStrategy} unless another one is configured
+	 * through the {@link XMLPrettyPrinterStrategyFactory#PROPERTY_STRATEGY_IMPL} 
+	 * system property.
+	 * 
+	 * @param encoding the encoding to declare in the formatted document
+	 */
+	public static void prettyPrint(Reader input, Writer output, String encoding) throws IOException {
+		XMLPrettyPrinterStrategy strategy = getStrategy();
+		if (strategy instanceof StAXPrettyPrinterStrategy) {
+			try {
+				((StAXPrettyPrinterStrategy)strategy).prettyPrint(input, output, encoding);
+			}
+			catch (XMLStreamException e) {
+				throw new RuntimeException("Could not format XML", e);
+			}
+			return;
+		}
+		StringWriter buffer = new StringWriter();
+		char[] chars = new char[8192];
+		int read;
+		while ((read = input.read(chars)) != -1) {
+			buffer.write(chars, 0, read);
+		}
+		output.write(prettyFormat(strategy, buffer.toString()));
+	}
+
+	private static XMLPrettyPrinterStrategy getStrategy() {
+		return XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy();
+	}
+
+	private static void streamFile(StAXPrettyPrinterStrategy strategy, Path source, Path target) throws IOException {
+		OutputStream output = new BufferedOutputStream(
+				Channels.newOutputStream(FileChannel.open(
+						target, 
+						StandardOpenOption.WRITE, 
+						StandardOpenOption.CREATE, 
+						StandardOpenOption.TRUNCATE_EXISTING)), 
+				BUFFER_SIZE);
+		try {
+			strategy.prettyPrint(source, output);
+		}
+		catch (XMLStreamException e) {
+			throw new RuntimeException("Could not format " + source, e);
+		}
+		finally {
+			output.close();
+		}
 	}
 
-	private static String readFile(String path, Charset encoding) throws IOException {
-		byte[] encoded = Files.readAllBytes(Paths.get(path));
-		return new String(encoded, encoding);
+	// the DOM based strategies need the whole document as a string and always write UTF-8
+	private static void formatFile(XMLPrettyPrinterStrategy strategy, Path source, Path target) throws IOException {
+		byte[] input = Files.readAllBytes(source);
+		Charset encoding;
+		try {
+			encoding = Charset.forName(StAXIndenter.getEncoding(new ByteArrayInputStream(input)));
+		}
+		catch (XMLStreamException e) {
+			throw new RuntimeException("Could not format " + source, e);
+		}
+		String output = prettyFormat(strategy, new String(input, encoding));
+		Files.write(target, output.getBytes(StandardCharsets.UTF_8));
 	}
 
-	private static String prettyFormat(String input) {
+	private static String prettyFormat(XMLPrettyPrinterStrategy strategy, String input) {
 	    try {
-			return XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy().prettyPrint(input);
+			return strategy.prettyPrint(input);
 	    } catch (Exception e) {
 	        throw new RuntimeException(e); // simple exception handling, please review it
 	    }
@@ -2,10 +2,16 @@ package org.hibernate.tool.internal.xml;
 
 import org.hibernate.tool.api.xml.XMLPrettyPrinterStrategy;
 
+/**
+ * Creates the strategy named by the {@link #PROPERTY_STRATEGY_IMPL} system property,
+ * or the {@link StAXPrettyPrinterStrategy}, which streams the document and never loads
+ * the external DTD. The DOM based {@link TrAXPrettyPrinterStrategy} has to be named 
+ * explicitly.
+ */
 public final class XMLPrettyPrinterStrategyFactory {
     public static final String PROPERTY_STRATEGY_IMPL = "org.hibernate.tool.hbm2x.xml.XMLPrettyPrinterStrategy";
 
-    private static final XMLPrettyPrinterStrategy DEFAULT_STRATEGY = new TrAXPrettyPrinterStrategy();
+    private static final XMLPrettyPrinterStrategy DEFAULT_STRATEGY = new StAXPrettyPrinterStrategy();
 
     private XMLPrettyPrinterStrategyFactory() {
     }
@@ -0,0 +1,21 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<!-- Generated ${date} by Hibernate Tools ${version} -->
+<config xmlns="http://www.ehcache.org/v3">
+<#foreach region in regions>
+
+    <!-- ${region.usage} -->
+    <cache alias="${region.name}">
+<#if (region.ttlSeconds > 0)>
+        <expiry>
+            <ttl unit="seconds">${region.ttlSeconds?c}</ttl>
+        </expiry>
+<#else>
+        <expiry>
+            <none/>
+        </expiry>
+</#if>
+        <heap unit="entries">${region.heapEntries?c}</heap>
+    </cache>
+</#foreach>
+
+</config>
@@ -68,6 +68,48 @@ public class ${declarationName}Home {
         }
     }
 </#if>
+<#if clazz.hasNaturalId()>
+    
+    public ${declarationName} findByNaturalId(${c2j.asNaturalIdParameterList(clazz, pojo)}) {
+        logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "getting ${declarationName} instance by natural id");
+        try {
+            ${declarationName} instance = entityManager.unwrap(${pojo.importType("org.hibernate.Session")}.class)
+                    .byNaturalId(${pojo.getDeclarationName()}.class)
+<#foreach property in pojo.getAllPropertiesIterator()>
+<#if property.isNaturalIdentifier()>
+                    .using("${property.name}", ${property.name})
+</#if>
+</#foreach>
+                    .load();
+            logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "get successful");
+            return instance;
+        }
+        catch (RuntimeException re) {
+            logger.log(${pojo.importType("java.util.logging.Level")}.SEVERE, "get failed", re);
+            throw re;
+        }
+    }
+</#if>
+<#if clazz.identifierProperty?has_content && pojo.getEntityGraphNames()?has_content>
+    
+    /**
+     * @param graphName the graph the associations fetched with the instance are loaded by,
+     * one of <#list pojo.getEntityGraphNames() as graphName>"${graphName}"<#if graphName_has_next>, </#if></#list>
+     */
+    public ${declarationName} findWithGraph( ${pojo.getJavaTypeName(clazz.identifierProperty, jdk5)} id, String graphName) {
+        logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "getting ${declarationName} instance with id: " + id + " and graph: " + graphName);
+        try {
+            ${declarationName} instance = entityManager.find(${pojo.getDeclarationName()}.class, id, 
+                    ${pojo.importType("java.util.Collections")}.<String, Object>singletonMap("javax.persistence.loadgraph", entityManager.getEntityGraph(graphName)));
+            logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "get successful");
+            return instance;
+        }
+        catch (RuntimeException re) {
+            logger.log(${pojo.importType("java.util.logging.Level")}.SEVERE, "get failed", re);
+            throw re;
+        }
+    }
+</#if>
 <#else>    
     private final ${pojo.importType("org.hibernate.SessionFactory")} sessionFactory = getSessionFactory();
     
@@ -163,27 +205,45 @@ public class ${declarationName}Home {
         }
     }
 </#if>
+<#if clazz.identifierProperty?has_content && pojo.getEntityGraphNames()?has_content>
+    
+    /**
+     * @param graphName the graph the associations fetched with the instance are loaded by,
+     * one of <#list pojo.getEntityGraphNames() as graphName>"${graphName}"<#if graphName_has_next>, </#if></#list>
+     */
+    public ${declarationName} findWithGraph( ${c2j.getJavaTypeName(clazz.identifierProperty, jdk5)} id, String graphName) {
+        logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "getting ${declarationName} instance with id: " + id + " and graph: " + graphName);
+        try {
+            ${pojo.importType("org.hibernate.Session")} session = sessionFactory.getCurrentSession();
+            ${declarationName} instance = session.find(${pojo.getDeclarationName()}.class, id, 
+                    ${pojo.importType("java.util.Collections")}.<String, Object>singletonMap("javax.persistence.loadgraph", session.getEntityGraph(graphName)));
+            if (instance==null) {
+                logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "get successful, no instance found");
+            }
+            else {
+                logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "get successful, instance found");
+            }
+            return instance;
+        }
+        catch (RuntimeException re) {
+            logger.log(${pojo.importType("java.util.logging.Level")}.SEVERE, "get failed", re);
+            throw re;
+        }
+    }
+</#if>
     
 <#if clazz.hasNaturalId()>
-    public ${declarationName} findByNaturalId(${c2j.asNaturalIdParameterList(clazz)}) {
+    public ${declarationName} findByNaturalId(${c2j.asNaturalIdParameterList(clazz, pojo)}) {
         logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "getting ${declarationName} instance by natural id");
         try {
-            ${pojo.importType("javax.persistence.criteria.CriteriaBuilder")} criteriaBuilder = sessionFactory.getCriteriaBuilder();
-            ${pojo.importType("javax.persistence.criteria.CriteriaQuery")}<${declarationName}> criteriaQuery = criteriaBuilder.createQuery(${declarationName}.class);
-            ${pojo.importType("javax.persistence.criteria.Root")}<${declarationName}> root = criteriaQuery.from(${declarationName}.class);
-            criteriaQuery.where(
-<#assign notFirst = false/>
+            ${declarationName} instance = (${declarationName}) sessionFactory.getCurrentSession()
+                    .byNaturalId("${clazz.entityName}")
 <#foreach property in pojo.getAllPropertiesIterator()>
 <#if property.isNaturalIdentifier()>
-                    <#if notFirst>,</#if>criteriaBuilder.equal(root.get("${property.name}"), ${property.name})
-<#assign notFirst = true/>
+                    .using("${property.name}", ${property.name})
 </#if>
 </#foreach>
-            );
-            ${declarationName} instance = sessionFactory
-                    .getCurrentSession()
-                    .createQuery(criteriaQuery)
-                    .getSingleResult();                    
+                    .load();
             if (instance==null) {
                 logger.log(${pojo.importType("java.util.logging.Level")}.INFO, "get successful, no instance found");
             }
@@ -193,7 +253,7 @@ public class ${declarationName}Home {
             return instance;
         }
         catch (RuntimeException re) {
-            logger.log(${pojo.importType("java.util.logging.Level")}.SEVERE, "query failed", re);
+            logger.log(${pojo.importType("java.util.logging.Level")}.SEVERE, "get failed", re);
             throw re;
         }
     }
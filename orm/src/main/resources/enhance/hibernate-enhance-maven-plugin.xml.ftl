@@ -0,0 +1,25 @@
+<!-- Generated ${date} by Hibernate Tools ${version} -->
+<!-- Bytecode enhancement of the entities, to add to the build plugins of the project that compiles them. -->
+<#if lazyEntities?has_content>
+<!-- Enhanced for the lazy properties of: <#list lazyEntities as entity>${entity}<#if entity_has_next>, </#if></#list> -->
+</#if>
+<#if dynamicUpdateEntities?has_content>
+<!-- Enhanced for the dirty tracking of: <#list dynamicUpdateEntities as entity>${entity}<#if entity_has_next>, </#if></#list> -->
+</#if>
+<plugin>
+    <groupId>org.hibernate.orm.tooling</groupId>
+    <artifactId>hibernate-enhance-maven-plugin</artifactId>
+    <version>${pluginVersion}</version>
+    <executions>
+        <execution>
+            <configuration>
+                <enableLazyInitialization><#if lazyEntities?has_content>true<#else>false</#if></enableLazyInitialization>
+                <enableDirtyTracking><#if dynamicUpdateEntities?has_content>true<#else>false</#if></enableDirtyTracking>
+                <enableAssociationManagement>false</enableAssociationManagement>
+            </configuration>
+            <goals>
+                <goal>enhance</goal>
+            </goals>
+        </execution>
+    </executions>
+</plugin>
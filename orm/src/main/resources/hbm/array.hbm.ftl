@@ -13,7 +13,7 @@
 	<#if !property.basicPropertyAccessor>
         access="${property.propertyAccessorName}"
 	</#if>
-	<#if c2h.hasFetchMode(property)> fetch="${c2h.getFetchMode(property)}"</#if>>
+	<#if c2h.hasFetchMode(property)> fetch="${c2h.getFetchMode(property)}"</#if><#if (value.batchSize > 1)> batch-size="${value.batchSize}"</#if>>
  	<#assign metaattributable=property>
  	<#include "meta.hbm.ftl">
     <#include "key.hbm.ftl">
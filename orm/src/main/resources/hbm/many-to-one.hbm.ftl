@@ -21,6 +21,9 @@
 <#if fetchmode != "default">
         fetch="${fetchmode}"
 </#if>
+<#if (lazyByDefault!false) && !c2h.isLazy(property)>
+        lazy="false"
+</#if>
 <#if !property.optimisticLocked>
         optimistic-lock="false"
 </#if>
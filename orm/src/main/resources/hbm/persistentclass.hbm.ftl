@@ -1,3 +1,4 @@
+<#assign lazyByDefault = hmgs?exists && hmgs.isLazyByDefault()>
 <${c2h.getTag(clazz)}
     name="${c2h.getClassName(clazz)}"
 <#if !c2h.getClassName(clazz).equals(clazz.entityName)>
@@ -33,9 +34,10 @@
 <#if clazz.isExplicitPolymorphism()>
     polymorphism="explicit"
 </#if>
-<#if clazz.isLazy() && !c2h.getClassName(clazz).equals(c2h.getProxyInterfaceName(clazz))>
+<#assign classLazy = c2h.isLazy(clazz, lazyByDefault)>
+<#if classLazy && clazz.isLazy() && !c2h.getClassName(clazz).equals(c2h.getProxyInterfaceName(clazz))>
     proxy="${c2h.getProxyInterfaceName(clazz)}"
-<#elseif !clazz.isLazy()>
+<#elseif !classLazy>
     lazy="false"
 </#if>
 <#if clazz.isAbstract()?exists && clazz.isAbstract()>
@@ -61,6 +63,9 @@
 </#if>>
 <#assign metaattributable=clazz/>
 <#include "meta.hbm.ftl"/>
+<#if c2h.hasCache(clazz)>
+ <cache usage="${clazz.cacheConcurrencyStrategy}"<#if c2h.hasCacheRegion(clazz)> region="${clazz.cacheRegionName}"</#if>/>
+</#if>
 
 <#if clazz.table.comment?exists  && clazz.table.comment?trim?length!=0>
  <comment>${clazz.table.comment}</comment>
@@ -112,6 +117,14 @@
 </#if>
 
 
+<#if c2h.hasNaturalId(clazz)>
+    <natural-id<#if c2h.isNaturalIdMutable(clazz)> mutable="true"</#if>>
+<#foreach property in c2h.getNaturalIdProperties(clazz)>
+<#include "${c2h.getTag(property)}.hbm.ftl"/>
+</#foreach>
+    </natural-id>
+</#if>
+
 <#-- version has to be done explicitly since Annotation's does not list version first -->
 <#if pojo.hasVersionProperty()>
 <#assign property=clazz.getVersion()/>
@@ -119,7 +132,7 @@
 </#if>
 
 <#foreach property in c2h.getProperties(clazz)>
-<#if c2h.getTag(property)!="version" && c2h.getTag(property)!="timestamp">
+<#if c2h.getTag(property)!="version" && c2h.getTag(property)!="timestamp" && !property.isNaturalIdentifier()>
 <#include "${c2h.getTag(property)}.hbm.ftl"/>
 </#if>
 </#foreach>
@@ -6,14 +6,14 @@
 	<set name="${property.name}"
 	<#include "collection-tableattr.hbm.ftl"> 
 	inverse="${value.inverse?string}"
-	lazy="${c2h.getCollectionLazy(value)}"	 		
+	lazy="${c2h.getCollectionLazy(property, lazyByDefault!false)}"	 		
 	<#if property.cascade != "none">
         cascade="${property.cascade}"
 	</#if>
 	<#if !property.basicPropertyAccessor>
         access="${property.propertyAccessorName}"
 	</#if>
-	<#if c2h.hasFetchMode(property)> fetch="${c2h.getFetchMode(property)}"</#if>
+	<#if c2h.hasFetchMode(property)> fetch="${c2h.getFetchMode(property)}"</#if><#if (value.batchSize > 1)> batch-size="${value.batchSize}"</#if>
 	>
 		<#assign metaattributable=property>
 		<#include "meta.hbm.ftl">
@@ -7,6 +7,9 @@
 </#if>
 </#if>
 
+<#if property.isNaturalIdentifier()>
+@${pojo.importType("org.hibernate.annotations.NaturalId")}<#if property.isUpdateable()>(mutable=true)</#if>
+</#if>
 <#if c2h.isOneToOne(property)>
 ${pojo.generateOneToOneAnnotation(property, md)}
 <#elseif c2h.isManyToOne(property)>
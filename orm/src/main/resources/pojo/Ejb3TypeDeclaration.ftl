@@ -12,6 +12,26 @@
 <#assign uniqueConstraint=pojo.generateAnnTableUniqueConstraint()>
 <#if uniqueConstraint?has_content>
     , uniqueConstraints = ${uniqueConstraint} 
+</#if><#assign indexes=pojo.generateAnnTableIndexes()>
+<#if indexes?has_content>
+    , indexes = ${indexes} 
 </#if>)
+<#if clazz.useDynamicUpdate()>
+@${pojo.importType("org.hibernate.annotations.DynamicUpdate")}
+</#if>
+<#if clazz.useDynamicInsert()>
+@${pojo.importType("org.hibernate.annotations.DynamicInsert")}
+</#if>
+<#if pojo.isImmutable()>
+@${pojo.importType("org.hibernate.annotations.Immutable")}
+</#if>
+<#assign cacheAnnotation=pojo.generateAnnCacheAnnotation()>
+<#if cacheAnnotation?has_content>
+${cacheAnnotation}
+</#if>
+<#assign entityGraphs=pojo.generateAnnEntityGraphs(md)>
+<#if entityGraphs?has_content>
+${entityGraphs}
+</#if>
 </#if>
 </#if>
\ No newline at end of file
@@ -3,16 +3,25 @@
    public boolean equals(Object other) {
          if ( (this == other ) ) return true;
 		 if ( (other == null ) ) return false;
+<#if pojo.isLazySafe() && !pojo.isComponent()>
+		 if ( getClass() != ( other instanceof ${pojo.importType("org.hibernate.proxy.HibernateProxy")} ? ( (${pojo.importType("org.hibernate.proxy.HibernateProxy")}) other ).getHibernateLazyInitializer().getPersistentClass() : other.getClass() ) ) return false;
+<#else>
 		 if ( !(other instanceof ${classNameToCastTo}) ) return false;
+</#if>
 		 ${classNameToCastTo} castOther = ( ${classNameToCastTo} ) other; 
          
 		 return ${pojo.generateEquals("this", "castOther", jdk5)};
    }
    
    public int hashCode() {
+<#if pojo.isEqualsByIdentifier()>
+         // the same before and after the identifier is assigned
+         return getClass().hashCode();
+<#else>
          int result = 17;
          
 <#foreach property in pojo.getAllPropertiesIterator()>         ${pojo.generateHashCode(property, "result", "this", jdk5)}
 </#foreach>         return result;
+</#if>
    }   
 </#if>
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ *
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL),
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.internal.export.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import freemarker.core.Environment;
+
+public class TemplateHelperTest {
+
+	@TempDir
+	public File templateFolder = new File("templates");
+
+	@Test
+	public void testConfigurationIsShared() {
+		String[] templatePath = new String[] { templateFolder.getAbsolutePath() };
+		TemplateHelper first = new TemplateHelper();
+		first.init(null, templatePath);
+		TemplateHelper second = new TemplateHelper();
+		second.init(null, templatePath);
+		assertSame(first.getFreeMarkerEngine(), second.getFreeMarkerEngine());
+		TemplateHelper other = new TemplateHelper();
+		other.init(null, new String[0]);
+		assertNotSame(first.getFreeMarkerEngine(), other.getFreeMarkerEngine());
+		TemplateHelper.clearConfigurationCache();
+		TemplateHelper third = new TemplateHelper();
+		third.init(null, templatePath);
+		assertNotSame(first.getFreeMarkerEngine(), third.getFreeMarkerEngine());
+	}
+
+	@Test
+	public void testEnvironmentSettingsAreNotShared() {
+		String[] templatePath = new String[] { templateFolder.getAbsolutePath() };
+		TemplateHelper custom = new TemplateHelper() {
+			protected void configureEnvironment(Environment environment) {
+				environment.setBooleanFormat("yes,no");
+			}
+		};
+		custom.init(null, templatePath);
+		TemplateHelper plain = new TemplateHelper();
+		plain.init(null, templatePath);
+		custom.putInContext("flag", Boolean.TRUE);
+		plain.putInContext("flag", Boolean.TRUE);
+		StringWriter output = new StringWriter();
+		custom.processString("${flag?string}", output);
+		assertEquals("yes", output.toString());
+		output = new StringWriter();
+		plain.processString("${flag?string}", output);
+		assertEquals("true", output.toString());
+		assertEquals("true,false", custom.getFreeMarkerEngine().getBooleanFormat());
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.internal.export.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class BasicTypeNamesTest {
+	
+	@Test
+	public void testGetJavaTypeName() {
+		assertEquals("java.lang.String", BasicTypeNames.getJavaTypeName("string"));
+		assertEquals("long", BasicTypeNames.getJavaTypeName("long"));
+		assertEquals("java.util.Date", BasicTypeNames.getJavaTypeName("timestamp"));
+		assertNull(BasicTypeNames.getJavaTypeName("org.foo.Bar"));
+		assertNull(BasicTypeNames.getJavaTypeName(null));
+		// resolved names are cached, so are the unregistered ones
+		assertNull(BasicTypeNames.getJavaTypeName("org.foo.Bar"));
+	}
+	
+	@Test
+	public void testIsNonPrimitiveTypeName() {
+		assertTrue(Cfg2JavaTool.isNonPrimitiveTypeName("string"));
+		assertTrue(Cfg2JavaTool.isNonPrimitiveTypeName("java.lang.Integer"));
+		assertFalse(Cfg2JavaTool.isNonPrimitiveTypeName("int"));
+		assertFalse(Cfg2JavaTool.isNonPrimitiveTypeName("org.foo.Bar"));
+	}
+
+}
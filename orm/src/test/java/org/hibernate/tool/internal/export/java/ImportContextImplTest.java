@@ -0,0 +1,59 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.internal.export.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class ImportContextImplTest {
+	
+	@Test
+	public void testSharedParsing() {
+		// the parsed names are shared, what they resolve to depends on the context
+		ImportContext first = new ImportContextImpl("org.test");
+		ImportContext second = new ImportContextImpl("org.other");
+		assertEquals("Item", first.importType("org.other.Item"));
+		assertEquals("Item", second.importType("org.other.Item"));
+		assertEquals("Item[]", first.importType("org.test.Item[]"));
+		assertEquals("org.test.Item[]", second.importType("org.test.Item[]"));
+		assertEquals("Outer.Inner<String>", second.importType("org.test.Outer$Inner<String>"));
+		assertEquals("Long", first.importType("java.lang.Long"));
+		assertEquals("Long", second.importType("java.lang.Long"));
+		assertEquals("import org.other.Item;\r\n", first.generateImports());
+		assertEquals("import org.test.Outer.Inner;\r\n", second.generateImports());
+	}
+	
+	@Test
+	public void testGenerateImportsOrder() {
+		ImportContext context = new ImportContextImpl("");
+		context.importType("org.test.Zebra");
+		context.staticImport("org.test.Constants", "*");
+		context.importType("int");
+		context.importType("Unqualified");
+		context.importType("java.util.List<org.test.Zebra>");
+		assertEquals(
+				"import java.util.List;\r\n" +
+				"import static org.test.Constants.*;\r\n" +
+				"import org.test.Zebra;\r\n", 
+				context.generateImports());
+	}
+	
+}
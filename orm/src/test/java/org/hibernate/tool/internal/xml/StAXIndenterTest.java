@@ -0,0 +1,106 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.internal.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+public class StAXIndenterTest {
+	
+	private static final String NL = System.lineSeparator();
+	
+	@Test
+	public void testIndent() throws Exception {
+		String input = 
+				"<?xml version=\"1.0\"?>\n" +
+				"<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\" " +
+				"\"http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd\">\n" +
+				"<!-- a comment -->\n" +
+				"<hibernate-mapping>  <class name=\"Foo\" table=\"FOO\" lazy=\"false\">\n" +
+				"\t\t<property name=\"bar\"></property>\n" +
+				"<meta attribute=\"x\">a &amp; b</meta></class>\n" +
+				"</hibernate-mapping>";
+		StringWriter output = new StringWriter();
+		new StAXIndenter().indent(new StringReader(input), output, "UTF-8");
+		assertEquals(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL +
+				"<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\" " +
+				"\"http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd\">" + NL +
+				"<!-- a comment -->" + NL +
+				"<hibernate-mapping>" + NL +
+				"    <class name=\"Foo\" table=\"FOO\" lazy=\"false\">" + NL +
+				"        <property name=\"bar\"/>" + NL +
+				"        <meta attribute=\"x\">a &amp; b</meta>" + NL +
+				"    </class>" + NL +
+				"</hibernate-mapping>" + NL,
+				output.toString());
+	}
+	
+	@Test
+	public void testMixedContent() throws Exception {
+		String input = 
+				"<class name=\"Foo\"><meta attribute=\"x\">hello  <b>w</b> there</meta>" +
+				"<meta attribute=\"y\">\n  <b>w</b>\n  <!--c--> there\n</meta>" +
+				"<property name=\"bar\"/></class>";
+		StringWriter output = new StringWriter();
+		new StAXIndenter().indent(new StringReader(input), output, "UTF-8");
+		assertEquals(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL +
+				"<class name=\"Foo\">" + NL +
+				"    <meta attribute=\"x\">hello  <b>w</b> there</meta>" + NL +
+				"    <meta attribute=\"y\">\n  <b>w</b>\n  <!--c--> there\n</meta>" + NL +
+				"    <property name=\"bar\"/>" + NL +
+				"</class>" + NL,
+				output.toString());
+	}
+	
+	@Test
+	public void testMixedContentAfterChildElement() throws Exception {
+		String input = "<a><b/>tail<c>\n</c></a>";
+		StringWriter output = new StringWriter();
+		new StAXIndenter().indent(new StringReader(input), output, "UTF-8");
+		assertEquals(
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL +
+				"<a><b/>tail<c>\n</c></a>" + NL,
+				output.toString());
+	}
+	
+	@Test
+	public void testMixedContentBeyondLookahead() throws Exception {
+		StringBuilder input = new StringBuilder("<a>");
+		for (int i = 0; i < StAXIndenter.LOOKAHEAD_LIMIT; i++) {
+			input.append("<b/>");
+		}
+		input.append("tail <c/></a>");
+		StringWriter output = new StringWriter();
+		new StAXIndenter().indent(new StringReader(input.toString()), output, "UTF-8");
+		StringBuilder expected = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL + "<a>");
+		for (int i = 0; i < StAXIndenter.LOOKAHEAD_LIMIT; i++) {
+			expected.append(NL + "    <b/>");
+		}
+		expected.append("tail <c/></a>" + NL);
+		assertEquals(expected.toString(), output.toString());
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.internal.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.hibernate.tool.api.xml.XMLPrettyPrinterStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class XMLPrettyPrinterTest {
+	
+	private static final String NL = System.lineSeparator();
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@Test
+	public void testPrettyPrintFileKeepsEncoding() throws Exception {
+		System.setProperty(
+				XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL, 
+				StAXPrettyPrinterStrategy.class.getName());
+		try {
+			File file = new File(outputDir, "latin.xml");
+			Files.write(
+					file.toPath(), 
+					"<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><a><!-- café --><b>été</b></a>"
+						.getBytes(StandardCharsets.ISO_8859_1));
+			XMLPrettyPrinter.prettyPrintFile(file);
+			assertEquals(
+					"<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" + NL +
+					"<a>" + NL +
+					"    <!-- café -->" + NL +
+					"    <b>été</b>" + NL +
+					"</a>" + NL,
+					new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1));
+			assertFalse(new File(outputDir, ".latin.xml.formatting").exists());
+		}
+		finally {
+			System.clearProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL);
+		}
+	}
+	
+	@Test
+	public void testDefaultStrategy() {
+		assumeTrue(System.getProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL) == null);
+		assertTrue(XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy() instanceof StAXPrettyPrinterStrategy);
+	}
+	
+	@Test
+	public void testSelectTrAXStrategy() {
+		System.setProperty(
+				XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL, 
+				TrAXPrettyPrinterStrategy.class.getName());
+		try {
+			assertTrue(XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy() instanceof TrAXPrettyPrinterStrategy);
+		}
+		finally {
+			System.clearProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL);
+		}
+	}
+	
+	@Test
+	public void testSelectStAXStrategy() throws Exception {
+		System.setProperty(
+				XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL, 
+				StAXPrettyPrinterStrategy.class.getName());
+		try {
+			XMLPrettyPrinterStrategy strategy = XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy();
+			assertTrue(strategy instanceof StAXPrettyPrinterStrategy);
+			assertEquals(
+					"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + NL +
+					"<!DOCTYPE a SYSTEM \"http://www.hibernate.org/dtd/a.dtd\">" + NL +
+					"<a>" + NL +
+					"    <!--comment-->" + NL +
+					"    <b/>" + NL +
+					"</a>" + NL,
+					strategy.prettyPrint(
+							"<!DOCTYPE a SYSTEM \"http://www.hibernate.org/dtd/a.dtd\"><a><!--comment--><b></b></a>"));
+		}
+		finally {
+			System.clearProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL);
+		}
+	}
+
+}
@@ -132,6 +132,14 @@ public class TestCase {
 				return delegate.getSuggestedPrimaryKeyStrategyName(catalog, schema, name);
 			}
 		}
+
+		public Iterator<Map<String, Object>> getSequences(String catalog, String schema, String sequence) {
+			if(failOnDelegateAccess) {
+				throw new IllegalStateException("delegate not accessible");
+			} else {
+				return delegate.getSequences(catalog, schema, sequence);
+			}
+		}
 		
 	}
 	
@@ -0,0 +1,166 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.jdbc2cfg.Cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.MetaAttribute;
+import org.hibernate.mapping.RootClass;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.api.reveng.RevengStrategy;
+import org.hibernate.tool.internal.export.cache.CacheRegionExporter;
+import org.hibernate.tool.internal.reveng.strategy.DefaultStrategy;
+import org.hibernate.tool.internal.reveng.strategy.OverrideRepository;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	private static final String CACHE_XML = "org/hibernate/tool/jdbc2cfg/Cache/cache.reveng.xml";
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testCacheSettings() {
+		Metadata metadata = createMetadataDescriptor().createMetadata();
+		RootClass country = (RootClass)metadata.getEntityBinding("Country");
+		assertEquals("read-only", country.getCacheConcurrencyStrategy());
+		assertEquals("reference", country.getCacheRegionName());
+		RootClass customer = (RootClass)metadata.getEntityBinding("Customer");
+		assertEquals("read-write", customer.getCacheConcurrencyStrategy());
+		assertEquals("Customer", customer.getCacheRegionName());
+		RootClass customerView = (RootClass)metadata.getEntityBinding("CustomerView");
+		assertEquals("read-only", customerView.getCacheConcurrencyStrategy(), "views default to read-only");
+		RootClass orders = (RootClass)metadata.getEntityBinding("Orders");
+		assertNull(orders.getCacheConcurrencyStrategy());
+		assertFalse(orders.isCached());
+	}
+
+	@Test
+	public void testMappingFiles() throws IOException {
+		export(ExporterType.HBM, createMetadataDescriptor());
+		assertTrue(read("Country.hbm.xml").contains("<cache usage=\"read-only\" region=\"reference\"/>"));
+		assertTrue(read("Customer.hbm.xml").contains("<cache usage=\"read-write\"/>"));
+		assertFalse(read("Orders.hbm.xml").contains("<cache"));
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		export(ExporterType.JAVA, createMetadataDescriptor());
+		String country = read("Country.java");
+		assertTrue(country.contains("@Cacheable"));
+		assertTrue(country.contains("@Cache(usage=CacheConcurrencyStrategy.READ_ONLY, region=\"reference\")"));
+		assertTrue(read("Customer.java").contains("@Cache(usage=CacheConcurrencyStrategy.READ_WRITE)"));
+		assertFalse(read("Orders.java").contains("@Cache"));
+	}
+
+	@Test
+	public void testRegionConfiguration() throws IOException {
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.CACHE);
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, createMetadataDescriptor());
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().put(CacheRegionExporter.HEAP_ENTRIES, "500");
+		exporter.getProperties().put(CacheRegionExporter.TTL_SECONDS, "0");
+		exporter.start();
+		String config = read("ehcache.xml");
+		assertTrue(config.contains("<cache alias=\"reference\">"));
+		assertTrue(config.contains("<cache alias=\"CustomerView\">"));
+		assertFalse(config.contains("<cache alias=\"Orders\">"));
+		assertTrue(config.contains("<heap unit=\"entries\">500</heap>"));
+		assertTrue(config.contains("<heap unit=\"entries\">50</heap>"), "sized by the meta attribute of the table");
+		assertTrue(config.contains("<none/>"));
+	}
+
+	@Test
+	public void testMalformedMetaAttribute() {
+		final MetadataDescriptor metadataDescriptor = createMetadataDescriptor();
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.CACHE);
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, new MetadataDescriptor() {
+			public Metadata createMetadata() {
+				Metadata result = metadataDescriptor.createMetadata();
+				MetaAttribute ttlSeconds = new MetaAttribute("cache-ttl-seconds");
+				ttlSeconds.addValue("1h");
+				result.getEntityBinding("Customer").setMetaAttributes(Collections.singletonMap("cache-ttl-seconds", ttlSeconds));
+				return result;
+			}
+			public Properties getProperties() {
+				return metadataDescriptor.getProperties();
+			}
+		});
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		try {
+			exporter.start();
+			fail("A malformed time to live should not be accepted");
+		}
+		catch (RuntimeException e) {
+			assertEquals("Meta attribute cache-ttl-seconds of Customer is not a number: 1h", e.getMessage());
+		}
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor() {
+		OverrideRepository or = new OverrideRepository();
+		or.addResource(CACHE_XML);
+		RevengStrategy strategy = or.getReverseEngineeringStrategy(new DefaultStrategy());
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(strategy, null);
+	}
+	
+	private void export(ExporterType exporterType, MetadataDescriptor metadataDescriptor) {
+		Exporter exporter = ExporterFactory.createExporter(exporterType);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+	}
+	
+	private String read(String fileName) throws IOException {
+		return new String(Files.readAllBytes(new File(outputDir, fileName).toPath()));
+	}
+	
+}
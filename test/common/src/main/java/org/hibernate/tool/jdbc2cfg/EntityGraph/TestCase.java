@@ -0,0 +1,153 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.tool.jdbc2cfg.EntityGraph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import javax.persistence.Persistence;
+
+import org.hibernate.Version;
+import org.hibernate.boot.Metadata;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataConstants;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.api.reveng.RevengStrategy;
+import org.hibernate.tool.internal.reveng.strategy.DefaultStrategy;
+import org.hibernate.tool.internal.reveng.strategy.OverrideRepository;
+import org.hibernate.tools.test.util.JUnitUtil;
+import org.hibernate.tools.test.util.JavaUtil;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	private static final String ENTITY_GRAPH_XML = "org/hibernate/tool/jdbc2cfg/EntityGraph/entitygraph.reveng.xml";
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testMetaAttributes() {
+		Metadata metadata = createMetadataDescriptor(true).createMetadata();
+		assertEquals(
+				Arrays.asList("default:1"), 
+				metadata.getEntityBinding("Customer").getMetaAttribute("entity-graph").getValues());
+		assertEquals(
+				Arrays.asList("withOrder:3"), 
+				metadata.getEntityBinding("OrderLine").getMetaAttribute("entity-graph").getValues(),
+				"the graphs in the reveng.xml replace the default graph");
+		assertNull(metadata.getEntityBinding("Address").getMetaAttribute("entity-graph"), "no to-one associations");
+	}
+
+	@Test
+	public void testWithoutDefaultGraphs() {
+		Metadata metadata = createMetadataDescriptor(false).createMetadata();
+		assertNull(metadata.getEntityBinding("Customer").getMetaAttribute("entity-graph"));
+		assertEquals(
+				Arrays.asList("withOrder:3"), 
+				metadata.getEntityBinding("OrderLine").getMetaAttribute("entity-graph").getValues());
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		export(ExporterType.JAVA);
+		assertTrue(read("Customer.java").contains(
+				"@NamedEntityGraph(name=\"Customer.default\", attributeNodes=@NamedAttributeNode(value=\"address\"))"));
+		String orderLine = read("OrderLine.java");
+		assertTrue(orderLine.contains(
+				"@NamedEntityGraph(name=\"OrderLine.withOrder\", attributeNodes=@NamedAttributeNode(value=\"orders\", subgraph=\"orders\")"));
+		assertTrue(orderLine.contains(
+				"@NamedSubgraph(name=\"orders\", attributeNodes=@NamedAttributeNode(value=\"customer\", subgraph=\"orders.customer\"))"));
+		assertTrue(orderLine.contains(
+				"@NamedSubgraph(name=\"orders.customer\", attributeNodes=@NamedAttributeNode(value=\"address\"))"));
+		assertFalse(read("Address.java").contains("NamedEntityGraph"));
+		File compiled = new File(outputDir, "compiled");
+		compiled.mkdir();
+		List<String> jars = new ArrayList<String>();
+		jars.add(JavaUtil.resolvePathToJarFileFor(Persistence.class)); // for jpa api
+		jars.add(JavaUtil.resolvePathToJarFileFor(Version.class)); // for hibernate core
+		JavaUtil.compile(outputDir, compiled, jars);
+		JUnitUtil.assertIsNonEmptyFile(new File(compiled, "OrderLine.class"));
+	}
+
+	@Test
+	public void testDao() throws IOException {
+		export(ExporterType.DAO);
+		String orderLineHome = read("OrderLineHome.java");
+		// the type of the id depends on the database
+		assertTrue(orderLineHome.contains("findWithGraph("));
+		assertTrue(orderLineHome.contains(" id, String graphName)"));
+		assertTrue(orderLineHome.contains("one of \"OrderLine.withOrder\""));
+		assertTrue(orderLineHome.contains("\"javax.persistence.loadgraph\", entityManager.getEntityGraph(graphName)"));
+		assertFalse(read("AddressHome.java").contains("findWithGraph"));
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor(boolean entityGraphs) {
+		OverrideRepository or = new OverrideRepository();
+		or.addResource(ENTITY_GRAPH_XML);
+		RevengStrategy strategy = or.getReverseEngineeringStrategy(new DefaultStrategy());
+		Properties properties = new Properties();
+		properties.put(MetadataConstants.ENTITY_GRAPHS, Boolean.toString(entityGraphs));
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(strategy, properties);
+	}
+	
+	private void export(ExporterType exporterType) {
+		Exporter exporter = ExporterFactory.createExporter(exporterType);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, createMetadataDescriptor(true));
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.getProperties().setProperty("jdk5", "true");
+		exporter.start();
+	}
+	
+	private String read(String fileName) throws IOException {
+		return new String(Files.readAllBytes(new File(outputDir, fileName).toPath()));
+	}
+	
+}
@@ -0,0 +1,115 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.jdbc2cfg.FetchPlan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.api.reveng.RevengStrategy;
+import org.hibernate.tool.internal.reveng.strategy.DefaultStrategy;
+import org.hibernate.tool.internal.reveng.strategy.OverrideRepository;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	private static final String FETCH_PLAN_XML = "org/hibernate/tool/jdbc2cfg/FetchPlan/fetchplan.reveng.xml";
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testCollectionFetchPlan() {
+		Metadata metadata = createMetadataDescriptor().createMetadata();
+		PersistentClass customer = metadata.getEntityBinding("Customer");
+		Collection purchases = (Collection)customer.getProperty("purchases").getValue();
+		assertEquals(25, purchases.getBatchSize());
+		assertTrue(purchases.isExtraLazy());
+		assertTrue(purchases.isSubselectLoadable(), "fetch should be taken from the table defaults");
+		Collection addresses = (Collection)customer.getProperty("addresses").getValue();
+		assertEquals(10, addresses.getBatchSize());
+		assertTrue(addresses.isSubselectLoadable());
+		assertFalse(addresses.isExtraLazy());
+	}
+
+	@Test
+	public void testMappingFiles() throws IOException {
+		export(ExporterType.HBM, createMetadataDescriptor());
+		String customer = new String(Files.readAllBytes(new File(outputDir, "Customer.hbm.xml").toPath()));
+		assertTrue(customer.contains("name=\"purchases\""));
+		assertTrue(customer.contains("lazy=\"extra\""));
+		assertTrue(customer.contains("fetch=\"subselect\" batch-size=\"25\""));
+		assertTrue(customer.contains("fetch=\"subselect\" batch-size=\"10\""));
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		export(ExporterType.JAVA, createMetadataDescriptor());
+		String customer = new String(Files.readAllBytes(new File(outputDir, "Customer.java").toPath()));
+		assertTrue(customer.contains("@Fetch(value=FetchMode.SUBSELECT)"));
+		assertTrue(customer.contains("@BatchSize(size=25)"));
+		assertTrue(customer.contains("@BatchSize(size=10)"));
+		assertTrue(customer.contains("@LazyCollection(value=LazyCollectionOption.EXTRA)"));
+		assertTrue(customer.contains("import org.hibernate.annotations.BatchSize;"));
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor() {
+		OverrideRepository or = new OverrideRepository();
+		or.addResource(FETCH_PLAN_XML);
+		RevengStrategy strategy = or.getReverseEngineeringStrategy(new DefaultStrategy());
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(strategy, null);
+	}
+	
+	private void export(ExporterType exporterType, MetadataDescriptor metadataDescriptor) {
+		Exporter exporter = ExporterFactory.createExporter(exporterType);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+	}
+	
+}
@@ -0,0 +1,116 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.jdbc2cfg.IndexOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Index;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testCompositeIndexColumnOrder() {
+		Metadata metadata = createMetadataDescriptor().createMetadata();
+		Table table = metadata.getEntityBinding("Person").getTable();
+		Index index = table.getIndex(JdbcUtil.toIdentifier(this, "PERSON_NAME"));
+		assertNotNull(index);
+		Iterator<Column> columns = index.getColumnIterator();
+		assertEquals(JdbcUtil.toIdentifier(this, "LAST_NAME"), columns.next().getName());
+		assertEquals(JdbcUtil.toIdentifier(this, "FIRST_NAME"), columns.next().getName());
+		Index city = table.getIndex(JdbcUtil.toIdentifier(this, "PERSON_CITY"));
+		assertEquals("desc", city.getColumnOrderMap().get(city.getColumnIterator().next()));
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		export(ExporterType.JAVA, createMetadataDescriptor());
+		String person = read("Person.java");
+		assertTrue(person.contains("indexes = "));
+		assertTrue(person.contains("@Index(name=\"" + JdbcUtil.toIdentifier(this, "PERSON_NAME") + "\", columnList=\"" 
+				+ JdbcUtil.toIdentifier(this, "LAST_NAME") + ", " + JdbcUtil.toIdentifier(this, "FIRST_NAME") + "\")"));
+		assertTrue(person.contains("@Index(name=\"" + JdbcUtil.toIdentifier(this, "PERSON_CITY") + "\", columnList=\"" 
+				+ JdbcUtil.toIdentifier(this, "CITY") + " desc\")"));
+	}
+
+	@Test
+	public void testMappingFiles() throws IOException {
+		export(ExporterType.HBM, createMetadataDescriptor());
+		String person = read("Person.hbm.xml");
+		assertTrue(person.contains(column("FIRST_NAME", "PERSON_NAME")));
+		assertTrue(person.contains(column("LAST_NAME", "PERSON_NAME")));
+		assertTrue(person.contains(column("CITY", "PERSON_CITY")));
+	}
+	
+	private String column(String name, String index) {
+		return "<column name=\"" + JdbcUtil.toIdentifier(this, name) + "\" length=\"20\" index=\"" 
+				+ JdbcUtil.toIdentifier(this, index) + "\"/>";
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor() {
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(null, null);
+	}
+	
+	private void export(ExporterType exporterType, MetadataDescriptor metadataDescriptor) {
+		Exporter exporter = ExporterFactory.createExporter(exporterType);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+	}
+	
+	private String read(String fileName) throws IOException {
+		return new String(Files.readAllBytes(new File(outputDir, fileName).toPath()));
+	}
+	
+}
@@ -0,0 +1,146 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.jdbc2cfg.NaturalId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.RootClass;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataConstants;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.api.reveng.RevengStrategy;
+import org.hibernate.tool.internal.reveng.strategy.DefaultStrategy;
+import org.hibernate.tool.internal.reveng.strategy.OverrideRepository;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	private static final String NATURALID_XML = "org/hibernate/tool/jdbc2cfg/NaturalId/naturalid.reveng.xml";
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testNaturalIds() {
+		Metadata metadata = createMetadataDescriptor(true).createMetadata();
+		PersistentClass customer = metadata.getEntityBinding("Customer");
+		assertTrue(customer.hasNaturalId());
+		assertTrue(customer.getProperty("email").isNaturalIdentifier());
+		assertFalse(customer.getProperty("email").isUpdateable(), "detected natural ids are immutable");
+		assertFalse(customer.getProperty("name").isNaturalIdentifier());
+		assertNull(((RootClass)customer).getNaturalIdCacheRegionName());
+		PersistentClass product = metadata.getEntityBinding("Product");
+		assertTrue(product.getProperty("region").isNaturalIdentifier());
+		assertTrue(product.getProperty("code").isNaturalIdentifier());
+		assertTrue(product.getProperty("code").isUpdateable());
+		assertFalse(product.getProperty("name").isNaturalIdentifier(), "the key chosen in the reveng.xml wins");
+		assertEquals("Product##NaturalId", ((RootClass)product).getNaturalIdCacheRegionName());
+		assertFalse(metadata.getEntityBinding("Orders").hasNaturalId());
+	}
+
+	@Test
+	public void testWithoutDetection() {
+		Metadata metadata = createMetadataDescriptor(false).createMetadata();
+		assertFalse(metadata.getEntityBinding("Customer").hasNaturalId());
+		assertTrue(metadata.getEntityBinding("Product").hasNaturalId());
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		export(ExporterType.JAVA);
+		String product = read("Product.java");
+		assertTrue(product.contains("@NaturalIdCache"));
+		assertTrue(product.contains("@NaturalId(mutable=true)"));
+		String customer = read("Customer.java");
+		assertTrue(customer.contains("@NaturalId"));
+		assertFalse(customer.contains("mutable=true"));
+		assertFalse(customer.contains("@NaturalIdCache"));
+	}
+
+	@Test
+	public void testMappingFiles() throws IOException {
+		export(ExporterType.HBM);
+		assertTrue(read("Product.hbm.xml").contains("<natural-id mutable=\"true\">"));
+		String customer = read("Customer.hbm.xml");
+		assertTrue(customer.contains("<natural-id>"));
+		assertTrue(customer.indexOf("<natural-id>") < customer.indexOf("name=\"email\""));
+		assertTrue(customer.indexOf("</natural-id>") < customer.indexOf("name=\"name\""));
+	}
+
+	@Test
+	public void testDao() throws IOException {
+		export(ExporterType.DAO);
+		String customerHome = read("CustomerHome.java");
+		assertTrue(customerHome.contains("findByNaturalId(String email)"));
+		assertTrue(customerHome.contains(".byNaturalId("));
+		assertTrue(customerHome.contains(".using(\"email\", email)"));
+		assertFalse(read("OrdersHome.java").contains("findByNaturalId"));
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor(boolean naturalIds) {
+		OverrideRepository or = new OverrideRepository();
+		or.addResource(NATURALID_XML);
+		RevengStrategy strategy = or.getReverseEngineeringStrategy(new DefaultStrategy());
+		Properties properties = new Properties();
+		properties.put(MetadataConstants.NATURAL_IDS, Boolean.toString(naturalIds));
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(strategy, properties);
+	}
+	
+	private void export(ExporterType exporterType) {
+		Exporter exporter = ExporterFactory.createExporter(exporterType);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, createMetadataDescriptor(true));
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+	}
+	
+	private String read(String fileName) throws IOException {
+		return new String(Files.readAllBytes(new File(outputDir, fileName).toPath()));
+	}
+	
+}
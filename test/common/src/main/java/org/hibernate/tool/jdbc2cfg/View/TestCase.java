@@ -0,0 +1,153 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.jdbc2cfg.View;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Component;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataConstants;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.api.reveng.TableIdentifier;
+import org.hibernate.tool.internal.reveng.strategy.DefaultStrategy;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testImmutableView() {
+		Metadata metadata = createMetadataDescriptor(null).createMetadata();
+		PersistentClass customer = metadata.getEntityBinding("Customer");
+		assertTrue(customer.isMutable());
+		assertNotNull(customer.getVersion());
+		PersistentClass report = metadata.getEntityBinding("CustomerReport");
+		assertFalse(report.isMutable());
+		assertNull(report.getVersion());
+		assertNull(report.getCacheConcurrencyStrategy());
+		Iterator<?> properties = report.getPropertyIterator();
+		while (properties.hasNext()) {
+			Property property = (Property)properties.next();
+			assertEquals("private", property.getMetaAttribute("scope-set").getValue());
+		}
+	}
+
+	@Test
+	public void testSettings() {
+		Properties properties = new Properties();
+		properties.put(MetadataConstants.VIEW_SETTER_SCOPE, "protected");
+		properties.put(MetadataConstants.CACHE_VIEWS, "true");
+		Metadata metadata = createMetadataDescriptor(properties).createMetadata();
+		PersistentClass report = metadata.getEntityBinding("CustomerReport");
+		assertEquals("read-only", report.getCacheConcurrencyStrategy());
+		assertEquals("protected", report.getProperty("name").getMetaAttribute("scope-set").getValue());
+		properties = new Properties();
+		properties.put(MetadataConstants.IMMUTABLE_VIEWS, "false");
+		report = createMetadataDescriptor(properties).createMetadata().getEntityBinding("CustomerReport");
+		assertTrue(report.isMutable());
+		assertNull(report.getCacheConcurrencyStrategy());
+	}
+
+	@Test
+	public void testViewWithoutPrimaryKey() {
+		Metadata metadata = MetadataDescriptorFactory
+				.createReverseEngineeringDescriptor(new DefaultStrategy(), null)
+				.createMetadata();
+		PersistentClass report = metadata.getEntityBinding("CustomerReport");
+		assertFalse(report.isMutable());
+		Iterator<?> properties = ((Component)report.getIdentifier()).getPropertyIterator();
+		while (properties.hasNext()) {
+			Property property = (Property)properties.next();
+			assertEquals("private", property.getMetaAttribute("scope-set").getValue());
+		}
+	}
+
+	@Test
+	public void testExport() throws IOException {
+		MetadataDescriptor metadataDescriptor = createMetadataDescriptor(null);
+		export(ExporterType.JAVA, metadataDescriptor);
+		export(ExporterType.HBM, metadataDescriptor);
+		String pojo = read("CustomerReport.java");
+		assertTrue(pojo.contains("@Immutable"));
+		assertTrue(pojo.contains("private void setName("));
+		assertFalse(read("Customer.java").contains("@Immutable"));
+		assertTrue(read("CustomerReport.hbm.xml").contains("mutable=\"false\""));
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor(Properties properties) {
+		DefaultStrategy strategy = new DefaultStrategy() {
+			public List<String> getPrimaryKeyColumnNames(TableIdentifier identifier) {
+				if (JdbcUtil.toIdentifier(TestCase.this, "CUSTOMER_REPORT").equals(identifier.getName())) {
+					return Collections.singletonList(JdbcUtil.toIdentifier(TestCase.this, "ID"));
+				}
+				return super.getPrimaryKeyColumnNames(identifier);
+			}
+		};
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(strategy, properties);
+	}
+	
+	private void export(ExporterType exporterType, MetadataDescriptor metadataDescriptor) {
+		Exporter exporter = ExporterFactory.createExporter(exporterType);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+	}
+	
+	private String read(String fileName) throws IOException {
+		return new String(Files.readAllBytes(new File(outputDir, fileName).toPath()));
+	}
+	
+}
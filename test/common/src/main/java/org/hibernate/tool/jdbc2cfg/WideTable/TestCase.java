@@ -0,0 +1,148 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.jdbc2cfg.WideTable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataConstants;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.api.reveng.RevengStrategy;
+import org.hibernate.tool.internal.reveng.strategy.DefaultStrategy;
+import org.hibernate.tool.internal.reveng.strategy.OverrideRepository;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	private static final String WIDETABLE_XML = "org/hibernate/tool/jdbc2cfg/WideTable/widetable.reveng.xml";
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testDynamicUpdate() {
+		Metadata metadata = createMetadataDescriptor().createMetadata();
+		PersistentClass document = metadata.getEntityBinding("Document");
+		assertTrue(document.useDynamicUpdate(), "wider than the threshold");
+		assertTrue(document.useDynamicInsert());
+		PersistentClass note = metadata.getEntityBinding("Note");
+		assertFalse(note.useDynamicUpdate());
+		assertTrue(note.useDynamicInsert(), "set in the reveng.xml");
+	}
+
+	@Test
+	public void testLazyProperties() {
+		Metadata metadata = createMetadataDescriptor().createMetadata();
+		PersistentClass document = metadata.getEntityBinding("Document");
+		assertTrue(document.getProperty("body").isLazy(), "a LOB");
+		assertNull(document.getProperty("body").getLazyGroup());
+		assertTrue(document.getProperty("author").isLazy(), "longer than the lazy length");
+		assertTrue(document.getProperty("thumbnail").isLazy());
+		assertEquals("images", document.getProperty("thumbnail").getLazyGroup());
+		assertFalse(document.getProperty("summary").isLazy(), "eager in the reveng.xml");
+		assertFalse(document.getProperty("title").isLazy());
+	}
+
+	@Test
+	public void testAnnotations() throws IOException {
+		export(ExporterType.JAVA);
+		String document = read("Document.java");
+		assertTrue(document.contains("@DynamicUpdate"));
+		assertTrue(document.contains("@DynamicInsert"));
+		assertTrue(document.contains("@Basic(fetch=FetchType.LAZY)"));
+		assertTrue(document.contains("@LazyGroup(\"images\")"));
+		String note = read("Note.java");
+		assertFalse(note.contains("@DynamicUpdate"));
+		assertTrue(note.contains("@DynamicInsert"));
+		assertFalse(note.contains("@Basic"));
+	}
+
+	@Test
+	public void testMappingFiles() throws IOException {
+		export(ExporterType.HBM);
+		String document = read("Document.hbm.xml");
+		assertTrue(document.contains("dynamic-update=\"true\""));
+		assertTrue(document.contains("lazy=\"true\""));
+		assertFalse(read("Note.hbm.xml").contains("dynamic-update"));
+	}
+
+	@Test
+	public void testEnhancementPlugin() throws IOException {
+		export(ExporterType.ENHANCE);
+		String plugin = read("hibernate-enhance-maven-plugin.xml");
+		assertTrue(plugin.contains("<artifactId>hibernate-enhance-maven-plugin</artifactId>"));
+		assertTrue(plugin.contains("<enableLazyInitialization>true</enableLazyInitialization>"));
+		assertTrue(plugin.contains("<enableDirtyTracking>true</enableDirtyTracking>"));
+		assertTrue(plugin.contains("Document"));
+		assertFalse(plugin.contains("Note"));
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor() {
+		OverrideRepository or = new OverrideRepository();
+		or.addResource(WIDETABLE_XML);
+		RevengStrategy strategy = or.getReverseEngineeringStrategy(new DefaultStrategy());
+		Properties properties = new Properties();
+		properties.put(MetadataConstants.DYNAMIC_COLUMNS, "6");
+		properties.put(MetadataConstants.LAZY_LOBS, "true");
+		properties.put(MetadataConstants.LAZY_LENGTH, "4000");
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(strategy, properties);
+	}
+	
+	private void export(ExporterType exporterType) {
+		Exporter exporter = ExporterFactory.createExporter(exporterType);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, createMetadataDescriptor());
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+	}
+	
+	private String read(String fileName) throws IOException {
+		return new String(Files.readAllBytes(new File(outputDir, fileName).toPath()));
+	}
+	
+}
@@ -58,13 +58,18 @@ public class DbTestSuite {
 	@Nested public class AutoQuote extends org.hibernate.tool.jdbc2cfg.AutoQuote.TestCase {}
 	@Nested public class Basic extends org.hibernate.tool.jdbc2cfg.Basic.TestCase {}
 	@Nested public class BasicMultiSchema extends org.hibernate.tool.jdbc2cfg.BasicMultiSchema.TestCase {}
+	@Nested public class Cache extends org.hibernate.tool.jdbc2cfg.Cache.TestCase {}
 	@Nested public class CompositeId extends org.hibernate.tool.jdbc2cfg.CompositeId.TestCase {}
+	@Nested public class EntityGraph extends org.hibernate.tool.jdbc2cfg.EntityGraph.TestCase {}
+	@Nested public class FetchPlan extends org.hibernate.tool.jdbc2cfg.FetchPlan.TestCase {}
 	@Nested public class ForeignKeys extends org.hibernate.tool.jdbc2cfg.ForeignKeys.TestCase {}
 	@Nested public class Identity extends org.hibernate.tool.jdbc2cfg.Identity.TestCase {}
 	@Nested public class Index extends org.hibernate.tool.jdbc2cfg.Index.TestCase {}
+	@Nested public class IndexOrder extends org.hibernate.tool.jdbc2cfg.IndexOrder.TestCase {}
 	@Nested public class KeyPropertyCompositeId extends org.hibernate.tool.jdbc2cfg.KeyPropertyCompositeId.TestCase {}
 	@Nested public class ManyToMany extends org.hibernate.tool.jdbc2cfg.ManyToMany.TestCase {}
 	@Nested public class MetaData extends org.hibernate.tool.jdbc2cfg.MetaData.TestCase {}
+	@Nested public class NaturalId extends org.hibernate.tool.jdbc2cfg.NaturalId.TestCase {}
 	@Nested public class NoPrimaryKey extends org.hibernate.tool.jdbc2cfg.NoPrimaryKey.TestCase {}
 	@Nested public class OneToOne extends org.hibernate.tool.jdbc2cfg.OneToOne.TestCase {}
 	@Nested public class OverrideBinder extends org.hibernate.tool.jdbc2cfg.OverrideBinder.TestCase {}
@@ -74,6 +79,8 @@ public class DbTestSuite {
 	@Nested public class SearchEscapeString extends org.hibernate.tool.jdbc2cfg.SearchEscapeString.TestCase {}
 	@Nested public class TernarySchema extends org.hibernate.tool.jdbc2cfg.TernarySchema.TestCase {}
 	@Nested public class Versioning extends org.hibernate.tool.jdbc2cfg.Versioning.TestCase {}
+	@Nested public class View extends org.hibernate.tool.jdbc2cfg.View.TestCase {}
+	@Nested public class WideTable extends org.hibernate.tool.jdbc2cfg.WideTable.TestCase {}
 	@Nested public class Statistics extends org.hibernate.tool.stat.Statistics.TestCase {}
 
 }
@@ -0,0 +1,4 @@
+CREATE TABLE COUNTRY (ID INT NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID))
+CREATE TABLE CUSTOMER (ID INT NOT NULL, NAME VARCHAR(20), COUNTRY_ID INT, PRIMARY KEY (ID), CONSTRAINT CUSTOMER_COUNTRY FOREIGN KEY (COUNTRY_ID) REFERENCES COUNTRY(ID))
+CREATE TABLE ORDERS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID))
+CREATE VIEW CUSTOMER_VIEW AS SELECT C.ID, C.NAME, N.NAME AS COUNTRY_NAME FROM CUSTOMER C, COUNTRY N WHERE C.COUNTRY_ID = N.ID
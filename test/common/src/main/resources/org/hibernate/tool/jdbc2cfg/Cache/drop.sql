@@ -0,0 +1,4 @@
+DROP VIEW CUSTOMER_VIEW
+DROP TABLE ORDERS
+DROP TABLE CUSTOMER
+DROP TABLE COUNTRY
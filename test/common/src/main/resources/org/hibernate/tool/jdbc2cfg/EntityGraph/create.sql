@@ -0,0 +1,4 @@
+CREATE TABLE ADDRESS (ID INT NOT NULL, CITY VARCHAR(50), PRIMARY KEY (ID))
+CREATE TABLE CUSTOMER (ID INT NOT NULL, NAME VARCHAR(50), ADDRESS_ID INT, PRIMARY KEY (ID), CONSTRAINT CUSTOMER_ADDRESS FOREIGN KEY (ADDRESS_ID) REFERENCES ADDRESS(ID))
+CREATE TABLE ORDERS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID), CONSTRAINT ORDERS_CUSTOMER FOREIGN KEY (CUSTOMER_ID) REFERENCES CUSTOMER(ID))
+CREATE TABLE ORDER_LINE (ID INT NOT NULL, ORDER_ID INT, PRIMARY KEY (ID), CONSTRAINT ORDER_LINE_ORDERS FOREIGN KEY (ORDER_ID) REFERENCES ORDERS(ID))
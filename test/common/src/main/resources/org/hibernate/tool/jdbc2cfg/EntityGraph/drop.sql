@@ -0,0 +1,4 @@
+DROP TABLE ORDER_LINE
+DROP TABLE ORDERS
+DROP TABLE CUSTOMER
+DROP TABLE ADDRESS
@@ -0,0 +1,3 @@
+CREATE TABLE CUSTOMER (ID INT NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID))
+CREATE TABLE PURCHASE (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID), CONSTRAINT PURCHASE_CUSTOMER FOREIGN KEY (CUSTOMER_ID) REFERENCES CUSTOMER(ID))
+CREATE TABLE ADDRESS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID), CONSTRAINT ADDRESS_CUSTOMER FOREIGN KEY (CUSTOMER_ID) REFERENCES CUSTOMER(ID))
@@ -0,0 +1,3 @@
+DROP TABLE ADDRESS
+DROP TABLE PURCHASE
+DROP TABLE CUSTOMER
@@ -0,0 +1,3 @@
+CREATE TABLE PERSON (ID INT NOT NULL, FIRST_NAME VARCHAR(20), LAST_NAME VARCHAR(20), CITY VARCHAR(20), PRIMARY KEY (ID))
+CREATE INDEX PERSON_NAME ON PERSON (LAST_NAME, FIRST_NAME)
+CREATE INDEX PERSON_CITY ON PERSON (CITY DESC)
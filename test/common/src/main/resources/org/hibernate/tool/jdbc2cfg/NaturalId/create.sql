@@ -0,0 +1,6 @@
+CREATE TABLE CUSTOMER (ID INT NOT NULL, EMAIL VARCHAR(50) NOT NULL, NAME VARCHAR(50), PRIMARY KEY (ID))
+CREATE UNIQUE INDEX CUSTOMER_EMAIL ON CUSTOMER (EMAIL)
+CREATE TABLE PRODUCT (ID INT NOT NULL, REGION VARCHAR(10) NOT NULL, CODE VARCHAR(10) NOT NULL, NAME VARCHAR(50), PRIMARY KEY (ID))
+CREATE UNIQUE INDEX PRODUCT_CODE ON PRODUCT (REGION, CODE)
+CREATE UNIQUE INDEX PRODUCT_NAME ON PRODUCT (NAME)
+CREATE TABLE ORDERS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID))
@@ -0,0 +1,3 @@
+DROP TABLE ORDERS
+DROP TABLE PRODUCT
+DROP TABLE CUSTOMER
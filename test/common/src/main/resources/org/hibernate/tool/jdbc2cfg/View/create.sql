@@ -0,0 +1,2 @@
+CREATE TABLE CUSTOMER (ID INT NOT NULL, NAME VARCHAR(20), VERSION INT, PRIMARY KEY (ID))
+CREATE VIEW CUSTOMER_REPORT AS SELECT ID, NAME, VERSION FROM CUSTOMER
@@ -0,0 +1,2 @@
+DROP VIEW CUSTOMER_REPORT
+DROP TABLE CUSTOMER
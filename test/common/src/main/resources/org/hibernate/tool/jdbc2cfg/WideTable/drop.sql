@@ -0,0 +1,2 @@
+DROP TABLE NOTE
+DROP TABLE DOCUMENT
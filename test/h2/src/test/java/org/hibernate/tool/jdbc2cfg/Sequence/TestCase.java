@@ -0,0 +1,126 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.jdbc2cfg.Sequence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.SimpleValue;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataConstants;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.api.reveng.TableIdentifier;
+import org.hibernate.tool.internal.reveng.strategy.DefaultStrategy;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+	
+	@TempDir
+	public File outputDir = new File("output");
+	
+	@BeforeEach
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testGeneratorPropertiesFromSequence() {
+		Metadata metadata = createMetadataDescriptor(null).createMetadata();
+		Properties orders = getGeneratorProperties(metadata, "Orders");
+		assertEquals("ORDERS_SEQ", orders.getProperty("sequence_name"));
+		assertEquals("20", orders.getProperty("increment_size"));
+		assertEquals("pooled", orders.getProperty("optimizer"));
+		Properties items = getGeneratorProperties(metadata, "Items");
+		assertEquals("1", items.getProperty("increment_size"));
+		assertNull(items.getProperty("optimizer"));
+	}
+
+	@Test
+	public void testSequenceGeneratorAllocationSize() throws IOException {
+		exportPOJOs(createMetadataDescriptor(null));
+		String orders = new String(Files.readAllBytes(new File(outputDir, "Orders.java").toPath()));
+		assertTrue(orders.contains("@SequenceGenerator(name=\"OrdersIdGenerator\", sequenceName=\"ORDERS_SEQ\", allocationSize=20)"));
+		String items = new String(Files.readAllBytes(new File(outputDir, "Items.java").toPath()));
+		assertTrue(items.contains("@SequenceGenerator(name=\"ItemsIdGenerator\", sequenceName=\"ITEMS_SEQ\", allocationSize=1)"));
+	}
+
+	@Test
+	public void testPooledLoOptimizer() throws IOException {
+		Properties properties = new Properties();
+		properties.put(MetadataConstants.SEQUENCE_OPTIMIZER, "pooled-lo");
+		exportPOJOs(createMetadataDescriptor(properties));
+		String orders = new String(Files.readAllBytes(new File(outputDir, "Orders.java").toPath()));
+		assertTrue(orders.contains("@GenericGenerator(name=\"OrdersIdGenerator\", strategy=\"sequence\""));
+		assertTrue(orders.contains("@Parameter(name=\"optimizer\", value=\"pooled-lo\")"));
+		assertTrue(orders.contains("@Parameter(name=\"increment_size\", value=\"20\")"));
+		String items = new String(Files.readAllBytes(new File(outputDir, "Items.java").toPath()));
+		assertTrue(items.contains("allocationSize=1)"));
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor(Properties properties) {
+		DefaultStrategy strategy = new DefaultStrategy() {
+			public String getTableIdentifierStrategyName(TableIdentifier identifier) {
+				return "sequence";
+			}
+			public Properties getTableIdentifierProperties(TableIdentifier identifier) {
+				Properties result = new Properties();
+				result.setProperty("sequence_name", identifier.getName() + "_SEQ");
+				return result;
+			}
+		};
+		return MetadataDescriptorFactory.createReverseEngineeringDescriptor(strategy, properties);
+	}
+	
+	private Properties getGeneratorProperties(Metadata metadata, String entityName) {
+		return ((SimpleValue)metadata
+				.getEntityBinding(entityName)
+				.getIdentifier())
+			.getIdentifierGeneratorProperties();
+	}
+	
+	private void exportPOJOs(MetadataDescriptor metadataDescriptor) {
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.JAVA);	
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+	}
+	
+}
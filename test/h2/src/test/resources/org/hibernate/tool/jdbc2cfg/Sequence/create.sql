@@ -0,0 +1,4 @@
+CREATE SEQUENCE ORDERS_SEQ START WITH 1 INCREMENT BY 20
+CREATE SEQUENCE ITEMS_SEQ START WITH 1 INCREMENT BY 1
+CREATE TABLE ORDERS (ID INT NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID))
+CREATE TABLE ITEMS (ID INT NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID))
@@ -0,0 +1,4 @@
+DROP TABLE ITEMS
+DROP TABLE ORDERS
+DROP SEQUENCE ITEMS_SEQ
+DROP SEQUENCE ORDERS_SEQ
@@ -0,0 +1,5 @@
+CREATE SCHEMA HTT
+CREATE TABLE HTT.COUNTRY (ID INT NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID))
+CREATE TABLE HTT.CUSTOMER (ID INT NOT NULL, NAME VARCHAR(20), COUNTRY_ID INT, PRIMARY KEY (ID), CONSTRAINT CUSTOMER_COUNTRY FOREIGN KEY (COUNTRY_ID) REFERENCES HTT.COUNTRY(ID))
+CREATE TABLE HTT.ORDERS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID))
+CREATE VIEW HTT.CUSTOMER_VIEW AS SELECT C.ID, C.NAME, N.NAME AS COUNTRY_NAME FROM HTT.CUSTOMER C, HTT.COUNTRY N WHERE C.COUNTRY_ID = N.ID
@@ -0,0 +1,5 @@
+DROP VIEW HTT.CUSTOMER_VIEW
+DROP TABLE HTT.ORDERS
+DROP TABLE HTT.CUSTOMER
+DROP TABLE HTT.COUNTRY
+DROP SCHEMA HTT
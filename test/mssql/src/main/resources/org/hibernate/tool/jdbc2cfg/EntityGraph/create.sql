@@ -0,0 +1,5 @@
+CREATE SCHEMA HTT
+CREATE TABLE HTT.ADDRESS (ID INT NOT NULL, CITY VARCHAR(50), PRIMARY KEY (ID))
+CREATE TABLE HTT.CUSTOMER (ID INT NOT NULL, NAME VARCHAR(50), ADDRESS_ID INT, PRIMARY KEY (ID), CONSTRAINT CUSTOMER_ADDRESS FOREIGN KEY (ADDRESS_ID) REFERENCES HTT.ADDRESS(ID))
+CREATE TABLE HTT.ORDERS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID), CONSTRAINT ORDERS_CUSTOMER FOREIGN KEY (CUSTOMER_ID) REFERENCES HTT.CUSTOMER(ID))
+CREATE TABLE HTT.ORDER_LINE (ID INT NOT NULL, ORDER_ID INT, PRIMARY KEY (ID), CONSTRAINT ORDER_LINE_ORDERS FOREIGN KEY (ORDER_ID) REFERENCES HTT.ORDERS(ID))
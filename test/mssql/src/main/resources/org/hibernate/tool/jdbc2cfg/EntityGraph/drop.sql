@@ -0,0 +1,5 @@
+DROP TABLE HTT.ORDER_LINE
+DROP TABLE HTT.ORDERS
+DROP TABLE HTT.CUSTOMER
+DROP TABLE HTT.ADDRESS
+DROP SCHEMA HTT
@@ -0,0 +1,4 @@
+CREATE SCHEMA HTT
+CREATE TABLE HTT.CUSTOMER (ID INT NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID))
+CREATE TABLE HTT.PURCHASE (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID), CONSTRAINT PURCHASE_CUSTOMER FOREIGN KEY (CUSTOMER_ID) REFERENCES HTT.CUSTOMER(ID))
+CREATE TABLE HTT.ADDRESS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID), CONSTRAINT ADDRESS_CUSTOMER FOREIGN KEY (CUSTOMER_ID) REFERENCES HTT.CUSTOMER(ID))
@@ -0,0 +1,4 @@
+DROP TABLE HTT.ADDRESS
+DROP TABLE HTT.PURCHASE
+DROP TABLE HTT.CUSTOMER
+DROP SCHEMA HTT
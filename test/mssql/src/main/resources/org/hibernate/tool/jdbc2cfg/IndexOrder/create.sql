@@ -0,0 +1,4 @@
+CREATE SCHEMA HTT
+CREATE TABLE HTT.PERSON (ID INT NOT NULL, FIRST_NAME VARCHAR(20), LAST_NAME VARCHAR(20), CITY VARCHAR(20), PRIMARY KEY (ID))
+CREATE INDEX PERSON_NAME ON HTT.PERSON (LAST_NAME, FIRST_NAME)
+CREATE INDEX PERSON_CITY ON HTT.PERSON (CITY DESC)
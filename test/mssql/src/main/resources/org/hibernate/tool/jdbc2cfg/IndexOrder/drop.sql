@@ -0,0 +1,2 @@
+DROP TABLE HTT.PERSON
+DROP SCHEMA HTT
@@ -0,0 +1,7 @@
+CREATE SCHEMA HTT
+CREATE TABLE HTT.CUSTOMER (ID INT NOT NULL, EMAIL VARCHAR(50) NOT NULL, NAME VARCHAR(50), PRIMARY KEY (ID))
+CREATE UNIQUE INDEX CUSTOMER_EMAIL ON HTT.CUSTOMER (EMAIL)
+CREATE TABLE HTT.PRODUCT (ID INT NOT NULL, REGION VARCHAR(10) NOT NULL, CODE VARCHAR(10) NOT NULL, NAME VARCHAR(50), PRIMARY KEY (ID))
+CREATE UNIQUE INDEX PRODUCT_CODE ON HTT.PRODUCT (REGION, CODE)
+CREATE UNIQUE INDEX PRODUCT_NAME ON HTT.PRODUCT (NAME)
+CREATE TABLE HTT.ORDERS (ID INT NOT NULL, CUSTOMER_ID INT, PRIMARY KEY (ID))
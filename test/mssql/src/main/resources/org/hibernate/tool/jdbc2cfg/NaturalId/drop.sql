@@ -0,0 +1,4 @@
+DROP TABLE HTT.ORDERS
+DROP TABLE HTT.PRODUCT
+DROP TABLE HTT.CUSTOMER
+DROP SCHEMA HTT
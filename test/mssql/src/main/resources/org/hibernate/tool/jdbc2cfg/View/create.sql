@@ -0,0 +1,3 @@
+CREATE SCHEMA HTT
+CREATE TABLE HTT.CUSTOMER (ID INT NOT NULL, NAME VARCHAR(20), VERSION INT, PRIMARY KEY (ID))
+CREATE VIEW HTT.CUSTOMER_REPORT AS SELECT ID, NAME, VERSION FROM HTT.CUSTOMER
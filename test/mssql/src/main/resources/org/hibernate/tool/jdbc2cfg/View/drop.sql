@@ -0,0 +1,3 @@
+DROP VIEW HTT.CUSTOMER_REPORT
+DROP TABLE HTT.CUSTOMER
+DROP SCHEMA HTT
@@ -0,0 +1,3 @@
+CREATE SCHEMA HTT
+CREATE TABLE HTT.DOCUMENT (ID INT NOT NULL, TITLE VARCHAR(100), BODY VARCHAR(MAX), SUMMARY VARCHAR(8000), AUTHOR VARCHAR(5000), THUMBNAIL VARBINARY(MAX), PRIMARY KEY (ID))
+CREATE TABLE HTT.NOTE (ID INT NOT NULL, TEXT VARCHAR(200), PRIMARY KEY (ID))
@@ -0,0 +1,3 @@
+DROP TABLE HTT.NOTE
+DROP TABLE HTT.DOCUMENT
+DROP SCHEMA HTT
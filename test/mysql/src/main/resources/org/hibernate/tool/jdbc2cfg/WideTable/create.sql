@@ -0,0 +1,2 @@
+CREATE TABLE DOCUMENT (ID INT NOT NULL, TITLE VARCHAR(100), BODY LONGTEXT, SUMMARY VARCHAR(8000), AUTHOR VARCHAR(5000), THUMBNAIL LONGBLOB, PRIMARY KEY (ID))
+CREATE TABLE NOTE (ID INT NOT NULL, TEXT VARCHAR(200), PRIMARY KEY (ID))
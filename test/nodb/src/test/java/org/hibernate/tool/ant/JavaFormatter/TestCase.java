@@ -20,12 +20,18 @@
 
 package org.hibernate.tool.ant.JavaFormatter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 import org.hibernate.tool.api.java.Formatter;
+import org.hibernate.tool.api.java.ParallelFormatter;
 import org.hibernate.tools.test.util.AntUtil;
 import org.hibernate.tools.test.util.FileUtil;
 import org.hibernate.tools.test.util.ResourceUtil;
@@ -221,4 +227,75 @@ public class TestCase {
 		
 	}
 
+	@Test
+	public void testParallelFormatFiles() throws Exception {
+		
+		String[] resources = new String[] {"build.xml", "formatting/SimpleOne.java", "formatting/Simple5One.java"};
+		ResourceUtil.createResources(this, resources, resourcesDir);
+		File buildFile = new File(resourcesDir, "build.xml");	
+		
+		AntUtil.Project project = AntUtil.createProject(buildFile);
+		project.setProperty("destinationDir", destinationDir.getAbsolutePath());
+		project.setProperty("resourcesDir", resourcesDir.getAbsolutePath());
+		project.executeTarget("copyfiles");
+
+		File simpleOne = new File(destinationDir, "formatting/SimpleOne.java");
+		File simple5One = new File(destinationDir, "formatting/Simple5One.java");
+		String source = new String(Files.readAllBytes(simpleOne.toPath()));
+		
+		ParallelFormatter formatter = new ParallelFormatter(null, 2);
+		assertEquals(new Formatter(null).format(source), formatter.format(source));
+		
+		formatter.setCacheFile(new File(outputFolder, "format.cache"));
+		ParallelFormatter.Result result = formatter.formatFiles(Arrays.asList(simpleOne, simple5One));
+		assertEquals(ParallelFormatter.Outcome.FORMATTED, result.getOutcome(simpleOne));
+		assertEquals(ParallelFormatter.Outcome.FORMATTED, result.getOutcome(simple5One));
+		assertTrue(FileUtil
+				.findFirstString("public", simpleOne)
+				.contains("SimpleOne"));
+		assertTrue(FileUtil
+				.findFirstString("public", simple5One)
+				.contains("Simple5One"));
+		
+		// unmodified files are skipped on the next run, also by a new formatter
+		formatter = new ParallelFormatter(null, 2);
+		formatter.setCacheFile(new File(outputFolder, "format.cache"));
+		Files.write(simple5One.toPath(), Files.readAllBytes(new File(resourcesDir, "formatting/Simple5One.java").toPath()));
+		result = formatter.formatFiles(Arrays.asList(simpleOne, simple5One));
+		assertEquals(ParallelFormatter.Outcome.UNCHANGED, result.getOutcome(simpleOne));
+		assertEquals(ParallelFormatter.Outcome.FORMATTED, result.getOutcome(simple5One));
+		assertEquals(1, result.getCount(ParallelFormatter.Outcome.UNCHANGED));
+		
+	}
+
+	@Test
+	public void testParallelFormatFilesFailFast() throws Exception {
+		
+		String[] resources = new String[] {"build.xml", "formatting/SimpleOne.java"};
+		ResourceUtil.createResources(this, resources, resourcesDir);
+		File buildFile = new File(resourcesDir, "build.xml");	
+		
+		AntUtil.Project project = AntUtil.createProject(buildFile);
+		project.setProperty("destinationDir", destinationDir.getAbsolutePath());
+		project.setProperty("resourcesDir", resourcesDir.getAbsolutePath());
+		project.executeTarget("copyfiles");
+
+		File missing = new File(destinationDir, "formatting/Missing.java");
+		File simpleOne = new File(destinationDir, "formatting/SimpleOne.java");
+		
+		ParallelFormatter formatter = new ParallelFormatter(null, 1);
+		ParallelFormatter.Result result = formatter.formatFiles(Arrays.asList(missing, simpleOne));
+		assertEquals(ParallelFormatter.Outcome.FAILED, result.getOutcome(missing));
+		assertNotNull(result.getError(missing));
+		assertEquals(ParallelFormatter.Outcome.FORMATTED, result.getOutcome(simpleOne));
+		
+		// the files after the first error are left out
+		formatter.setFailFast(true);
+		result = formatter.formatFiles(Arrays.asList(missing, simpleOne));
+		assertEquals(ParallelFormatter.Outcome.FAILED, result.getOutcome(missing));
+		assertNull(result.getOutcome(simpleOne));
+		assertEquals(0, result.getCount(ParallelFormatter.Outcome.FORMATTED));
+		
+	}
+
 }
@@ -0,0 +1,151 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.tool.hbm2x.CompositeExporterTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.internal.export.common.CompositeExporter;
+import org.hibernate.tool.internal.export.dao.DaoHelper;
+import org.hibernate.tools.test.util.HibernateUtil;
+import org.hibernate.tools.test.util.JUnitUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+
+	private static final String[] HBM_XML_FILES = new String[] {
+			"Article.hbm.xml",
+			"Author.hbm.xml"				
+	};
+	
+	private static final String[] GENERATED_FILES = new String[] {
+			"org/hibernate/tool/hbm2x/Article.java",
+			"org/hibernate/tool/hbm2x/ArticleHome.java",
+			"org/hibernate/tool/hbm2x/Article.hbm.xml",
+			"org/hibernate/tool/hbm2x/Author.java",
+			"org/hibernate/tool/hbm2x/AuthorHome.java",
+			"org/hibernate/tool/hbm2x/Author.hbm.xml"
+	};
+	
+	@TempDir
+	public File outputFolder = new File("output");
+	
+	private File compositeDir;
+	private File separateDir;
+	private MetadataDescriptor metadataDescriptor;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		compositeDir = new File(outputFolder, "composite");
+		compositeDir.mkdir();
+		separateDir = new File(outputFolder, "separate");
+		separateDir.mkdir();
+		File resourcesDir = new File(outputFolder, "resources");
+		resourcesDir.mkdir();
+		metadataDescriptor = HibernateUtil
+				.initializeMetadataDescriptor(this, HBM_XML_FILES, resourcesDir);
+		ExporterType[] types = new ExporterType[] { ExporterType.JAVA, ExporterType.DAO, ExporterType.HBM };
+		for (int i = 0; i < types.length; i++) {
+			Exporter exporter = ExporterFactory.createExporter(types[i]);
+			exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+			exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, separateDir);
+			exporter.getProperties().setProperty("jdk5", "true");
+			exporter.start();
+		}
+	}
+	
+	@Test
+	public void testSameFilesAsSeparateExporters() throws IOException {
+		createCompositeExporter(1).start();
+		assertSameFiles();
+	}
+	
+	@Test
+	public void testParallelRenders() throws IOException {
+		createCompositeExporter(4).start();
+		assertSameFiles();
+	}
+	
+	private CompositeExporter createCompositeExporter(int threadCount) {
+		CompositeExporter result = (CompositeExporter)ExporterFactory.createExporter(ExporterType.COMPOSITE);
+		result.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		result.getProperties().put(ExporterConstants.DESTINATION_FOLDER, compositeDir);
+		result.getProperties().put(ExporterConstants.THREAD_COUNT, String.valueOf(threadCount));
+		result.getProperties().setProperty("jdk5", "true");
+		result.addTarget("pojo/Pojo.ftl", "{package-name}/{class-name}.java").setComponents(true);
+		result.addTarget("dao/daohome.ftl", "{package-name}/{class-name}Home.java")
+				.putInContext("daoHelper", new DaoHelper())
+				.putInContext("sessionFactoryName", "SessionFactory");
+		result.addTarget("hbm/hibernate-mapping.hbm.ftl", "{package-name}/{class-name}.hbm.xml");
+		return result;
+	}
+	
+	private void assertSameFiles() throws IOException {
+		for (int i = 0; i < GENERATED_FILES.length; i++) {
+			File expected = new File(separateDir, GENERATED_FILES[i]);
+			File actual = new File(compositeDir, GENERATED_FILES[i]);
+			JUnitUtil.assertIsNonEmptyFile(actual);
+			assertEquals(readWithoutStamp(expected), readWithoutStamp(actual), GENERATED_FILES[i]);
+		}
+		List<String> names = new ArrayList<String>();
+		collectNames(compositeDir, "", names);
+		assertEquals(GENERATED_FILES.length, names.size());
+		assertTrue(names.contains("org/hibernate/tool/hbm2x/Author.hbm.xml"));
+	}
+	
+	private List<String> readWithoutStamp(File file) throws IOException {
+		List<String> result = new ArrayList<String>(Files.readAllLines(file.toPath()));
+		Iterator<String> iterator = result.iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().indexOf("by Hibernate Tools") >= 0) {
+				iterator.remove();
+			}
+		}
+		return result;
+	}
+	
+	private void collectNames(File dir, String path, List<String> names) {
+		File[] files = dir.listFiles();
+		for (int i = 0; i < files.length; i++) {
+			if (files[i].isDirectory()) {
+				collectNames(files[i], path + files[i].getName() + "/", names);
+			}
+			else {
+				names.add(path + files[i].getName());
+			}
+		}
+	}
+	
+}
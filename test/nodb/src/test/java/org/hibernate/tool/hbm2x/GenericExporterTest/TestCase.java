@@ -38,6 +38,7 @@ import org.hibernate.tool.api.export.ExporterFactory;
 import org.hibernate.tool.api.export.ExporterType;
 import org.hibernate.tool.api.metadata.MetadataDescriptor;
 import org.hibernate.tool.api.version.Version;
+import org.hibernate.tool.internal.export.common.DefaultArtifactCollector;
 import org.hibernate.tools.test.util.FileUtil;
 import org.hibernate.tools.test.util.HibernateUtil;
 import org.hibernate.tools.test.util.JUnitUtil;
@@ -224,4 +225,35 @@ public class TestCase {
 		assertEquals(generated.getProperty("refproperty"), "proptest=A value");	
 	}
 	
+	@Test
+	public void testIncrementalExportersSharingFolder() {
+		DefaultArtifactCollector collector = runIncremental("entity");
+		assertEquals(4, collector.getChangedFileCount());
+		collector = runIncremental("component");
+		assertEquals(1, collector.getChangedFileCount());
+		// neither run deletes the files of the other one
+		collector = runIncremental("entity");
+		assertEquals(0, collector.getChangedFileCount());
+		assertEquals(4, collector.getUnchangedFileCount());
+		JUnitUtil.assertIsNonEmptyFile(new File(outputDir, "genericUniversalAddress.txt"));
+		collector = runIncremental("component");
+		assertEquals(0, collector.getChangedFileCount());
+		assertEquals(1, collector.getUnchangedFileCount());
+		JUnitUtil.assertIsNonEmptyFile(new File(outputDir, "org/hibernate/tool/hbm2x/genericArticle.txt"));
+	}
+	
+	private DefaultArtifactCollector runIncremental(String forEach) {
+		Exporter ge = ExporterFactory.createExporter(ExporterType.GENERIC);
+		ge.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		ge.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		ge.getProperties().put(ExporterConstants.TEMPLATE_NAME, resourcesLocation + "generic-class.ftl");
+		ge.getProperties().put(ExporterConstants.FILE_PATTERN, "{package-name}/generic{class-name}.txt");
+		ge.getProperties().put(ExporterConstants.FOR_EACH, forEach);
+		ge.getProperties().put(ExporterConstants.INCREMENTAL, "true");
+		DefaultArtifactCollector result = new DefaultArtifactCollector();
+		ge.getProperties().put(ExporterConstants.ARTIFACT_COLLECTOR, result);
+		ge.start();
+		return result;
+	}
+	
 }
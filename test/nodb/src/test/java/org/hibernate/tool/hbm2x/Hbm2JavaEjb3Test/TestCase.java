@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -210,6 +211,23 @@ public class TestCase {
 								"org/hibernate/tool/hbm2x/Hbm2JavaEjb3Test/Article.java") ));
 	}
 		
+	@Test
+	public void testMappedBy() {
+		Cfg2JavaTool cfg2java = new Cfg2JavaTool();
+		PersistentClass author = metadata.getEntityBinding("org.hibernate.tool.hbm2x.Hbm2JavaEjb3Test.Author");
+		EntityPOJOClass clazz = (EntityPOJOClass) cfg2java.getPOJOClass(author);
+		assertTrue(clazz
+				.generateCollectionAnnotation(author.getProperty("articles"), metadata)
+				.contains("mappedBy=\"author\""));
+		PersistentClass train = metadata.getEntityBinding("org.hibernate.tool.hbm2x.Hbm2JavaEjb3Test.Train");
+		clazz = (EntityPOJOClass) cfg2java.getPOJOClass(train);
+		assertTrue(clazz
+				.generateCollectionAnnotation(train.getProperty("usualPassengers"), metadata)
+				.contains("mappedBy=\"usualTrains\""));
+		// the index is built once per metadata
+		assertSame(cfg2java.getAssociationIndex(metadata), cfg2java.getAssociationIndex(metadata));
+	}
+	
 	@Test
 	public void testAnnotationBuilder() {
 		AnnotationBuilder builder =  AnnotationBuilder.createAnnotation("SingleCleared").resetAnnotation( "Single" );
@@ -23,6 +23,7 @@ package org.hibernate.tool.hbm2x.Hbm2JavaTest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -30,13 +31,17 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.MetaAttribute;
 import org.hibernate.mapping.PersistentClass;
@@ -47,7 +52,10 @@ import org.hibernate.tool.api.export.Exporter;
 import org.hibernate.tool.api.export.ExporterConstants;
 import org.hibernate.tool.api.export.ExporterFactory;
 import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.java.Formatter;
 import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.api.metadata.MetadataDescriptorFactory;
+import org.hibernate.tool.internal.export.common.ArtifactManifest;
 import org.hibernate.tool.internal.export.common.DefaultArtifactCollector;
 import org.hibernate.tool.internal.export.java.BasicPOJOClass;
 import org.hibernate.tool.internal.export.java.Cfg2JavaTool;
@@ -55,6 +63,7 @@ import org.hibernate.tool.internal.export.java.ImportContext;
 import org.hibernate.tool.internal.export.java.ImportContextImpl;
 import org.hibernate.tool.internal.export.java.NoopImportContext;
 import org.hibernate.tool.internal.export.java.POJOClass;
+import org.hibernate.tool.internal.export.java.POJOModel;
 import org.hibernate.tools.test.util.FileUtil;
 import org.hibernate.tools.test.util.HibernateUtil;
 import org.hibernate.tools.test.util.JUnitUtil;
@@ -264,6 +273,59 @@ public class TestCase {
 		assertEquals( "java.util.Collection", c2j.getJavaTypeName( property, false ) );
 	}
 
+	@Test
+	public void testMemoizedTypeNames() {
+		Cfg2JavaTool c2j = new Cfg2JavaTool();
+		PersistentClass pc = metadata.getEntityBinding(
+				"org.hibernate.tool.hbm2x.Hbm2JavaTest.Order" );
+		POJOClass pojo = c2j.getPOJOClass( pc );
+		Property property = pc.getProperty( "lineItems" );
+		String typeName = pojo.getJavaTypeName( property, true );
+		assertEquals( "Collection<LineItem>", typeName );
+		assertSame( typeName, pojo.getJavaTypeName( property, true ) );
+		assertSame( typeName, c2j.getJavaTypeName( property, true, pojo ) );
+		assertEquals( "Collection", pojo.getJavaTypeName( property, false ) );
+		Property total = pc.getProperty( "total" );
+		assertSame( pojo.generateAnnColumnAnnotation( total ), pojo.generateAnnColumnAnnotation( total ) );
+		// the memoized names were imported once, in the context of the pojo
+		assertTrue( pojo.generateImports().contains( "import java.util.Collection;" ) );
+	}
+	
+	@Test
+	public void testPOJOModel() throws Exception {
+		Cfg2JavaTool c2j = new Cfg2JavaTool();
+		POJOModel model = c2j.getPOJOModel( metadata );
+		assertSame( model, c2j.getPOJOModel( metadata ) );
+		assertEquals( metadata.getEntityBindings().size(), model.getEntities().size() );
+		PersistentClass pc = metadata.getEntityBinding(
+				"org.hibernate.tool.hbm2x.Hbm2JavaTest.Customer" );
+		POJOClass pojo = model.getPOJOClass( pc );
+		assertTrue( model.getEntities().contains( pojo ) );
+		// nested components are collected along with the entities
+		List<String> componentNames = new ArrayList<String>();
+		Iterator<POJOClass> components = model.getComponents().iterator();
+		while ( components.hasNext() ) {
+			componentNames.add( components.next().getDeclarationName() );
+		}
+		assertTrue( componentNames.contains( "FatherComponent" ) );
+		assertTrue( componentNames.contains( "ChildComponent" ) );
+		Component address = (Component)pc.getProperty( "addressComponent" ).getValue();
+		assertSame( model.getPOJOClass( address ), model.getPOJOClass( address ) );
+		pojo.importType( "java.util.concurrent.TimeUnit" );
+		model.reset( pojo );
+		assertFalse( pojo.generateImports().contains( "TimeUnit" ) );
+		// an exporter renders its shared views again with fresh imports
+		File file = new File( srcDir, "org/hibernate/tool/hbm2x/Hbm2JavaTest/Customer.java" );
+		String first = new String( Files.readAllBytes( file.toPath() ) );
+		Exporter exporter = ExporterFactory.createExporter( ExporterType.JAVA );
+		exporter.getProperties().put( ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor );
+		exporter.getProperties().put( ExporterConstants.DESTINATION_FOLDER, srcDir );
+		exporter.start();
+		assertTrue( file.delete() );
+		exporter.start();
+		assertEquals( first, new String( Files.readAllBytes( file.toPath() ) ) );
+	}
+	
 	@Test
 	public void testUseRawTypeNullability() {
 		Cfg2JavaTool c2j = new Cfg2JavaTool( /*true*/ );
@@ -514,6 +576,138 @@ public class TestCase {
 		assertEquals("java.sql.Date", new Cfg2JavaTool().getJavaTypeName(property, false));	
 	}
 	
+	@Test
+	public void testParallelRendering() throws Exception {
+		File parallelDir = new File(outputFolder, "parallel");
+		parallelDir.mkdir();
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.JAVA);
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, parallelDir);
+		exporter.getProperties().put(ExporterConstants.THREAD_COUNT, "4");
+		DefaultArtifactCollector parallelCollector = new DefaultArtifactCollector();
+		exporter.getProperties().put(ExporterConstants.ARTIFACT_COLLECTOR, parallelCollector);
+		exporter.start();
+		assertEquals(
+				artifactCollector.getFileCount("java"), 
+				parallelCollector.getFileCount("java"));
+		for (File sequentialFile : artifactCollector.getFiles("java")) {
+			String relativePath = srcDir.toPath().relativize(sequentialFile.toPath()).toString();
+			File parallelFile = new File(parallelDir, relativePath);
+			assertEquals(
+					withoutTimestamp(Files.readAllLines(sequentialFile.toPath())), 
+					withoutTimestamp(Files.readAllLines(parallelFile.toPath())));
+		}
+	}
+	
+	@Test
+	public void testJavaFormatter() throws Exception {
+		File formattedDir = new File(outputFolder, "formatted");
+		formattedDir.mkdir();
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.JAVA);
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, formattedDir);
+		exporter.getProperties().put(ExporterConstants.THREAD_COUNT, "2");
+		exporter.getProperties().put(ExporterConstants.JAVA_FORMATTER, "true");
+		DefaultArtifactCollector formattedCollector = new DefaultArtifactCollector();
+		exporter.getProperties().put(ExporterConstants.ARTIFACT_COLLECTOR, formattedCollector);
+		exporter.start();
+		Formatter formatter = new Formatter(null);
+		File expectedFile = new File(outputFolder, "Expected.java");
+		for (File unformattedFile : artifactCollector.getFiles("java")) {
+			String relativePath = srcDir.toPath().relativize(unformattedFile.toPath()).toString();
+			String unformatted = new String(Files.readAllBytes(unformattedFile.toPath()));
+			Files.write(expectedFile.toPath(), formatter.format(unformatted).getBytes());
+			assertEquals(
+					withoutTimestamp(Files.readAllLines(expectedFile.toPath())), 
+					withoutTimestamp(Files.readAllLines(new File(formattedDir, relativePath).toPath())));
+		}
+	}
+	
+	@Test
+	public void testUnchangedFilesAreNotRewritten() throws Exception {
+		File[] generatedFiles = artifactCollector.getFiles("java");
+		assertEquals(generatedFiles.length, artifactCollector.getChangedFileCount());
+		assertEquals(0, artifactCollector.getUnchangedFileCount());
+		long lastModified = System.currentTimeMillis() - 60000;
+		for (File generatedFile : generatedFiles) {
+			generatedFile.setLastModified(lastModified);
+		}
+		File customer = new File(srcDir, "org/hibernate/tool/hbm2x/Hbm2JavaTest/Customer.java");
+		Files.write(customer.toPath(), "// edited".getBytes(), StandardOpenOption.APPEND);
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.JAVA);
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, srcDir);
+		DefaultArtifactCollector secondCollector = new DefaultArtifactCollector();
+		exporter.getProperties().put(ExporterConstants.ARTIFACT_COLLECTOR, secondCollector);
+		exporter.start();
+		assertEquals(generatedFiles.length, secondCollector.getFileCount("java"));
+		assertEquals(1, secondCollector.getChangedFileCount());
+		assertEquals(generatedFiles.length - 1, secondCollector.getUnchangedFileCount());
+		assertNull(FileUtil.findFirstString("// edited", customer));
+		for (File generatedFile : generatedFiles) {
+			if (!generatedFile.equals(customer)) {
+				assertEquals(lastModified / 1000, generatedFile.lastModified() / 1000);
+			}
+		}
+	}
+
+	@Test
+	public void testIncrementalGeneration() throws Exception {
+		File incrementalDir = new File(outputFolder, "incremental");
+		DefaultArtifactCollector collector = runIncremental(metadataDescriptor, incrementalDir);
+		assertEquals(15, collector.getChangedFileCount());
+		assertTrue(new File(incrementalDir, ArtifactManifest.FILE_NAME).isFile());
+		collector = runIncremental(metadataDescriptor, incrementalDir);
+		assertEquals(0, collector.getChangedFileCount());
+		assertEquals(15, collector.getUnchangedFileCount());
+		File helloWorldMapping = new File(resourcesDir, "HelloWorld.hbm.xml");
+		String mapping = new String(Files.readAllBytes(helloWorldMapping.toPath()));
+		Files.write(
+				helloWorldMapping.toPath(), 
+				mapping.replace("<subclass ", "<property name=\"moon\" type=\"string\"/>\n<subclass ").getBytes());
+		collector = runIncremental(createMetadataDescriptor(HBM_XML_FILES), incrementalDir);
+		// the subclass constructor takes the new property as well
+		assertEquals(2, collector.getChangedFileCount());
+		File baseHelloWorld = new File(incrementalDir, "generated/BaseHelloWorld.java");
+		assertTrue(FileUtil.findFirstString("moon", baseHelloWorld) != null);
+		assertTrue(FileUtil.findFirstString("moon", new File(incrementalDir, "HelloUniverse.java")) != null);
+		String[] withoutHelloWorld = new String[HBM_XML_FILES.length - 1];
+		System.arraycopy(HBM_XML_FILES, 0, withoutHelloWorld, 0, 4);
+		System.arraycopy(HBM_XML_FILES, 5, withoutHelloWorld, 4, 2);
+		collector = runIncremental(createMetadataDescriptor(withoutHelloWorld), incrementalDir);
+		assertEquals(0, collector.getChangedFileCount());
+		assertEquals(12, collector.getUnchangedFileCount());
+		assertFalse(baseHelloWorld.exists());
+		assertFalse(new File(incrementalDir, "HelloUniverse.java").exists());
+		assertFalse(new File(incrementalDir, "UniversalAddress.java").exists());
+	}
+	
+	private DefaultArtifactCollector runIncremental(MetadataDescriptor descriptor, File outputDir) {
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.JAVA);
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, descriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, outputDir);
+		exporter.getProperties().put(ExporterConstants.INCREMENTAL, "true");
+		DefaultArtifactCollector result = new DefaultArtifactCollector();
+		exporter.getProperties().put(ExporterConstants.ARTIFACT_COLLECTOR, result);
+		exporter.start();
+		return result;
+	}
+	
+	private MetadataDescriptor createMetadataDescriptor(String[] hbmXmlFiles) {
+		File[] hbmFiles = new File[hbmXmlFiles.length];
+		for (int i = 0; i < hbmXmlFiles.length; i++) {
+			hbmFiles[i] = new File(resourcesDir, hbmXmlFiles[i]);
+		}
+		Properties properties = new Properties();
+		properties.put(AvailableSettings.DIALECT, HibernateUtil.Dialect.class.getName());
+		return MetadataDescriptorFactory.createNativeDescriptor(null, hbmFiles, properties);
+	}
+
+	private List<String> withoutTimestamp(List<String> lines) {
+		lines.removeIf(line -> line.startsWith("// Generated "));
+		return lines;
+	}
+	
 	private MetadataBuildingContext createMetadataBuildingContext() {
 		return (MetadataBuildingContext)Proxy.newProxyInstance(
 				getClass().getClassLoader(), 
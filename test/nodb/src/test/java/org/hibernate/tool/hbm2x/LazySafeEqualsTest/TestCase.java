@@ -0,0 +1,165 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.tool.hbm2x.LazySafeEqualsTest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.Persistence;
+
+import org.hibernate.Version;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.internal.export.java.JavaExporter;
+import org.hibernate.tools.test.util.HibernateUtil;
+import org.hibernate.tools.test.util.JUnitUtil;
+import org.hibernate.tools.test.util.JavaUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+
+	private static final String[] HBM_XML_FILES = new String[] {
+			"LazySafe.hbm.xml"
+	};
+
+	@TempDir
+	public File outputFolder = new File("output");
+
+	private File srcDir = null;
+	private MetadataDescriptor metadataDescriptor = null;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		srcDir = new File(outputFolder, "src");
+		srcDir.mkdir();
+		File resourcesDir = new File(outputFolder, "resources");
+		resourcesDir.mkdir();
+		metadataDescriptor = HibernateUtil
+				.initializeMetadataDescriptor(this, HBM_XML_FILES, resourcesDir);
+	}
+
+	@Test
+	public void testEqualsByIdentifier() {
+		exportLazySafe();
+		String customer = read("Customer");
+		assertTrue(customer.contains("HibernateProxy"));
+		assertTrue(customer.contains("this.getId()!=null && this.getId().equals(castOther.getId())"));
+		assertTrue(customer.contains("return getClass().hashCode();"));
+		assertFalse(customer.contains("instanceof Customer"));
+		String purchase = read("Purchase");
+		assertTrue(purchase.contains("this.getId()!=0 && this.getId()==castOther.getId()"));
+	}
+
+	@Test
+	public void testEqualsByNaturalId() {
+		exportLazySafe();
+		String product = read("Product");
+		assertTrue(product.contains("castOther.getSku()"));
+		assertFalse(product.contains("castOther.getId()"));
+		assertTrue(product.contains("result = 37 * result + ( getSku() == null ? 0 : this.getSku().hashCode() );"));
+		assertFalse(product.contains("getClass().hashCode()"));
+	}
+
+	@Test
+	public void testToString() {
+		exportLazySafe();
+		String customer = read("Customer");
+		assertTrue(customer.contains("buffer.append(\"id\")"));
+		assertTrue(customer.contains("buffer.append(\"name\")"));
+		assertFalse(customer.contains("buffer.append(\"notes\")"));
+		assertFalse(customer.contains("buffer.append(\"photo\")"));
+		assertFalse(customer.contains("buffer.append(\"referrer\")"));
+		assertFalse(customer.contains("buffer.append(\"purchases\")"));
+		String product = read("Product");
+		assertTrue(product.contains("buffer.append(\"sku\")"));
+		assertFalse(product.contains("buffer.append(\"description\")"));
+	}
+
+	@Test
+	public void testMetaAttributeOverride() {
+		exportLazySafe();
+		String supplier = read("Supplier");
+		assertFalse(supplier.contains("boolean equals("));
+		assertTrue(supplier.contains("buffer.append(\"name\")"));
+		assertFalse(supplier.contains("buffer.append(\"id\")"));
+	}
+
+	@Test
+	public void testNotLazySafeByDefault() {
+		Exporter exporter = createExporter();
+		exporter.start();
+		String customer = read("Customer");
+		assertFalse(customer.contains("boolean equals("));
+		assertFalse(customer.contains("toString()"));
+	}
+
+	@Test
+	public void testCompile() {
+		exportLazySafe();
+		File compiled = new File(outputFolder, "compiled");
+		compiled.mkdir();
+		List<String> jars = new ArrayList<String>();
+		jars.add(JavaUtil.resolvePathToJarFileFor(Persistence.class)); // for jpa api
+		jars.add(JavaUtil.resolvePathToJarFileFor(Version.class)); // for hibernate core
+		JavaUtil.compile(srcDir, compiled, jars);
+		JUnitUtil.assertIsNonEmptyFile(new File(
+				compiled, "org/hibernate/tool/hbm2x/LazySafeEqualsTest/Customer.class"));
+		JUnitUtil.assertIsNonEmptyFile(new File(
+				compiled, "org/hibernate/tool/hbm2x/LazySafeEqualsTest/Product.class"));
+	}
+
+	private Exporter createExporter() {
+		Exporter exporter = ExporterFactory.createExporter(ExporterType.JAVA);
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, srcDir);
+		exporter.getProperties().setProperty("jdk5", "true");
+		return exporter;
+	}
+
+	private void exportLazySafe() {
+		Exporter exporter = createExporter();
+		exporter.getProperties().setProperty(JavaExporter.LAZY_SAFE, "true");
+		exporter.start();
+	}
+
+	private String read(String className) {
+		File file = new File(srcDir, "org/hibernate/tool/hbm2x/LazySafeEqualsTest/" + className + ".java");
+		JUnitUtil.assertIsNonEmptyFile(file);
+		try {
+			return new String(Files.readAllBytes(file.toPath()));
+		}
+		catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ *
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL),
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.tool.hbm2x.ModelDigestTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.tool.internal.export.common.ModelDigest;
+import org.hibernate.tool.internal.export.java.Cfg2JavaTool;
+import org.hibernate.tool.internal.export.java.POJOClass;
+import org.hibernate.tools.test.util.HibernateUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+
+	private static final String[] HBM_XML_FILES = new String[] {
+			"Customer.hbm.xml",
+			"Order.hbm.xml",
+			"LineItem.hbm.xml",
+			"Product.hbm.xml"
+	};
+
+	@TempDir
+	public File outputFolder = new File("output");
+
+	private File resourcesDir = null;
+	private Metadata metadata = null;
+
+	@BeforeEach
+	public void setUp() {
+		resourcesDir = new File(outputFolder, "resources");
+		resourcesDir.mkdir();
+		metadata = createMetadata();
+	}
+
+	@Test
+	public void testDigestIsStable() {
+		Metadata other = createMetadata();
+		for (PersistentClass clazz : metadata.getEntityBindings()) {
+			assertEquals(
+					digest(clazz, metadata),
+					digest(other.getEntityBinding(clazz.getEntityName()), other),
+					clazz.getEntityName());
+		}
+	}
+
+	// guards the generic digest: every piece of model state that a binder can
+	// set through the mapping API has to change the digest of the entity; the 
+	// unique integer is a counter of the metadata build, not part of the model
+	@Test
+	public void testDigestCoversModelState() throws Exception {
+		PersistentClass order = metadata.getEntityBinding("org.hibernate.tool.hbm2x.ModelDigestTest.Order");
+		String baseline = digest(order, metadata);
+		List<Object> model = new ArrayList<Object>();
+		model.add(order);
+		model.add(order.getTable());
+		Iterator<?> properties = order.getPropertyClosureIterator();
+		while (properties.hasNext()) {
+			Property property = (Property)properties.next();
+			model.add(property);
+			model.add(property.getValue());
+		}
+		Iterator<Column> columns = order.getTable().getColumnIterator();
+		while (columns.hasNext()) {
+			model.add(columns.next());
+		}
+		List<String> ignored = new ArrayList<String>();
+		int checked = 0;
+		for (Object object : model) {
+			for (Method setter : object.getClass().getMethods()) {
+				Method getter = getGetter(object.getClass(), setter);
+				if (getter == null) {
+					continue;
+				}
+				Object value = getter.invoke(object);
+				Object changed = changed(value, setter.getParameterTypes()[0]);
+				try {
+					setter.invoke(object, changed);
+				}
+				catch (InvocationTargetException e) {
+					// the model refuses the value, so no binder can set it either
+					continue;
+				}
+				if (!changed.equals(getter.invoke(object))) {
+					// derived state, e.g. a property is never updatable if its columns are not 
+					setter.invoke(object, value);
+					continue;
+				}
+				if (baseline.equals(digest(order, metadata))) {
+					ignored.add(object.getClass().getSimpleName() + "." + setter.getName());
+				}
+				setter.invoke(object, value);
+				checked++;
+			}
+		}
+		assertTrue(checked > 50, "only " + checked + " setters checked");
+		assertEquals(baseline, digest(order, metadata));
+		assertTrue(ignored.isEmpty(), "not in the digest: " + ignored);
+	}
+
+	private Method getGetter(Class<?> type, Method setter) {
+		if (!setter.getName().startsWith("set") || setter.getParameterCount() != 1 || 
+				setter.getName().equals("setUniqueInteger")) {
+			return null;
+		}
+		Class<?> parameterType = setter.getParameterTypes()[0];
+		if (parameterType != String.class && parameterType != boolean.class &&
+				parameterType != int.class && parameterType != Integer.class &&
+				parameterType != Long.class) {
+			return null;
+		}
+		String name = setter.getName().substring(3);
+		for (String prefix : new String[] { "get", "is" }) {
+			try {
+				Method result = type.getMethod(prefix + name);
+				if (result.getReturnType() == parameterType) {
+					return result;
+				}
+			}
+			catch (NoSuchMethodException e) {
+				// try the next prefix
+			}
+		}
+		return null;
+	}
+
+	private Object changed(Object value, Class<?> type) {
+		if (type == boolean.class) {
+			return !((Boolean)value);
+		}
+		if (type == String.class) {
+			return value == null ? "changed" : value + "changed";
+		}
+		if (type == int.class || type == Integer.class) {
+			return value == null ? 7 : ((Integer)value) + 1;
+		}
+		return value == null ? 7L : ((Long)value) + 1;
+	}
+
+	private String digest(PersistentClass clazz, Metadata metadata) {
+		POJOClass pojo = new Cfg2JavaTool().getPOJOClass(clazz);
+		return ModelDigest.digest(pojo, metadata);
+	}
+
+	private Metadata createMetadata() {
+		File hbmFileDir = new File(resourcesDir, "run" + resourcesDir.list().length);
+		hbmFileDir.mkdir();
+		return HibernateUtil
+				.initializeMetadataDescriptor(this, HBM_XML_FILES, hbmFileDir)
+				.createMetadata();
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.hibernate.tool.hbm2x.OutputSinkTest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.hibernate.tool.api.export.ArtifactCollector;
+import org.hibernate.tool.api.export.Exporter;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.export.ExporterFactory;
+import org.hibernate.tool.api.export.ExporterType;
+import org.hibernate.tool.api.export.OutputSink;
+import org.hibernate.tool.api.export.OutputSinkFactory;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.internal.export.common.DefaultArtifactCollector;
+import org.hibernate.tool.internal.export.common.InMemoryOutputSink;
+import org.hibernate.tools.test.util.HibernateUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+
+	private static final String[] HBM_XML_FILES = new String[] {
+			"Article.hbm.xml",
+			"Author.hbm.xml"				
+	};
+	
+	private static final String ARTICLE = "org/hibernate/tool/hbm2x/Article.java";
+	private static final String AUTHOR = "org/hibernate/tool/hbm2x/Author.java";
+	
+	@TempDir
+	public File outputFolder = new File("output");
+	
+	private File srcDir;
+	private MetadataDescriptor metadataDescriptor;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		srcDir = new File(outputFolder, "src");
+		srcDir.mkdir();
+		File resourcesDir = new File(outputFolder, "resources");
+		resourcesDir.mkdir();
+		metadataDescriptor = HibernateUtil
+				.initializeMetadataDescriptor(this, HBM_XML_FILES, resourcesDir);
+	}
+	
+	@Test
+	public void testInMemorySink() throws Exception {
+		OutputSink sink = OutputSinkFactory.createInMemorySink();
+		ArtifactCollector collector = export(sink);
+		assertEquals(2, collector.getFileCount("java"));
+		assertEquals(2, collector.getChangedFileCount());
+		assertTrue(((InMemoryOutputSink)sink).getPaths().contains(ARTICLE));
+		assertTrue(((InMemoryOutputSink)sink).getPaths().contains(AUTHOR));
+		// nothing is written to the destination folder
+		assertFalse(new File(srcDir, ARTICLE).exists());
+		// the second run finds the same content in the sink
+		collector = export(sink);
+		assertEquals(0, collector.getChangedFileCount());
+		assertEquals(2, collector.getUnchangedFileCount());
+	}
+	
+	@Test
+	public void testZipSink() throws Exception {
+		File zipFile = new File(outputFolder, "sources.jar");
+		OutputSink sink = OutputSinkFactory.createZipSink(zipFile);
+		try {
+			export(sink);
+		}
+		finally {
+			sink.close();
+		}
+		assertFalse(new File(srcDir, ARTICLE).exists());
+		Exporter exporter = createExporter();
+		exporter.start();
+		ZipFile zip = new ZipFile(zipFile);
+		try {
+			ZipEntry entry = zip.getEntry(ARTICLE);
+			assertNotNull(entry);
+			byte[] expected = Files.readAllBytes(new File(srcDir, ARTICLE).toPath());
+			byte[] actual = new byte[(int)entry.getSize()];
+			new DataInputStream(zip.getInputStream(entry)).readFully(actual);
+			assertArrayEquals(withoutStamp(expected), withoutStamp(actual));
+			assertNotNull(zip.getEntry(AUTHOR));
+		}
+		finally {
+			zip.close();
+		}
+	}
+	
+	@Test
+	public void testDirectorySink() throws Exception {
+		File otherDir = new File(outputFolder, "other");
+		OutputSink sink = OutputSinkFactory.createDirectorySink(otherDir);
+		export(sink);
+		assertTrue(new File(otherDir, ARTICLE).isFile());
+		assertFalse(new File(srcDir, ARTICLE).exists());
+	}
+	
+	private ArtifactCollector export(OutputSink sink) {
+		Exporter exporter = createExporter();
+		exporter.getProperties().put(ExporterConstants.OUTPUT_SINK, sink);
+		exporter.start();
+		return (ArtifactCollector)exporter.getProperties().get(ExporterConstants.ARTIFACT_COLLECTOR);
+	}
+	
+	private Exporter createExporter() {
+		Exporter result = ExporterFactory.createExporter(ExporterType.JAVA);
+		result.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		result.getProperties().put(ExporterConstants.DESTINATION_FOLDER, srcDir);
+		result.getProperties().put(ExporterConstants.ARTIFACT_COLLECTOR, new DefaultArtifactCollector());
+		return result;
+	}
+	
+	private byte[] withoutStamp(byte[] content) {
+		return new String(content).replaceAll("Generated .* by Hibernate Tools .*", "").getBytes();
+	}
+	
+}
@@ -0,0 +1,134 @@
+/*
+ * Hibernate Tools, Tooling for your Hibernate Projects
+ * 
+ * Copyright 2021 Red Hat, Inc.
+ *
+ * Licensed under the GNU Lesser General Public License (LGPL), 
+ * version 2.1 or later (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may read the licence in the 'lgpl.txt' file in the root folder of 
+ * project or obtain a copy at
+ *
+ *     http://www.gnu.org/licenses/lgpl-2.1.html
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.hibernate.tool.hbm2x.hbm2hbmxml.LazyByDefaultTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.dom4j.Document;
+import org.dom4j.Element;
+import org.dom4j.io.SAXReader;
+import org.hibernate.tool.api.export.ExporterConstants;
+import org.hibernate.tool.api.metadata.MetadataDescriptor;
+import org.hibernate.tool.internal.export.hbm.HbmExporter;
+import org.hibernate.tool.internal.export.hbm.HibernateMappingGlobalSettings;
+import org.hibernate.tools.test.util.HibernateUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestCase {
+
+	private static final String[] HBM_XML_FILES = new String[] {
+			"Customer.hbm.xml"
+	};
+	
+	@TempDir
+	public File outputFolder = new File("output");
+	
+	private MetadataDescriptor metadataDescriptor = null;
+	private File srcDir = null;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		srcDir = new File(outputFolder, "src");
+		srcDir.mkdir();
+		File resourcesDir = new File(outputFolder, "resources");
+		resourcesDir.mkdir();
+		metadataDescriptor = HibernateUtil
+				.initializeMetadataDescriptor(this, HBM_XML_FILES, resourcesDir);
+	}
+
+	@Test
+	public void testEagerByDefault() throws Exception {
+		export(null);
+		Element customer = readClass("Customer.hbm.xml");
+		assertEquals("false", customer.attributeValue("lazy"));
+		assertEquals("false", getSet(customer, "orders").attributeValue("lazy"));
+	}
+
+	@Test
+	public void testLazyByDefault() throws Exception {
+		export("true");
+		Document document = read("Customer.hbm.xml");
+		assertNull(document.getRootElement().attributeValue("default-lazy"));
+		Element customer = document.getRootElement().element("class");
+		assertNull(customer.attributeValue("lazy"));
+		assertEquals("true", getSet(customer, "orders").attributeValue("lazy"));
+		assertEquals("false", getSet(customer, "nicknames").attributeValue("lazy"), "fetched by join");
+	}
+
+	@Test
+	public void testLazyByDefaultImpliesDefaultLazy() throws Exception {
+		HibernateMappingGlobalSettings globalSettings = new HibernateMappingGlobalSettings();
+		globalSettings.setDefaultLazy(false);
+		assertFalse(globalSettings.isDefaultLazy());
+		globalSettings.setLazyByDefault(true);
+		assertTrue(globalSettings.isDefaultLazy());
+		assertFalse(globalSettings.hasNonDefaultSettings());
+		globalSettings.setLazyByDefault(false);
+		assertTrue(globalSettings.isDefaultLazy());
+	}
+
+	@Test
+	public void testLazyMetaAttribute() throws Exception {
+		export("true");
+		Element order = readClass("Order.hbm.xml");
+		assertEquals("false", order.attributeValue("lazy"));
+		assertEquals("false", getSet(order, "lines").attributeValue("lazy"));
+		assertEquals("false", order.element("many-to-one").attributeValue("lazy"));
+	}
+	
+	private void export(String lazyByDefault) {
+		HbmExporter exporter = new HbmExporter();
+		exporter.getProperties().put(ExporterConstants.METADATA_DESCRIPTOR, metadataDescriptor);
+		exporter.getProperties().put(ExporterConstants.DESTINATION_FOLDER, srcDir);
+		if (lazyByDefault != null) {
+			exporter.getProperties().put(HbmExporter.LAZY_BY_DEFAULT, lazyByDefault);
+		}
+		exporter.start();
+	}
+	
+	private Document read(String fileName) throws Exception {
+		File file = new File(srcDir, "org/hibernate/tool/hbm2x/hbm2hbmxml/LazyByDefaultTest/" + fileName);
+		SAXReader xmlReader = new SAXReader();
+		xmlReader.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+		return xmlReader.read(file);
+	}
+	
+	private Element readClass(String fileName) throws Exception {
+		return read(fileName).getRootElement().element("class");
+	}
+	
+	private Element getSet(Element clazz, String name) {
+		for (Object o : clazz.elements("set")) {
+			Element set = (Element)o;
+			if (name.equals(set.attributeValue("name"))) {
+				return set;
+			}
+		}
+		return null;
+	}
+	
+}
@@ -0,0 +1,2 @@
+CREATE TABLE DOCUMENT (ID INT NOT NULL, TITLE VARCHAR(100), BODY CLOB, SUMMARY VARCHAR(4000), AUTHOR CLOB, THUMBNAIL BLOB, PRIMARY KEY (ID))
+CREATE TABLE NOTE (ID INT NOT NULL, TEXT VARCHAR(200), PRIMARY KEY (ID))